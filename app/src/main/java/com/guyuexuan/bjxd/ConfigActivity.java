@@ -7,6 +7,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.android.material.switchmaterial.SwitchMaterial;
 import com.google.android.material.textfield.TextInputEditText;
+import com.google.gson.JsonParseException;
 import com.guyuexuan.bjxd.util.AppUtils;
 import com.guyuexuan.bjxd.util.StorageUtil;
 
@@ -30,13 +31,21 @@ public class ConfigActivity extends AppCompatActivity {
         storageUtil = new StorageUtil(this);
 
         SwitchMaterial manualAnswerSwitch = findViewById(R.id.manualAnswerSwitch);
+        SwitchMaterial aiMajorityVoteSwitch = findViewById(R.id.aiMajorityVoteSwitch);
+        SwitchMaterial aiStreamSwitch = findViewById(R.id.aiStreamSwitch);
+        SwitchMaterial debugLogSwitch = findViewById(R.id.debugLogSwitch);
 
         TextInputEditText aiApiKeyInput = findViewById(R.id.aiApiKeyInput);
         TextInputEditText aiRequestUrlInput = findViewById(R.id.aiRequestUrlInput);
         TextInputEditText aiModelInput = findViewById(R.id.aiModelInput);
         TextInputEditText aiRequestParamsInput = findViewById(R.id.aiRequestParamsInput);
+        TextInputEditText aiProvidersInput = findViewById(R.id.aiProvidersInput);
+        TextInputEditText taskConcurrencyInput = findViewById(R.id.taskConcurrencyInput);
 
         manualAnswerSwitch.setChecked(storageUtil.isManualAnswer());
+        aiMajorityVoteSwitch.setChecked(storageUtil.isAiMajorityVote());
+        aiStreamSwitch.setChecked(storageUtil.isAiStream());
+        debugLogSwitch.setChecked(storageUtil.isDebugLog());
 
         aiApiKey = storageUtil.getAiApiKey();
         aiRequestUrl = storageUtil.getAiRequestUrl();
@@ -46,8 +55,19 @@ public class ConfigActivity extends AppCompatActivity {
         aiRequestUrlInput.setText(aiRequestUrl);
         aiModelInput.setText(aiModel);
         aiRequestParamsInput.setText(aiRequestParams);
+        aiProvidersInput.setText(storageUtil.getAiProvidersJson());
+        taskConcurrencyInput.setText(String.valueOf(storageUtil.getTaskConcurrency()));
 
         findViewById(R.id.saveButton).setOnClickListener(v -> {
+            // 答题：额外 AI 提供方，格式错误时不保存，留在当前页面修改
+            String aiProviders = Objects.requireNonNull(aiProvidersInput.getText()).toString().trim();
+            try {
+                storageUtil.saveAiProvidersJson(aiProviders);
+            } catch (JsonParseException e) {
+                Toast.makeText(this, "额外 AI 提供方格式错误: " + e.getMessage(), Toast.LENGTH_LONG).show();
+                return;
+            }
+            storageUtil.setAiMajorityVote(aiMajorityVoteSwitch.isChecked());
             // 答题：手动答题
             storageUtil.setManualAnswer(manualAnswerSwitch.isChecked());
             // 答题：AI 模型配置
@@ -59,6 +79,16 @@ public class ConfigActivity extends AppCompatActivity {
             storageUtil.saveAiRequestUrl(aiRequestUrl);
             storageUtil.saveAiModel(aiModel);
             storageUtil.saveAiRequestParams(aiRequestParams);
+            storageUtil.setAiStream(aiStreamSwitch.isChecked());
+            // 任务：同时执行的账号数，留空或无效时恢复默认值
+            String concurrency = Objects.requireNonNull(taskConcurrencyInput.getText()).toString().trim();
+            try {
+                storageUtil.setTaskConcurrency(Integer.parseInt(concurrency));
+            } catch (NumberFormatException e) {
+                storageUtil.setTaskConcurrency(StorageUtil.DEFAULT_TASK_CONCURRENCY);
+            }
+            // 调试：输出完整接口响应
+            storageUtil.setDebugLog(debugLogSwitch.isChecked());
             // toast 提示保存成功
             Toast.makeText(this, "保存成功", Toast.LENGTH_SHORT).show();
             finish();
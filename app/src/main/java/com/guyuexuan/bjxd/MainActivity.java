@@ -53,6 +53,7 @@ public class MainActivity extends AppCompatActivity {
     });
     @SuppressWarnings("FieldCanBeLocal")
     private UserAdapter.OnItemActionListener onItemActionListener; // 防止弱引用失效
+    private StorageUtil storageUtil;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -63,7 +64,7 @@ public class MainActivity extends AppCompatActivity {
         setTitle(AppUtils.getAppNameWithVersion(this));
 
         // 初始化 StorageUtil
-        StorageUtil storageUtil = new StorageUtil(this);
+        storageUtil = new StorageUtil(this);
 
         // 获取控件
         RecyclerView recyclerView = findViewById(R.id.rv_user_list);
@@ -113,6 +114,13 @@ public class MainActivity extends AppCompatActivity {
         adapter.setInitialData(storageUtil);
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // 拖动排序、删除等修改延迟合并写入，进入后台时立即写入
+        storageUtil.flushPendingWrites();
+    }
+
     @NonNull
     private ItemTouchHelper getItemTouchHelper() {
         ItemTouchHelper.Callback callback = new ItemTouchHelper.SimpleCallback(ItemTouchHelper.UP | ItemTouchHelper.DOWN, 0) {
@@ -0,0 +1,64 @@
+package com.guyuexuan.bjxd.adapter;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.guyuexuan.bjxd.R;
+import com.guyuexuan.bjxd.util.LogBuffer;
+
+/**
+ * 任务日志列表，数据来自 LogBuffer 的环形数组
+ * <p>
+ * 只绑定屏幕上可见的几十条日志；LogBuffer.drain 之后调用 {@link #applyBatch} 局部刷新。
+ * </p>
+ */
+public class LogAdapter extends RecyclerView.Adapter<LogAdapter.LogViewHolder> {
+    private final LogBuffer logBuffer;
+
+    public LogAdapter(LogBuffer logBuffer) {
+        this.logBuffer = logBuffer;
+    }
+
+    /**
+     * 根据一次 drain 的结果通知列表：先移除头部被丢弃的日志，再插入尾部新增的日志
+     */
+    public void applyBatch(LogBuffer.Batch batch) {
+        if (batch.getRemoved() > 0) {
+            notifyItemRangeRemoved(0, batch.getRemoved());
+        }
+        if (batch.getInserted() > 0) {
+            notifyItemRangeInserted(logBuffer.size() - batch.getInserted(), batch.getInserted());
+        }
+    }
+
+    @NonNull
+    @Override
+    public LogViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_log, parent, false);
+        return new LogViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull LogViewHolder holder, int position) {
+        holder.logText.setText(logBuffer.get(position));
+    }
+
+    @Override
+    public int getItemCount() {
+        return logBuffer.size();
+    }
+
+    public static class LogViewHolder extends RecyclerView.ViewHolder {
+        final TextView logText;
+
+        LogViewHolder(@NonNull View itemView) {
+            super(itemView);
+            logText = itemView.findViewById(R.id.tv_log);
+        }
+    }
+}
@@ -61,7 +61,7 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.UserViewHolder
         int start = Math.min(fromPosition, toPosition);
         int count = Math.abs(fromPosition - toPosition) + 1;
         notifyItemRangeChanged(start, count);
-        mStorageUtil.saveUserList(mUserList);
+        mStorageUtil.swapUsers(mUserList.get(fromPosition), mUserList.get(toPosition));
         return true;
     }
 
@@ -74,10 +74,10 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.UserViewHolder
         if (position < 0 || position >= mUserList.size()) {
             return;
         }
-        mUserList.remove(position);
+        User user = mUserList.remove(position);
         notifyItemRemoved(position);
         notifyItemRangeChanged(position, mUserList.size() - position);
-        mStorageUtil.saveUserList(mUserList);
+        mStorageUtil.removeUser(user);
     }
 
     public void saveItem(User user, int position) {
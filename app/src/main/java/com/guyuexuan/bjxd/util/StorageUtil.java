@@ -4,13 +4,22 @@ import android.content.Context;
 import android.content.SharedPreferences;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
+import com.guyuexuan.bjxd.model.AiProvider;
+import com.guyuexuan.bjxd.model.AiProviderStats;
+import com.guyuexuan.bjxd.model.DailyAnswer;
 import com.guyuexuan.bjxd.model.User;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-public class StorageUtil {
+public class StorageUtil implements TaskStorage {
     private static final String PREF_NAME = "app_config";
     private static final String KEY_USERS = "users";
     private static final String KEY_API_KEY = "api_key";
@@ -18,9 +27,24 @@ public class StorageUtil {
     private static final String KEY_AI_REQUEST_URL = "ai_request_url";
     private static final String KEY_AI_MODEL = "ai_model";
     private static final String KEY_AI_REQUEST_PARAMS = "ai_request_params";
+    private static final String KEY_AI_PROVIDERS = "ai_providers";
+    private static final String KEY_AI_MAJORITY_VOTE = "ai_majority_vote";
+    private static final String KEY_AI_PROVIDER_STATS = "ai_provider_stats";
     private static final String KEY_MANUAL_ANSWER = "manual_answer";
+    private static final String KEY_AI_STREAM = "ai_stream";
+    private static final String KEY_DEBUG_LOG = "debug_log";
+    private static final String KEY_TASK_CONCURRENCY = "task_concurrency";
+    private static final String KEY_DAILY_ANSWERS = "daily_answers";
+    // 只保留最近的几道题
+    private static final int MAX_DAILY_ANSWERS = 7;
+    // 多个账号并发答题时，读取-修改-写入需要互斥
+    private static final Object dailyAnswerLock = new Object();
+    public static final int DEFAULT_TASK_CONCURRENCY = 3;
+    public static final int MAX_TASK_CONCURRENCY = 10;
     private final SharedPreferences prefs;
     private final Gson gson;
+    private final UserDatabase userDatabase;
+    private final UserStore userStore;
 
     /**
      * 构造函数
@@ -30,17 +54,27 @@ public class StorageUtil {
     public StorageUtil(Context context) {
         prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
         gson = new Gson();
+        userDatabase = UserDatabase.getInstance(context);
         migrateAiSettings();
+        migrateUsers();
+        userStore = UserStore.getInstance(userDatabase);
     }
 
     /**
-     * 保存用户列表
-     *
-     * @param users 用户列表
+     * 将旧版保存在 SharedPreferences 中的用户列表迁移到账号数据库
+     * 写入数据库后才删除旧数据，迁移中断时下次启动会重新迁移。
+     * 需在 UserStore 加载之前执行
      */
-    public void saveUserList(List<User> users) {
-        String json = gson.toJson(users);
-        prefs.edit().putString(KEY_USERS, json).apply();
+    private void migrateUsers() {
+        String json = prefs.getString(KEY_USERS, null);
+        if (json == null) {
+            return;
+        }
+        Type type = new TypeToken<List<User>>() {
+        }.getType();
+        List<User> users = gson.fromJson(json, type);
+        userDatabase.replaceUsers(users != null ? users : new ArrayList<>());
+        prefs.edit().remove(KEY_USERS).apply();
     }
 
     /**
@@ -49,10 +83,33 @@ public class StorageUtil {
      * @return 用户列表
      */
     public List<User> getUserList() {
-        String json = prefs.getString(KEY_USERS, "[]");
-        Type type = new TypeToken<List<User>>() {
-        }.getType();
-        return gson.fromJson(json, type);
+        return userStore.getUsers();
+    }
+
+    /**
+     * 删除用户
+     *
+     * @param user 用户对象
+     */
+    public void removeUser(User user) {
+        userStore.remove(user);
+    }
+
+    /**
+     * 交换两个用户在列表中的顺序
+     *
+     * @param first  用户对象
+     * @param second 用户对象
+     */
+    public void swapUsers(User first, User second) {
+        userStore.swap(first, second);
+    }
+
+    /**
+     * 立即在后台写入未保存的用户列表修改，界面进入后台时调用
+     */
+    public void flushPendingWrites() {
+        userStore.flush();
     }
 
     /**
@@ -175,11 +232,133 @@ public class StorageUtil {
         return !aiApiKey.isEmpty() && !aiRequestUrl.isEmpty() && !aiModel.isEmpty();
     }
 
+    /**
+     * 获取额外 AI 提供方的 JSON 配置
+     *
+     * @return JSON 数组字符串，未设置时为空字符串
+     */
+    public String getAiProvidersJson() {
+        return prefs.getString(KEY_AI_PROVIDERS, "");
+    }
+
+    /**
+     * 保存额外 AI 提供方的 JSON 配置
+     *
+     * @param json JSON 数组字符串，为空表示只使用主 AI 配置
+     * @throws JsonParseException JSON 格式错误
+     */
+    public void saveAiProvidersJson(String json) {
+        parseAiProviders(json);
+        prefs.edit().putString(KEY_AI_PROVIDERS, json).apply();
+    }
+
+    /**
+     * 解析额外 AI 提供方的 JSON 配置
+     *
+     * @param json JSON 数组字符串
+     * @return 提供方列表，忽略未填写请求地址或模型的条目
+     * @throws JsonParseException JSON 格式错误
+     */
+    public List<AiProvider> parseAiProviders(String json) {
+        List<AiProvider> providers = new ArrayList<>();
+        if (json == null || json.trim().isEmpty()) {
+            return providers;
+        }
+        Type type = new TypeToken<List<AiProvider>>() {
+        }.getType();
+        List<AiProvider> parsed = gson.fromJson(json, type);
+        if (parsed != null) {
+            for (AiProvider provider : parsed) {
+                if (provider != null && provider.isValid()) {
+                    providers.add(provider);
+                }
+            }
+        }
+        return providers;
+    }
+
+    /**
+     * 获取所有 AI 提供方，主 AI 配置（如已完整设置）排在第一位
+     *
+     * @return 提供方列表，按优先级排列
+     */
+    @Override
+    public List<AiProvider> getAiProviders() {
+        List<AiProvider> providers = new ArrayList<>();
+        if (checkAiSettings()) {
+            JsonObject params = null;
+            String aiRequestParams = getAiRequestParams();
+            if (!aiRequestParams.trim().isEmpty()) {
+                try {
+                    params = JsonParser.parseString(aiRequestParams).getAsJsonObject();
+                } catch (JsonParseException | IllegalStateException e) {
+                    // 参数格式错误时与单提供方时一样由接口报错，这里按原样忽略
+                    params = null;
+                }
+            }
+            providers.add(new AiProvider(null, getAiApiKey(), getAiRequestUrl(), getAiModel(), params));
+        }
+        try {
+            providers.addAll(parseAiProviders(getAiProvidersJson()));
+        } catch (JsonParseException e) {
+            // 保存时已校验，这里只可能是旧数据损坏
+        }
+        return providers;
+    }
+
+    /**
+     * 获取是否对多个 AI 提供方的答案投票
+     *
+     * @return true 表示同时请求所有提供方并取多数答案，false 表示最先返回的有效答案获胜
+     */
+    @Override
+    public boolean isAiMajorityVote() {
+        return prefs.getBoolean(KEY_AI_MAJORITY_VOTE, false);
+    }
+
+    /**
+     * 设置是否对多个 AI 提供方的答案投票
+     *
+     * @param enabled true 表示投票，false 表示最先返回的有效答案获胜
+     */
+    public void setAiMajorityVote(boolean enabled) {
+        prefs.edit().putBoolean(KEY_AI_MAJORITY_VOTE, enabled).apply();
+    }
+
+    /**
+     * 获取各 AI 提供方的延迟和准确率记录
+     *
+     * @return 以提供方名称为键的记录
+     */
+    @Override
+    public Map<String, AiProviderStats> getAiProviderStats() {
+        String json = prefs.getString(KEY_AI_PROVIDER_STATS, "{}");
+        Type type = new TypeToken<LinkedHashMap<String, AiProviderStats>>() {
+        }.getType();
+        try {
+            Map<String, AiProviderStats> stats = gson.fromJson(json, type);
+            return stats != null ? stats : new LinkedHashMap<>();
+        } catch (JsonParseException e) {
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * 保存各 AI 提供方的延迟和准确率记录
+     *
+     * @param stats 以提供方名称为键的记录
+     */
+    @Override
+    public void saveAiProviderStats(Map<String, AiProviderStats> stats) {
+        prefs.edit().putString(KEY_AI_PROVIDER_STATS, gson.toJson(stats)).apply();
+    }
+
     /**
      * 获取是否启用手动回答
      *
      * @return true 表示启用手动回答，false 表示禁用
      */
+    @Override
     public boolean isManualAnswer() {
         return prefs.getBoolean(KEY_MANUAL_ANSWER, true);
     }
@@ -193,6 +372,107 @@ public class StorageUtil {
         prefs.edit().putBoolean(KEY_MANUAL_ANSWER, enabled).apply();
     }
 
+    /**
+     * 获取是否以流式方式请求 AI
+     *
+     * @return true 表示流式请求，识别到答案后立即结束；false 表示等待完整回答
+     */
+    @Override
+    public boolean isAiStream() {
+        return prefs.getBoolean(KEY_AI_STREAM, true);
+    }
+
+    /**
+     * 设置是否以流式方式请求 AI
+     *
+     * @param enabled true 表示流式请求，false 表示等待完整回答
+     */
+    public void setAiStream(boolean enabled) {
+        prefs.edit().putBoolean(KEY_AI_STREAM, enabled).apply();
+    }
+
+    /**
+     * 获取是否输出完整接口响应（调试用）
+     *
+     * @return true 表示输出完整接口响应，false 表示只输出失败的请求
+     */
+    public boolean isDebugLog() {
+        return prefs.getBoolean(KEY_DEBUG_LOG, false);
+    }
+
+    /**
+     * 设置是否输出完整接口响应（调试用）
+     *
+     * @param enabled true 表示输出完整接口响应，false 表示只输出失败的请求
+     */
+    public void setDebugLog(boolean enabled) {
+        prefs.edit().putBoolean(KEY_DEBUG_LOG, enabled).apply();
+    }
+
+    /**
+     * 获取同时执行任务的账号数
+     *
+     * @return 并发数，范围 1 ~ {@link #MAX_TASK_CONCURRENCY}
+     */
+    public int getTaskConcurrency() {
+        return clampTaskConcurrency(prefs.getInt(KEY_TASK_CONCURRENCY, DEFAULT_TASK_CONCURRENCY));
+    }
+
+    /**
+     * 设置同时执行任务的账号数
+     *
+     * @param concurrency 并发数，超出范围时取边界值
+     */
+    public void setTaskConcurrency(int concurrency) {
+        prefs.edit().putInt(KEY_TASK_CONCURRENCY, clampTaskConcurrency(concurrency)).apply();
+    }
+
+    private static int clampTaskConcurrency(int concurrency) {
+        return Math.max(1, Math.min(concurrency, MAX_TASK_CONCURRENCY));
+    }
+
+    /**
+     * 获取已保存的每日答题答案
+     *
+     * @param date         日期，格式 yyyyMMdd
+     * @param questionsHid 题目 ID
+     * @return 已知答案，没有记录时返回空记录
+     */
+    @Override
+    public DailyAnswer getDailyAnswer(String date, String questionsHid) {
+        synchronized (dailyAnswerLock) {
+            DailyAnswer answer = DailyAnswer.find(getDailyAnswers(), date, questionsHid);
+            return answer != null ? answer : new DailyAnswer(date, questionsHid);
+        }
+    }
+
+    /**
+     * 记录一次答题结果并立即保存
+     *
+     * @param date         日期，格式 yyyyMMdd
+     * @param questionsHid 题目 ID
+     * @param option       选项字母
+     * @param correct      是否正确
+     * @return 更新后的答案记录
+     */
+    @Override
+    public DailyAnswer recordDailyAnswer(String date, String questionsHid, String option, boolean correct) {
+        synchronized (dailyAnswerLock) {
+            List<DailyAnswer> answers = getDailyAnswers();
+            DailyAnswer target = DailyAnswer.record(answers, date, questionsHid, option, correct, MAX_DAILY_ANSWERS);
+            prefs.edit().putString(KEY_DAILY_ANSWERS, gson.toJson(answers)).apply();
+            return target;
+        }
+    }
+
+    private List<DailyAnswer> getDailyAnswers() {
+        String json = prefs.getString(KEY_DAILY_ANSWERS, "[]");
+        Type type = new TypeToken<List<DailyAnswer>>() {
+        }.getType();
+        List<DailyAnswer> answers = gson.fromJson(json, type);
+        return answers != null ? answers : new ArrayList<>();
+    }
+
     /**
      * 添加或更新用户
      *
@@ -200,16 +480,6 @@ public class StorageUtil {
      * @return 新用户返回 -1，老用户返回其在列表中的位置
      */
     public int saveUser(User user) {
-        List<User> userList = getUserList();
-
-        // 检查是否已存在
-        int position = userList.indexOf(user);
-        if (position == -1){
-            userList.add(user);
-        }else{
-            userList.set(position, user);
-        }
-        saveUserList(userList);
-        return position;
+        return userStore.save(user);
     }
 }
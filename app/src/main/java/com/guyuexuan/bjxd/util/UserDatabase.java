@@ -0,0 +1,157 @@
+package com.guyuexuan.bjxd.util;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import androidx.annotation.NonNull;
+
+import com.guyuexuan.bjxd.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 账号数据库，每个账号一行
+ * <p>
+ * 新增、更新、删除、交换顺序都只写入涉及的行，不再整体序列化账号列表；
+ * 列表顺序由 position 列决定，排序键是稀疏的（由 UserStore 分配），删除后留下的空位不影响排序。
+ * 修改由 UserStore 合并后在后台线程写入。
+ * </p>
+ */
+public class UserDatabase extends SQLiteOpenHelper implements UserStore.Backend {
+    private static final String DATABASE_NAME = "users.db";
+    private static final int DATABASE_VERSION = 1;
+    private static final String TABLE_USERS = "users";
+    private static final String COLUMN_PHONE = "phone";
+    private static final String COLUMN_TOKEN = "token";
+    private static final String COLUMN_NICKNAME = "nickname";
+    private static final String COLUMN_HID = "hid";
+    private static final String COLUMN_ADDED_TIME = "added_time";
+    private static final String COLUMN_POSITION = "position";
+
+    private static volatile UserDatabase instance;
+
+    private UserDatabase(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    /**
+     * 获取进程内唯一的实例
+     */
+    @NonNull
+    public static UserDatabase getInstance(Context context) {
+        UserDatabase db = instance;
+        if (db == null) {
+            synchronized (UserDatabase.class) {
+                db = instance;
+                if (db == null) {
+                    db = new UserDatabase(context.getApplicationContext());
+                    instance = db;
+                }
+            }
+        }
+        return db;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_USERS + " ("
+                + COLUMN_PHONE + " TEXT PRIMARY KEY NOT NULL, "
+                + COLUMN_TOKEN + " TEXT, "
+                + COLUMN_NICKNAME + " TEXT, "
+                + COLUMN_HID + " TEXT, "
+                + COLUMN_ADDED_TIME + " TEXT, "
+                + COLUMN_POSITION + " INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX idx_users_position ON " + TABLE_USERS + " (" + COLUMN_POSITION + ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // 目前只有第一个版本
+    }
+
+    /**
+     * 按顺序读取所有账号，排序键原样交给 UserStore，不重新编号
+     */
+    @NonNull
+    @Override
+    public List<User> load(Map<String, Long> positions) {
+        List<User> users = new ArrayList<>();
+        SQLiteDatabase db = getWritableDatabase();
+        try (Cursor cursor = db.query(TABLE_USERS,
+                new String[]{COLUMN_TOKEN, COLUMN_NICKNAME, COLUMN_PHONE, COLUMN_HID, COLUMN_ADDED_TIME, COLUMN_POSITION},
+                null, null, null, null, COLUMN_POSITION)) {
+            while (cursor.moveToNext()) {
+                users.add(new User(cursor.getString(0), cursor.getString(1), cursor.getString(2), cursor.getString(3), cursor.getString(4)));
+                positions.put(cursor.getString(2), cursor.getLong(5));
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public void apply(List<User> upserts, List<String> deleted, Map<String, Long> positions) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (String phone : deleted) {
+                db.delete(TABLE_USERS, COLUMN_PHONE + " = ?", new String[]{phone});
+            }
+            for (User user : upserts) {
+                ContentValues values = toValues(user);
+                if (db.update(TABLE_USERS, values, COLUMN_PHONE + " = ?", new String[]{user.getPhone()}) == 0) {
+                    Long position = positions.get(user.getPhone());
+                    values.put(COLUMN_POSITION, position != null ? position : Long.MAX_VALUE);
+                    db.insertWithOnConflict(TABLE_USERS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+            for (Map.Entry<String, Long> entry : positions.entrySet()) {
+                updatePosition(db, entry.getKey(), entry.getValue());
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * 用给定列表替换所有账号，用于从旧版 SharedPreferences 迁移
+     */
+    public void replaceUsers(List<User> users) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_USERS, null, null);
+            long position = 0;
+            for (User user : users) {
+                ContentValues values = toValues(user);
+                values.put(COLUMN_POSITION, position);
+                position += UserStore.POSITION_GAP;
+                db.insertWithOnConflict(TABLE_USERS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static ContentValues toValues(User user) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_PHONE, user.getPhone());
+        values.put(COLUMN_TOKEN, user.getToken());
+        values.put(COLUMN_NICKNAME, user.getNickname());
+        values.put(COLUMN_HID, user.getHid());
+        values.put(COLUMN_ADDED_TIME, user.getAddedTime());
+        return values;
+    }
+
+    private static void updatePosition(SQLiteDatabase db, String phone, long position) {
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_POSITION, position);
+        db.update(TABLE_USERS, values, COLUMN_PHONE + " = ?", new String[]{phone});
+    }
+}
@@ -0,0 +1,390 @@
+package com.guyuexuan.bjxd.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+import com.guyuexuan.bjxd.mockserver.MockBluemembersServer;
+import com.guyuexuan.bjxd.model.TaskStatus;
+import com.guyuexuan.bjxd.model.User;
+import com.guyuexuan.bjxd.task.TaskEngine;
+import com.guyuexuan.bjxd.util.ApiLogger;
+import com.guyuexuan.bjxd.util.ApiUtil;
+import com.guyuexuan.bjxd.util.MemoryTaskStorage;
+import com.guyuexuan.bjxd.util.RunJournal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 端到端吞吐量基准：在进程内启动模拟服务器，对所有模拟账号完整运行一次任务引擎
+ * <p>
+ * 请求间隔按 --pause-scale 缩放（加速时钟），接口延迟、慢请求和错误比例可配置。
+ * 输出每分钟完成的账号数、每个账号的请求数、单个账号耗时的 p50 / p99 和堆内存峰值，
+ * 配置和结果一起写入 JSON 文件，用于对比不同版本。堆内存峰值包括同一进程中的模拟服务器。
+ * </p>
+ */
+public class ThroughputBenchmark {
+    private static final String USAGE = "用法: ThroughputBenchmark [--accounts 100] [--concurrency 10] [--latency 20-80] [--slow 0.01:500-2000]\n"
+            + "           [--error-rate 0.01] [--expired-rate 0] [--pause-scale 0.01] [--rate-limit] [--seed 1]\n"
+            + "           [--label <版本>] [--output <结果文件>]\n"
+            + "  --latency      每个请求的延迟范围（毫秒），均匀分布\n"
+            + "  --slow         慢请求的比例和延迟范围，模拟长尾\n"
+            + "  --error-rate   返回 HTTP 500 的请求比例\n"
+            + "  --expired-rate Token 过期账号的比例，这些账号不参与执行\n"
+            + "  --pause-scale  请求间隔的缩放比例，1 为真实间隔\n"
+            + "  --rate-limit   保留接口限流（限流按真实时间计算，不随 --pause-scale 缩放）\n"
+            + "  --output       结果文件，默认 build/results/throughput/result.json";
+
+    public static void main(String[] args) {
+        Config config = new Config();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--accounts":
+                        config.accounts = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--concurrency":
+                        config.concurrency = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--latency":
+                        long[] latency = range(value(args, ++i));
+                        config.minLatencyMillis = latency[0];
+                        config.maxLatencyMillis = latency[1];
+                        break;
+                    case "--slow":
+                        // 比例:最短-最长，例如 0.01:500-2000
+                        String[] slow = value(args, ++i).split(":");
+                        if (slow.length != 2) {
+                            throw new IllegalArgumentException("--slow 格式为 比例:最短-最长");
+                        }
+                        long[] slowLatency = range(slow[1]);
+                        config.slowRate = Double.parseDouble(slow[0]);
+                        config.minSlowMillis = slowLatency[0];
+                        config.maxSlowMillis = slowLatency[1];
+                        break;
+                    case "--error-rate":
+                        config.errorRate = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--expired-rate":
+                        config.expiredRate = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--pause-scale":
+                        config.pauseScale = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--rate-limit":
+                        config.rateLimit = true;
+                        break;
+                    case "--seed":
+                        config.seed = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--label":
+                        config.label = value(args, ++i);
+                        break;
+                    case "--output":
+                        config.output = value(args, ++i);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("未知参数: " + args[i]);
+                }
+            }
+            if (config.accounts < 1 || config.concurrency < 1) {
+                throw new IllegalArgumentException("--accounts 和 --concurrency 至少为 1");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        ApiLogger.setLevel(ApiLogger.Level.OFF);
+        try {
+            Result result = run(config);
+            print(result);
+            File output = new File(config.output);
+            File parent = output.getAbsoluteFile().getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("无法创建目录: " + parent);
+            }
+            Gson gson = new GsonBuilder().setPrettyPrinting().create();
+            try (Writer writer = Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(result, writer);
+            }
+            System.out.println("结果已写入 " + output.getAbsolutePath());
+            System.exit(0);
+        } catch (IOException | InterruptedException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static Result run(Config config) throws IOException, InterruptedException {
+        Path dataDir = Files.createTempDirectory("bjxd-throughput");
+        try (MockBluemembersServer server = new MockBluemembersServer.Builder()
+                .accounts(config.accounts)
+                .latency(config.minLatencyMillis, config.maxLatencyMillis)
+                .slowRequests(config.slowRate, config.minSlowMillis, config.maxSlowMillis)
+                .errorRate(config.errorRate)
+                .expiredRate(config.expiredRate)
+                .seed(config.seed)
+                .build()) {
+            ApiUtil.setBaseUrl(server.getBaseUrl());
+            if (!config.rateLimit) {
+                ApiUtil.clearRateLimits();
+            }
+            List<User> users = resolveUsers(server.getTokens());
+            if (users.isEmpty()) {
+                throw new IOException("没有可用的账号");
+            }
+
+            // 与命令行运行器相同，写入运行日志和检查点
+            RunJournal journal = new RunJournal(dataDir.resolve("run_journal.bin").toFile(), RunJournal.DEFAULT_MAX_FILE_BYTES);
+            List<Long> accountMillis = Collections.synchronizedList(new ArrayList<>());
+            TaskEngine engine = new TaskEngine(users, new MemoryTaskStorage(), message -> {
+            }, () -> {
+            }, null, config.concurrency, null, journal);
+            engine.setPauseScale(config.pauseScale);
+            engine.setAccountListener((user, elapsedMillis) -> accountMillis.add(elapsedMillis));
+
+            System.gc();
+            resetPeakHeap();
+            long requestsBefore = server.getRequestCount();
+            Map<String, Long> countsBefore = server.getRequestCounts();
+            System.out.printf(Locale.ROOT, "开始执行: %d 个账号, 并发数 %d, 请求间隔缩放 %s%n", users.size(), config.concurrency, config.pauseScale);
+            long startNanos = System.nanoTime();
+            engine.start();
+            engine.join();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            long peakHeapBytes = peakHeap();
+            long requests = server.getRequestCount() - requestsBefore;
+            Map<String, Long> countsAfter = server.getRequestCounts();
+
+            Result result = new Result();
+            result.label = config.label;
+            result.time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
+            result.javaVersion = System.getProperty("java.version");
+            result.config = config;
+            result.accounts = users.size();
+            result.skippedAccounts = config.accounts - users.size();
+            result.finishedAccounts = accountMillis.size();
+            result.completedAccounts = countCompleted(users);
+            result.elapsedMillis = elapsedMillis;
+            result.accountsPerMinute = elapsedMillis > 0 ? result.finishedAccounts * 60_000.0 / elapsedMillis : 0;
+            result.requests = requests;
+            result.requestsPerAccount = (double) requests / users.size();
+            for (Map.Entry<String, Long> entry : countsAfter.entrySet()) {
+                long count = entry.getValue() - countsBefore.getOrDefault(entry.getKey(), 0L);
+                if (count > 0) {
+                    result.requestsPerAccountByEndpoint.put(entry.getKey(), (double) count / users.size());
+                }
+            }
+            List<Long> sorted = new ArrayList<>(accountMillis);
+            sorted.sort(Comparator.naturalOrder());
+            result.accountP50Millis = percentile(sorted, 50);
+            result.accountP99Millis = percentile(sorted, 99);
+            result.accountMaxMillis = sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1);
+            result.peakHeapBytes = peakHeapBytes;
+            return result;
+        } finally {
+            ApiUtil.setBaseUrl(ApiUtil.DEFAULT_BASE_URL);
+            ApiUtil.resetRateLimits();
+            deleteRecursively(dataDir);
+        }
+    }
+
+    /**
+     * 并行获取所有账号的用户信息，Token 过期或请求失败的账号不参与执行
+     */
+    private static List<User> resolveUsers(List<String> tokens) throws InterruptedException {
+        List<CompletableFuture<User>> futures = new ArrayList<>();
+        for (String token : tokens) {
+            futures.add(ApiUtil.getUserInfoAsync(token));
+        }
+        List<User> users = new ArrayList<>();
+        for (CompletableFuture<User> future : futures) {
+            try {
+                users.add(future.get());
+            } catch (ExecutionException e) {
+                // 跳过该账号
+            }
+        }
+        return users;
+    }
+
+    /**
+     * 执行结束后所有任务都已完成的账号数，查询请求不计入请求数
+     */
+    private static int countCompleted(List<User> users) throws InterruptedException {
+        List<CompletableFuture<TaskStatus>> futures = new ArrayList<>();
+        for (User user : users) {
+            futures.add(ApiUtil.getTaskStatusAsync(user.getToken()));
+        }
+        int completed = 0;
+        for (CompletableFuture<TaskStatus> future : futures) {
+            try {
+                if (future.get().isAllCompleted()) {
+                    completed++;
+                }
+            } catch (ExecutionException e) {
+                // 查询失败按未完成计算
+            }
+        }
+        return completed;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * 各堆内存区域峰值之和，各区域的峰值不一定出现在同一时刻，结果略大于实际峰值
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * 最近秩法计算百分位数
+     *
+     * @param sorted 升序排列的数据
+     */
+    private static long percentile(List<Long> sorted, double percent) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+    }
+
+    private static void print(Result result) {
+        System.out.printf(Locale.ROOT, "账号: 执行 %d 个, 全部完成 %d 个, 跳过 %d 个（Token 过期或获取用户信息失败）%n",
+                result.finishedAccounts, result.completedAccounts, result.skippedAccounts);
+        System.out.printf(Locale.ROOT, "耗时: %.1f 秒, 吞吐量 %.1f 个账号/分钟%n", result.elapsedMillis / 1000.0, result.accountsPerMinute);
+        System.out.printf(Locale.ROOT, "请求: 共 %d 次, 平均每个账号 %.1f 次%n", result.requests, result.requestsPerAccount);
+        System.out.printf(Locale.ROOT, "单个账号耗时: p50 %d ms, p99 %d ms, 最长 %d ms%n",
+                result.accountP50Millis, result.accountP99Millis, result.accountMaxMillis);
+        System.out.printf(Locale.ROOT, "堆内存峰值: %.1f MB%n", result.peakHeapBytes / 1024.0 / 1024.0);
+    }
+
+    private static long[] range(String value) {
+        String[] parts = value.split("-");
+        return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[parts.length - 1])};
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(args[index - 1] + " 缺少参数值");
+        }
+        return args[index];
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * 基准配置，原样写入结果文件
+     */
+    static class Config {
+        @SerializedName("accounts")
+        int accounts = 100;
+        @SerializedName("concurrency")
+        int concurrency = 10;
+        @SerializedName("min_latency_millis")
+        long minLatencyMillis = 20;
+        @SerializedName("max_latency_millis")
+        long maxLatencyMillis = 80;
+        @SerializedName("slow_rate")
+        double slowRate = 0.01;
+        @SerializedName("min_slow_millis")
+        long minSlowMillis = 500;
+        @SerializedName("max_slow_millis")
+        long maxSlowMillis = 2000;
+        @SerializedName("error_rate")
+        double errorRate = 0.01;
+        @SerializedName("expired_rate")
+        double expiredRate = 0;
+        @SerializedName("pause_scale")
+        double pauseScale = 0.01;
+        @SerializedName("rate_limit")
+        boolean rateLimit = false;
+        @SerializedName("seed")
+        long seed = 1;
+        transient String label = "";
+        transient String output = "build/results/throughput/result.json";
+    }
+
+    /**
+     * 结果文件的内容
+     */
+    static class Result {
+        @SerializedName("label")
+        String label;
+        @SerializedName("time")
+        String time;
+        @SerializedName("java_version")
+        String javaVersion;
+        @SerializedName("config")
+        Config config;
+        @SerializedName("accounts")
+        int accounts;
+        @SerializedName("skipped_accounts")
+        int skippedAccounts;
+        @SerializedName("finished_accounts")
+        int finishedAccounts;
+        @SerializedName("completed_accounts")
+        int completedAccounts;
+        @SerializedName("elapsed_millis")
+        long elapsedMillis;
+        @SerializedName("accounts_per_minute")
+        double accountsPerMinute;
+        @SerializedName("requests")
+        long requests;
+        @SerializedName("requests_per_account")
+        double requestsPerAccount;
+        @SerializedName("requests_per_account_by_endpoint")
+        Map<String, Double> requestsPerAccountByEndpoint = new LinkedHashMap<>();
+        @SerializedName("account_p50_millis")
+        long accountP50Millis;
+        @SerializedName("account_p99_millis")
+        long accountP99Millis;
+        @SerializedName("account_max_millis")
+        long accountMaxMillis;
+        @SerializedName("peak_heap_bytes")
+        long peakHeapBytes;
+    }
+}
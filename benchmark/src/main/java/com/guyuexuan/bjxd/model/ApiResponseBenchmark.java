@@ -0,0 +1,147 @@
+package com.guyuexuan.bjxd.model;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+/**
+ * 响应信封解析：与 ApiUtil.readResponse 相同，从 ResponseBody 的字符流读取 code、msg 和 data
+ * <p>
+ * 分别测量 data 直接跳过（提交类接口）、小对象（用户信息）、大列表（文章列表）和积分记录；
+ * legacy 开头的基准是改为流式解码之前的方式（body 转 String + JsonObject 树），
+ * 用 -prof gc 的 gc.alloc.rate.norm 对比每次调用分配的内存
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+@State(Scope.Benchmark)
+public class ApiResponseBenchmark {
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String TOKEN = "benchmark-token";
+
+    private byte[] submitPayload;
+    private byte[] userInfoPayload;
+    private byte[] articleListPayload;
+    private byte[] scorePayload;
+    private final Gson gson = new Gson();
+
+    @Setup
+    public void setUp() {
+        submitPayload = "{\"code\":0,\"msg\":\"success\",\"data\":{\"score\":5,\"tips\":\"签到成功\",\"extra\":{\"days\":7,\"list\":[1,2,3]}}}"
+                .getBytes(StandardCharsets.UTF_8);
+        userInfoPayload = ("{\"code\":0,\"msg\":\"success\",\"data\":{\"nickname\":\"北京现代车主\",\"phone\":\"13900000001\","
+                + "\"hid\":\"0123456789abcdef0123456789abcdef\",\"avatar\":\"https://bm2-static.bluemembers.com.cn/avatar/1.jpg\","
+                + "\"level\":3,\"car\":{\"model\":\"伊兰特\",\"vin\":\"LBEXXXXXXXXXXXXXX\"}}}").getBytes(StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder("{\"code\":0,\"msg\":\"success\",\"data\":{\"total\":200,\"page_no\":1,\"list\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"hid\":\"").append(String.format(Locale.ROOT, "%032x", i))
+                    .append("\",\"title\":\"北京现代新车型上市活动第").append(i).append("期\"")
+                    .append(",\"cover\":\"https://bm2-static.bluemembers.com.cn/article/cover/").append(i).append(".jpg\"")
+                    .append(",\"summary\":\"").append("全新一代车型正式上市，搭载全新动力总成与智能网联系统。".repeat(8)).append('"')
+                    .append(",\"tags\":[\"新车\",\"活动\",\"试驾\"],\"view_count\":").append(1000 + i)
+                    .append(",\"author\":{\"hid\":\"author").append(i).append("\",\"nickname\":\"北京现代官方\"}")
+                    .append(",\"created_at\":\"2026-01-20 10:00:00\"}");
+        }
+        sb.append("]}}");
+        articleListPayload = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder score = new StringBuilder("{\"code\":0,\"msg\":\"success\",\"data\":{\"score\":12345,\"level\":3,\"points_record\":{\"total\":500,\"list\":[");
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) {
+                score.append(',');
+            }
+            score.append("{\"hid\":\"record").append(i).append("\",\"created_at\":\"2026-01-20 0").append(i).append(":00:00\"")
+                    .append(",\"desc\":\"每日签到\",\"score_str\":\"+").append(i + 1).append("\",\"action\":4,\"remark\":\"\"}");
+        }
+        score.append("]}}}");
+        scorePayload = score.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 旧方式：读取整个 body 为 String，再解析为 JsonObject 树
+     */
+    private JsonObject readLegacy(byte[] payload) throws IOException {
+        try (ResponseBody body = ResponseBody.create(payload, JSON)) {
+            JsonObject json = gson.fromJson(body.string(), JsonObject.class);
+            if (json.get("code").getAsInt() != 0) {
+                throw new IOException(json.get("msg").getAsString());
+            }
+            return json.getAsJsonObject("data");
+        }
+    }
+
+    private static <T> ApiResponse<T> read(byte[] payload, ApiResponse.DataReader<T> dataReader) throws IOException {
+        try (ResponseBody body = ResponseBody.create(payload, JSON);
+             JsonReader reader = new JsonReader(body.charStream())) {
+            return ApiResponse.read(reader, dataReader);
+        }
+    }
+
+    @Benchmark
+    public ApiResponse<Void> skipData() throws IOException {
+        return read(submitPayload, reader -> {
+            reader.skipValue();
+            return null;
+        });
+    }
+
+    @Benchmark
+    public ApiResponse<User> userInfo() throws IOException {
+        return read(userInfoPayload, reader -> User.read(reader, TOKEN));
+    }
+
+    @Benchmark
+    public ApiResponse<ArticleList> articleList() throws IOException {
+        return read(articleListPayload, ArticleList::read);
+    }
+
+    @Benchmark
+    public List<String> legacyArticleList() throws IOException {
+        JsonArray list = readLegacy(articleListPayload).getAsJsonArray("list");
+        List<String> hids = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            hids.add(list.get(i).getAsJsonObject().get("hid").getAsString());
+        }
+        return hids;
+    }
+
+    @Benchmark
+    public ApiResponse<ScoreInfo> scoreInfo() throws IOException {
+        return read(scorePayload, ScoreInfo::read);
+    }
+
+    @Benchmark
+    public JsonArray legacyScoreInfo() throws IOException {
+        JsonObject data = readLegacy(scorePayload);
+        data.get("score").getAsInt();
+        return data.getAsJsonObject("points_record").getAsJsonArray("list");
+    }
+}
@@ -0,0 +1,75 @@
+package com.guyuexuan.bjxd.model;
+
+import com.google.gson.stream.JsonReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 签到最佳奖励选择：与 TaskEngine.executeSignTask 相同，多次获取签到信息，
+ * 每次查找当前选项的积分并保留积分最高的一次
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+@State(Scope.Benchmark)
+public class SignInfoBenchmark {
+    // 与 executeSignTask 的最大尝试次数一致
+    private static final int ATTEMPTS = 5;
+    private static final int[] SCORES = {1, 2, 3, 5, 8, 10};
+
+    private byte[][] payloads;
+
+    @Setup
+    public void setUp() {
+        payloads = new byte[ATTEMPTS][];
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            StringBuilder sb = new StringBuilder("{\"hid\":\"reward-").append((attempt * 7) % SCORES.length)
+                    .append("\",\"rewardHash\":\"").append(Integer.toHexString(("benchmark|" + attempt).hashCode()))
+                    .append("\",\"days\":").append(attempt + 1).append(",\"list\":[");
+            for (int i = 0; i < SCORES.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"hid\":\"reward-").append(i).append("\",\"score\":").append(SCORES[i])
+                        .append(",\"title\":\"").append(SCORES[i]).append(" 积分\"")
+                        .append(",\"icon\":\"https://bm2-static.bluemembers.com.cn/reward/").append(i).append(".png\"}");
+            }
+            sb.append("]}");
+            payloads[attempt] = sb.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public String selectBest() throws IOException {
+        String bestHid = null;
+        int bestScore = 0;
+        for (byte[] payload : payloads) {
+            try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8))) {
+                SignInfo data = SignInfo.read(reader);
+                int currentBestScore = data.getCurrentScore();
+                if (currentBestScore > bestScore) {
+                    bestScore = currentBestScore;
+                    bestHid = data.getHid();
+                }
+            }
+        }
+        return bestHid;
+    }
+}
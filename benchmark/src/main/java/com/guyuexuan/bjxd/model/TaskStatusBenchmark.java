@@ -0,0 +1,60 @@
+package com.guyuexuan.bjxd.model;
+
+import com.google.gson.stream.JsonReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务状态提取：从任务列表的 data 中读取 action4 / action12 / action39 的 status，其余任务整体跳过
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+@State(Scope.Benchmark)
+public class TaskStatusBenchmark {
+    // 真实接口返回的任务数量与此接近
+    private static final int ACTIONS = 40;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 1; i <= ACTIONS; i++) {
+            if (i > 1) {
+                sb.append(',');
+            }
+            sb.append("\"action").append(i).append("\":{\"id\":").append(i)
+                    .append(",\"title\":\"每日任务").append(i).append("\",\"desc\":\"完成任务可获得积分奖励\"")
+                    .append(",\"score\":").append(i % 5 + 1)
+                    .append(",\"status\":").append(i % 2)
+                    .append(",\"progress\":{\"current\":").append(i % 3).append(",\"total\":3}}");
+        }
+        sb.append('}');
+        payload = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public TaskStatus read() throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8))) {
+            return TaskStatus.read(reader);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.guyuexuan.bjxd.task;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.model.ScoreInfo;
+import com.guyuexuan.bjxd.model.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 今日积分汇总：与积分详情相同，按 created_at 前缀筛选今日记录并累加 score_str
+ * <p>
+ * records 为积分记录条数，其中一半是今日的记录
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+@State(Scope.Benchmark)
+public class ScoreTableBenchmark {
+    private static final String TODAY = "2026-01-20";
+    private static final String YESTERDAY = "2026-01-19";
+
+    @Param({"5", "50"})
+    public int records;
+
+    private User user;
+    private ScoreInfo info;
+
+    @Setup
+    public void setUp() throws IOException {
+        user = new User("benchmark-token", "北京现代车主", "13900000001", "benchmark-hid");
+        StringBuilder sb = new StringBuilder("{\"score\":12345,\"level\":3,\"points_record\":{\"total\":500,\"list\":[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            String day = i < (records + 1) / 2 ? TODAY : YESTERDAY;
+            sb.append("{\"hid\":\"record").append(i).append("\",\"created_at\":\"").append(day)
+                    .append(String.format(Locale.ROOT, " %02d:%02d:00\"", 23 - i % 24, i % 60))
+                    .append(",\"desc\":\"每日签到\",\"score_str\":\"+").append(i % 5 + 1).append("\",\"action\":4,\"remark\":\"\"}");
+        }
+        sb.append("]}}");
+        try (JsonReader reader = new JsonReader(new StringReader(sb.toString()))) {
+            info = ScoreInfo.read(reader);
+        }
+    }
+
+    @Benchmark
+    public ScoreTable.Row todayDelta() {
+        return ScoreTable.Row.of(user, 1, info, TODAY);
+    }
+}
@@ -0,0 +1,146 @@
+package com.guyuexuan.bjxd.util;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.guyuexuan.bjxd.model.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 账号列表读写往返：StorageUtil 的账号列表由 UserStore 管理
+ * <p>
+ * StorageUtil 依赖 SharedPreferences 和 SQLite，无法在 JVM 上运行，
+ * 这里用内存中的 Backend 代替账号数据库，测量快照加载、修改后差异写入，
+ * 以及旧版 SharedPreferences 中 Gson 序列化整个列表的往返（迁移时仍会读取）
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms256m", "-Xmx256m"})
+@State(Scope.Benchmark)
+public class UserStoreBenchmark {
+    // 写入在调用线程上同步执行，flush 返回时已写入 Backend
+    private static final Executor DIRECT = Runnable::run;
+    // 延迟写入的定时器不会在测量期间触发，只由 flush 写入
+    private static final long FLUSH_DELAY_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final Type USER_LIST_TYPE = new TypeToken<List<User>>() {
+    }.getType();
+
+    @Param({"10", "100", "1000"})
+    public int accounts;
+
+    private final Gson gson = new Gson();
+    private MemoryBackend backend;
+    private UserStore store;
+    private User first;
+    private User last;
+    private User middle;
+
+    @Setup
+    public void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            users.add(new User(String.format(Locale.ROOT, "token-%032x", i), "车主" + i,
+                    String.format(Locale.ROOT, "139%08d", i), String.format(Locale.ROOT, "%032x", i), "2026-01-20 08:00:00"));
+        }
+        backend = new MemoryBackend(users);
+        store = new UserStore(backend, DIRECT, FLUSH_DELAY_MILLIS);
+        first = users.get(0);
+        last = users.get(users.size() - 1);
+        middle = users.get(users.size() / 2);
+    }
+
+    /**
+     * 启动时从存储加载快照并读取列表
+     */
+    @Benchmark
+    public List<User> loadAndList() {
+        return new UserStore(backend, DIRECT, FLUSH_DELAY_MILLIS).getUsers();
+    }
+
+    /**
+     * 更新一个账号（例如重新登录后 token 变化）并写入
+     */
+    @Benchmark
+    public List<User> saveAndFlush() {
+        store.save(middle);
+        store.flush();
+        return store.getUsers();
+    }
+
+    /**
+     * 交换首尾两个账号的顺序并写入
+     */
+    @Benchmark
+    public List<User> swapAndFlush() {
+        store.swap(first, last);
+        store.flush();
+        return store.getUsers();
+    }
+
+    /**
+     * 旧版：整个列表序列化为 JSON 保存，读取时整体反序列化
+     */
+    @Benchmark
+    public List<User> legacyJsonRoundTrip() {
+        String json = gson.toJson(store.getUsers(), USER_LIST_TYPE);
+        return gson.fromJson(json, USER_LIST_TYPE);
+    }
+
+    /**
+     * 内存中的账号表，按手机号保存账号和位置，与账号数据库的表结构对应
+     */
+    private static class MemoryBackend implements UserStore.Backend {
+        private final Map<String, User> rows = new HashMap<>();
+        private final Map<String, Long> positions = new HashMap<>();
+
+        MemoryBackend(List<User> users) {
+            for (int i = 0; i < users.size(); i++) {
+                rows.put(users.get(i).getPhone(), users.get(i));
+                positions.put(users.get(i).getPhone(), i * UserStore.POSITION_GAP);
+            }
+        }
+
+        @Override
+        public synchronized List<User> load(Map<String, Long> positions) {
+            positions.putAll(this.positions);
+            List<User> users = new ArrayList<>(rows.values());
+            users.sort(Comparator.comparingLong(user -> positions.get(user.getPhone())));
+            return users;
+        }
+
+        @Override
+        public synchronized void apply(List<User> upserts, List<String> deleted, Map<String, Long> positions) {
+            for (User user : upserts) {
+                rows.put(user.getPhone(), user);
+            }
+            for (String phone : deleted) {
+                rows.remove(phone);
+                this.positions.remove(phone);
+            }
+            this.positions.putAll(positions);
+        }
+    }
+}
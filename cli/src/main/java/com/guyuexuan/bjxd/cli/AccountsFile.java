@@ -0,0 +1,87 @@
+package com.guyuexuan.bjxd.cli;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.guyuexuan.bjxd.model.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 账号文件
+ * <p>
+ * 支持两种格式：
+ * <ul>
+ *     <li>JSON 数组，每项包含 token、nickname、phone、hid（与安卓端保存的账号字段一致），不发请求</li>
+ *     <li>每行一个 token，空行和 # 开头的行忽略，启动时通过 users/info 接口获取账号信息</li>
+ * </ul>
+ * 重复的 token 只保留第一个。
+ * </p>
+ */
+final class AccountsFile {
+    private AccountsFile() {
+    }
+
+    /**
+     * @param content  文件内容
+     * @param resolver 按 token 获取账号信息
+     * @param logger   无法解析的账号在这里输出后跳过
+     * @return 按文件中的顺序排列的账号
+     * @throws IOException JSON 格式错误
+     */
+    @NonNull
+    static List<User> parse(String content, TokenResolver resolver, Consumer<String> logger) throws IOException {
+        List<User> users = new ArrayList<>();
+        Set<String> tokens = new LinkedHashSet<>();
+        String trimmed = content.trim();
+        if (trimmed.startsWith("[")) {
+            JsonArray array;
+            try {
+                array = JsonParser.parseString(trimmed).getAsJsonArray();
+            } catch (JsonParseException | IllegalStateException e) {
+                throw new IOException("账号文件格式错误: " + e.getMessage(), e);
+            }
+            for (JsonElement element : array) {
+                try {
+                    User user = User.fromJson(element.getAsJsonObject());
+                    if (tokens.add(user.getToken())) {
+                        users.add(user);
+                    }
+                } catch (RuntimeException e) {
+                    logger.accept("忽略格式错误的账号: " + element);
+                }
+            }
+            return users;
+        }
+
+        int lineNumber = 0;
+        for (String line : trimmed.split("\\r?\\n")) {
+            lineNumber++;
+            String token = line.trim();
+            if (token.isEmpty() || token.startsWith("#") || !tokens.add(token)) {
+                continue;
+            }
+            try {
+                users.add(resolver.resolve(token));
+            } catch (IOException e) {
+                logger.accept(String.format("第 %d 行的账号获取信息失败，已跳过: %s", lineNumber, e.getMessage()));
+            }
+        }
+        return users;
+    }
+
+    /**
+     * 按 token 获取账号信息
+     */
+    interface TokenResolver {
+        User resolve(String token) throws IOException;
+    }
+}
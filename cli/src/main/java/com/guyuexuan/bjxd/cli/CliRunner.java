@@ -0,0 +1,157 @@
+package com.guyuexuan.bjxd.cli;
+
+import com.guyuexuan.bjxd.model.User;
+import com.guyuexuan.bjxd.task.TaskEngine;
+import com.guyuexuan.bjxd.util.AiAnswerCache;
+import com.guyuexuan.bjxd.util.ApiLogger;
+import com.guyuexuan.bjxd.util.ApiUtil;
+import com.guyuexuan.bjxd.util.RunJournal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * 命令行运行器：为账号文件中的所有账号执行每日任务
+ * <p>
+ * 与安卓端使用同一个任务引擎，检查点、运行日志、答题记录保存在数据目录中，
+ * 中断后再次运行会跳过当天已完成的任务。按 Ctrl+C 停止时等待当前请求结束并落盘。
+ * </p>
+ */
+public class CliRunner {
+    private static final int DEFAULT_CONCURRENCY = 3;
+    // 退出码：服务器连续熔断，任务提前终止，没有执行完所有账号
+    private static final int EXIT_INCOMPLETE = 3;
+    private static final String USAGE = "用法: bjxd --accounts <账号文件> [--concurrency <并发数>] [--data <数据目录>] [--config <配置文件>] [--debug]\n"
+            + "           [--base-url <接口地址>] [--pause-scale <比例>] [--no-rate-limit]\n"
+            + "  --accounts     每行一个 token，或 JSON 账号数组\n"
+            + "  --concurrency  同时执行任务的账号数，默认 " + DEFAULT_CONCURRENCY + "\n"
+            + "  --data         检查点、运行日志和答题记录的保存目录，默认 ./bjxd-data\n"
+            + "  --config       AI 提供方等配置（JSON），不指定时不使用 AI 答题\n"
+            + "  --debug        输出完整接口响应\n"
+            + "以下参数只用于本地模拟服务器（mockserver）：\n"
+            + "  --base-url     接口地址，例如 http://127.0.0.1:8080\n"
+            + "  --pause-scale  请求间隔的缩放比例，例如 0.01\n"
+            + "  --no-rate-limit 取消接口限流\n"
+            + "退出码: 0 全部执行完毕, 1 运行出错, 2 参数错误, " + EXIT_INCOMPLETE + " 服务器持续不可用提前终止,\n"
+            + "        Ctrl+C 停止时由信号决定(通常为 130)";
+    private static final String RUN_JOURNAL_FILE = "run_journal.bin";
+    private static final String AI_ANSWER_CACHE_FILE = "ai_answer_cache.txt";
+    // 停止任务后最多等待多久让引擎落盘
+    private static final long STOP_TIMEOUT_MILLIS = 30_000;
+
+    public static void main(String[] args) {
+        File accountsFile = null;
+        File dataDir = new File("bjxd-data");
+        File configFile = null;
+        int concurrency = DEFAULT_CONCURRENCY;
+        boolean debug = false;
+        double pauseScale = 1.0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--accounts":
+                        accountsFile = new File(value(args, ++i));
+                        break;
+                    case "--concurrency":
+                        concurrency = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--data":
+                        dataDir = new File(value(args, ++i));
+                        break;
+                    case "--config":
+                        configFile = new File(value(args, ++i));
+                        break;
+                    case "--debug":
+                        debug = true;
+                        break;
+                    case "--base-url":
+                        ApiUtil.setBaseUrl(value(args, ++i));
+                        break;
+                    case "--pause-scale":
+                        pauseScale = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--no-rate-limit":
+                        ApiUtil.clearRateLimits();
+                        break;
+                    default:
+                        throw new IllegalArgumentException("未知参数: " + args[i]);
+                }
+            }
+            if (accountsFile == null) {
+                throw new IllegalArgumentException("缺少 --accounts");
+            }
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("--concurrency 至少为 1");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        ApiLogger.setLevel(debug ? ApiLogger.Level.BODY : ApiLogger.Level.ERROR);
+        Consumer<String> logger = CliRunner::log;
+        try {
+            System.exit(run(accountsFile, dataDir, configFile, concurrency, pauseScale, logger));
+        } catch (IOException | InterruptedException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static int run(File accountsFile, File dataDir, File configFile, int concurrency, double pauseScale, Consumer<String> logger) throws IOException, InterruptedException {
+        FileTaskStorage storage = new FileTaskStorage(dataDir, configFile);
+        String content = new String(Files.readAllBytes(accountsFile.toPath()), StandardCharsets.UTF_8);
+        List<User> users = AccountsFile.parse(content, ApiUtil::getUserInfo, logger);
+        if (users.isEmpty()) {
+            logger.accept("账号文件中没有可用的账号");
+            return 1;
+        }
+        logger.accept(String.format(Locale.getDefault(), "共有 %d 个用户任务待执行", users.size()));
+
+        TaskEngine engine = new TaskEngine(users, storage, logger, () -> {
+        }, null, concurrency, new AiAnswerCache(new File(dataDir, AI_ANSWER_CACHE_FILE), 256, 64 * 1024),
+                new RunJournal(new File(dataDir, RUN_JOURNAL_FILE), RunJournal.DEFAULT_MAX_FILE_BYTES));
+        engine.setPauseScale(pauseScale);
+        Thread shutdownHook = new Thread(() -> {
+            if (engine.isAlive()) {
+                logger.accept("收到停止信号，等待当前请求结束……");
+                engine.stopTask();
+                try {
+                    engine.join(STOP_TIMEOUT_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "CliShutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        engine.start();
+        engine.join();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // 收到停止信号时 JVM 已在关闭，钩子无法移除，退出码由信号决定
+        }
+        ApiLogger.flush(1000);
+        return engine.isCompleted() ? 0 : EXIT_INCOMPLETE;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(args[index - 1] + " 缺少参数值");
+        }
+        return args[index];
+    }
+
+    private static void log(String message) {
+        System.out.println(new SimpleDateFormat("HH:mm:ss", Locale.getDefault()).format(new Date()) + " " + message);
+    }
+}
@@ -0,0 +1,162 @@
+package com.guyuexuan.bjxd.cli;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import com.guyuexuan.bjxd.model.AiProvider;
+import com.guyuexuan.bjxd.model.AiProviderStats;
+import com.guyuexuan.bjxd.model.DailyAnswer;
+import com.guyuexuan.bjxd.util.TaskStorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于文件的任务存储
+ * <p>
+ * AI 提供方等配置从只读的配置文件中读取；每日答题答案和 AI 提供方统计保存在数据目录下的 state.json，
+ * 每次修改后先写临时文件再替换，进程中途被杀不会留下写了一半的文件。
+ * 命令行没有交互界面，不支持手动答题。
+ * </p>
+ */
+public class FileTaskStorage implements TaskStorage {
+    private static final String STATE_FILE = "state.json";
+    // 只保留最近的几道题，与安卓端一致
+    private static final int MAX_DAILY_ANSWERS = 7;
+
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private final File stateFile;
+    private final Config config;
+    private final State state;
+
+    /**
+     * @param dataDir    数据目录，不存在时创建
+     * @param configFile 配置文件，为 null 时不使用 AI
+     * @throws IOException 读取失败或格式错误
+     */
+    public FileTaskStorage(@NonNull File dataDir, @Nullable File configFile) throws IOException {
+        if (!dataDir.isDirectory() && !dataDir.mkdirs()) {
+            throw new IOException("无法创建数据目录: " + dataDir);
+        }
+        this.stateFile = new File(dataDir, STATE_FILE);
+        Config loadedConfig = configFile != null ? read(configFile, Config.class) : null;
+        this.config = loadedConfig != null ? loadedConfig : new Config();
+        State loadedState = stateFile.isFile() ? read(stateFile, State.class) : null;
+        this.state = loadedState != null ? loadedState : new State();
+    }
+
+    private <T> T read(File file, Class<T> type) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, type);
+        } catch (JsonParseException e) {
+            throw new IOException(file + " 格式错误: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<AiProvider> getAiProviders() {
+        List<AiProvider> providers = new ArrayList<>();
+        if (config.aiProviders != null) {
+            for (AiProvider provider : config.aiProviders) {
+                if (provider != null && provider.isValid()) {
+                    providers.add(provider);
+                }
+            }
+        }
+        return providers;
+    }
+
+    @Override
+    public boolean isAiMajorityVote() {
+        return config.aiMajorityVote;
+    }
+
+    @Override
+    public boolean isAiStream() {
+        return config.aiStream;
+    }
+
+    @Override
+    public boolean isManualAnswer() {
+        return false;
+    }
+
+    @Override
+    public synchronized Map<String, AiProviderStats> getAiProviderStats() {
+        return new LinkedHashMap<>(state.aiProviderStats);
+    }
+
+    @Override
+    public synchronized void saveAiProviderStats(Map<String, AiProviderStats> stats) {
+        state.aiProviderStats = new LinkedHashMap<>(stats);
+        save();
+    }
+
+    @Override
+    public synchronized DailyAnswer getDailyAnswer(String date, String questionsHid) {
+        DailyAnswer answer = DailyAnswer.find(state.dailyAnswers, date, questionsHid);
+        return answer != null ? answer : new DailyAnswer(date, questionsHid);
+    }
+
+    @Override
+    public synchronized DailyAnswer recordDailyAnswer(String date, String questionsHid, String option, boolean correct) {
+        DailyAnswer target = DailyAnswer.record(state.dailyAnswers, date, questionsHid, option, correct, MAX_DAILY_ANSWERS);
+        save();
+        return target;
+    }
+
+    /**
+     * 写入临时文件后替换 state.json；写入失败只输出到标准错误，不中断任务
+     */
+    private void save() {
+        File tmp = new File(stateFile.getPath() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                gson.toJson(state, writer);
+            }
+            try {
+                Files.move(tmp.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("保存 " + stateFile + " 失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 配置文件，字段名与安卓端配置页的 AI 提供方 JSON 一致
+     */
+    static class Config {
+        @SerializedName("ai_providers")
+        List<AiProvider> aiProviders = new ArrayList<>();
+        @SerializedName("ai_majority_vote")
+        boolean aiMajorityVote = false;
+        @SerializedName("ai_stream")
+        boolean aiStream = true;
+    }
+
+    /**
+     * 运行中产生、需要跨次运行保存的数据
+     */
+    static class State {
+        @SerializedName("daily_answers")
+        List<DailyAnswer> dailyAnswers = new ArrayList<>();
+        @SerializedName("ai_provider_stats")
+        Map<String, AiProviderStats> aiProviderStats = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,44 @@
+package com.guyuexuan.bjxd.cli;
+
+import com.guyuexuan.bjxd.model.User;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AccountsFileTest {
+
+    @Test
+    public void parse_tokenPerLine_skipsCommentsDuplicatesAndFailures() throws IOException {
+        List<String> logs = new ArrayList<>();
+        String content = "# 账号\ntoken-a\r\n\ntoken-b\ntoken-a\nbad\n";
+        List<User> users = AccountsFile.parse(content, token -> {
+            if (token.equals("bad")) {
+                throw new IOException("Token 已过期");
+            }
+            return new User(token, "n-" + token, "1380000000" + token.length(), "h");
+        }, logs::add);
+
+        assertEquals(2, users.size());
+        assertEquals("token-a", users.get(0).getToken());
+        assertEquals("token-b", users.get(1).getToken());
+        assertEquals(1, logs.size());
+    }
+
+    @Test
+    public void parse_jsonArray_doesNotResolve() throws IOException {
+        String content = "[{\"token\":\"t1\",\"nickname\":\"a\",\"phone\":\"13800000001\",\"hid\":\"h1\"},"
+                + "{\"token\":\"t2\",\"nickname\":\"b\",\"phone\":\"13800000002\",\"hid\":\"h2\"}]";
+        List<User> users = AccountsFile.parse(content, token -> {
+            throw new AssertionError("不应请求接口");
+        }, message -> {
+        });
+
+        assertEquals(2, users.size());
+        assertEquals("13800000002", users.get(1).getPhone());
+    }
+}
@@ -0,0 +1,51 @@
+package com.guyuexuan.bjxd.cli;
+
+import com.guyuexuan.bjxd.model.AiProviderStats;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileTaskStorageTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void state_survivesReopen() throws IOException {
+        File dataDir = new File(folder.getRoot(), "data");
+        FileTaskStorage storage = new FileTaskStorage(dataDir, null);
+        storage.recordDailyAnswer("20260101", "q1", "A", false);
+        storage.recordDailyAnswer("20260101", "q1", "C", true);
+        storage.saveAiProviderStats(Collections.singletonMap("m1", new AiProviderStats()));
+
+        FileTaskStorage reopened = new FileTaskStorage(dataDir, null);
+        assertEquals("C", reopened.getDailyAnswer("20260101", "q1").getCorrect());
+        assertEquals(Collections.singletonList("A"), reopened.getDailyAnswer("20260101", "q1").getWrong());
+        assertTrue(reopened.getAiProviderStats().containsKey("m1"));
+        assertFalse(new File(dataDir, "state.json.tmp").exists());
+    }
+
+    @Test
+    public void config_readsValidProvidersOnly() throws IOException {
+        File config = folder.newFile("config.json");
+        Files.write(config.toPath(), ("{\"ai_providers\":[{\"name\":\"p1\",\"api_key\":\"k\",\"request_url\":\"http://localhost/v1\",\"model\":\"m\"},"
+                + "{\"name\":\"incomplete\"}],\"ai_majority_vote\":true}").getBytes(StandardCharsets.UTF_8));
+        FileTaskStorage storage = new FileTaskStorage(folder.newFolder("data"), config);
+
+        assertEquals(1, storage.getAiProviders().size());
+        assertEquals("p1", storage.getAiProviders().get(0).getName());
+        assertTrue(storage.isAiMajorityVote());
+        assertTrue(storage.isAiStream());
+        assertFalse(storage.isManualAnswer());
+    }
+}
@@ -0,0 +1,71 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * AI 提供方配置（兼容 OpenAI chat/completions 接口）
+ * <p>
+ * 额外提供方在配置页以 JSON 数组填写，字段名与此处的 SerializedName 一致
+ * </p>
+ */
+public class AiProvider {
+    @SerializedName("name")
+    private String name;
+    @SerializedName("api_key")
+    private String apiKey;
+    @SerializedName("request_url")
+    private String requestUrl;
+    @SerializedName("model")
+    private String model;
+    @SerializedName("request_params")
+    private JsonObject requestParams;
+
+    public AiProvider(String name, String apiKey, String requestUrl, String model, JsonObject requestParams) {
+        this.name = name;
+        this.apiKey = apiKey;
+        this.requestUrl = requestUrl;
+        this.model = model;
+        this.requestParams = requestParams;
+    }
+
+    /**
+     * 提供方名称，用于日志和统计；未填写时使用模型名称
+     */
+    @NonNull
+    public String getName() {
+        if (name != null && !name.isEmpty()) {
+            return name;
+        }
+        return model != null ? model : "";
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public String getRequestUrl() {
+        return requestUrl;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    /**
+     * 获取请求参数 JSON 字符串，未填写时为空字符串
+     */
+    @NonNull
+    public String getRequestParams() {
+        return requestParams != null ? requestParams.toString() : "";
+    }
+
+    /**
+     * 请求地址和模型名称都已填写
+     */
+    public boolean isValid() {
+        return requestUrl != null && !requestUrl.isEmpty() && model != null && !model.isEmpty();
+    }
+}
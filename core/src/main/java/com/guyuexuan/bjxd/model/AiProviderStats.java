@@ -0,0 +1,80 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * AI 提供方的延迟和准确率记录，持久化保存，用于计算对冲延迟和在日志中展示
+ */
+public class AiProviderStats {
+    // 只保留最近的延迟样本
+    private static final int MAX_LATENCY_SAMPLES = 50;
+
+    private int calls = 0; // 请求次数（不含被取消的）
+    private int validAnswers = 0; // 返回了有效选项字母的次数
+    private int correct = 0; // 答案被确认正确的次数
+    private int wrong = 0; // 答案被确认错误的次数
+    private final List<Long> latencies = new ArrayList<>(); // 返回有效答案的耗时（毫秒）
+
+    /**
+     * 记录一次请求结果
+     *
+     * @param latencyMillis 耗时
+     * @param valid         是否返回了有效选项字母
+     */
+    public synchronized void recordCall(long latencyMillis, boolean valid) {
+        calls++;
+        if (valid) {
+            validAnswers++;
+            latencies.add(latencyMillis);
+            while (latencies.size() > MAX_LATENCY_SAMPLES) {
+                latencies.remove(0);
+            }
+        }
+    }
+
+    /**
+     * 记录答案提交后的结果
+     *
+     * @param isCorrect 该提供方的答案是否正确
+     */
+    public synchronized void recordVerdict(boolean isCorrect) {
+        if (isCorrect) {
+            correct++;
+        } else {
+            wrong++;
+        }
+    }
+
+    /**
+     * 获取有效答案耗时的百分位数
+     *
+     * @param percentile 百分位，0 ~ 1
+     * @return 耗时毫秒数，样本少于 minSamples 时返回 -1
+     */
+    public synchronized long latencyPercentile(double percentile, int minSamples) {
+        if (latencies.size() < Math.max(1, minSamples)) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        long p50 = latencyPercentile(0.5, 1);
+        long p90 = latencyPercentile(0.9, 1);
+        String accuracy = correct + wrong > 0 ? String.format(Locale.getDefault(), "%d%%", correct * 100 / (correct + wrong)) : "-";
+        return String.format(Locale.getDefault(), "请求 %d 次, 有效 %d 次, 正确率 %s (%d/%d), 耗时 p50 %s p90 %s",
+                calls, validAnswers, accuracy, correct, correct + wrong,
+                p50 >= 0 ? String.format(Locale.getDefault(), "%.1fs", p50 / 1000.0) : "-",
+                p90 >= 0 ? String.format(Locale.getDefault(), "%.1fs", p90 / 1000.0) : "-");
+    }
+}
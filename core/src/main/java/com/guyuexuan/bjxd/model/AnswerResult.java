@@ -0,0 +1,49 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
+
+/**
+ * 答题提交结果（ask_answer 接口 data）
+ * <p>
+ * state: 2=答题正确 3=答错且未有人帮忙答题
+ * </p>
+ */
+public class AnswerResult {
+    private int state;
+    private int answerScore;
+
+    @NonNull
+    public static AnswerResult read(JsonReader reader) throws IOException {
+        AnswerResult result = new AnswerResult();
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return result;
+        }
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "state":
+                    result.state = JsonUtil.nextInt(reader, 0);
+                    break;
+                case "answer_score":
+                    result.answerScore = JsonUtil.nextInt(reader, 0);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return result;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public int getAnswerScore() {
+        return answerScore;
+    }
+}
@@ -0,0 +1,92 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
+
+/**
+ * 接口响应外层结构：{"code": 0, "msg": "", "data": {...}}
+ * <p>
+ * 直接从响应流中读取，data 部分交给各接口对应的 DataReader 解析
+ * </p>
+ *
+ * @param <T> data 的类型
+ */
+public class ApiResponse<T> {
+    private int code = -1;
+    private String msg;
+    private T data;
+
+    /**
+     * 从流中读取响应
+     *
+     * @param reader     JsonReader
+     * @param dataReader data 部分的读取器
+     * @param <T>        data 的类型
+     * @return 响应对象
+     * @throws IOException 读取失败或响应不是 JSON 对象
+     */
+    @NonNull
+    public static <T> ApiResponse<T> read(JsonReader reader, DataReader<T> dataReader) throws IOException {
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            throw new MalformedJsonException("响应不是 JSON 对象");
+        }
+        ApiResponse<T> response = new ApiResponse<>();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "code":
+                    response.code = JsonUtil.nextInt(reader, -1);
+                    break;
+                case "msg":
+                    response.msg = JsonUtil.nextString(reader);
+                    break;
+                case "data":
+                    response.data = dataReader.read(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return response;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMsg() {
+        return msg;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public boolean isSuccess() {
+        return code == 0;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "code=" + code + ", msg=" + msg;
+    }
+
+    /**
+     * data 部分读取器
+     * <p>
+     * 调用时 reader 位于 data 的值上，实现需要完整消费这个值（不需要的字段用 skipValue 跳过）
+     * </p>
+     *
+     * @param <T> data 的类型
+     */
+    @FunctionalInterface
+    public interface DataReader<T> {
+        T read(JsonReader reader) throws IOException;
+    }
+}
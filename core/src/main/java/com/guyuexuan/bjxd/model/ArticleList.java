@@ -0,0 +1,76 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文章列表（article/list2 接口 data）
+ * <p>
+ * 浏览任务只需要文章 hid，标题、封面、正文摘要等字段全部跳过
+ * </p>
+ */
+public class ArticleList {
+    private final List<String> hids = new ArrayList<>();
+
+    @NonNull
+    public static ArticleList read(JsonReader reader) throws IOException {
+        ArticleList articleList = new ArticleList();
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return articleList;
+        }
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("list")) {
+                // list 为 null 或不是数组时 beginArrayOrSkip 已跳过该值
+                if (JsonUtil.beginArrayOrSkip(reader)) {
+                    while (reader.hasNext()) {
+                        String hid = readHid(reader);
+                        if (hid != null) {
+                            articleList.hids.add(hid);
+                        }
+                    }
+                    reader.endArray();
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return articleList;
+    }
+
+    private static String readHid(JsonReader reader) throws IOException {
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return null;
+        }
+        String hid = null;
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("hid")) {
+                hid = JsonUtil.nextString(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return hid;
+    }
+
+    /**
+     * 获取文章 hid 列表
+     *
+     * @return 文章 hid 列表
+     */
+    public List<String> getHids() {
+        return hids;
+    }
+
+    public boolean isEmpty() {
+        return hids.isEmpty();
+    }
+}
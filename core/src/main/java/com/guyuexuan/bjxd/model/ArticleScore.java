@@ -0,0 +1,36 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
+
+/**
+ * 文章浏览积分提交结果（/v1/app/score 接口 data）
+ */
+public class ArticleScore {
+    private int score;
+
+    @NonNull
+    public static ArticleScore read(JsonReader reader) throws IOException {
+        ArticleScore result = new ArticleScore();
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return result;
+        }
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("score")) {
+                result.score = JsonUtil.nextInt(reader, 0);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return result;
+    }
+
+    public int getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,125 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 每日答题的已知答案，以 日期 + questions_hid 为键持久化保存
+ * <p>
+ * 记录已确认正确的选项和已确认错误的选项，同一天再次运行时直接使用，不再调用 AI 或弹窗
+ * </p>
+ */
+public class DailyAnswer {
+    private final String date;
+    private final String questionsHid;
+    private String correct;
+    private final List<String> wrong = new ArrayList<>();
+
+    /**
+     * @param date         日期，格式 yyyyMMdd，与 ask_info 接口的 date 参数一致
+     * @param questionsHid 题目 ID
+     */
+    public DailyAnswer(String date, String questionsHid) {
+        this.date = date;
+        this.questionsHid = questionsHid;
+    }
+
+    /**
+     * 在答案列表中记录一次答题结果，没有对应记录时追加，超出数量时丢弃最早的记录
+     *
+     * @param answers    按记录时间排列的答案列表，会被修改
+     * @param maxAnswers 最多保留的记录数
+     * @return 更新后的答案记录
+     */
+    @NonNull
+    public static DailyAnswer record(List<DailyAnswer> answers, String date, String questionsHid, String option, boolean correct, int maxAnswers) {
+        DailyAnswer target = find(answers, date, questionsHid);
+        if (target == null) {
+            target = new DailyAnswer(date, questionsHid);
+            answers.add(target);
+        }
+        if (correct) {
+            target.recordCorrect(option);
+        } else {
+            target.recordWrong(option);
+        }
+        while (answers.size() > maxAnswers) {
+            answers.remove(0);
+        }
+        return target;
+    }
+
+    /**
+     * 在答案列表中查找 日期 + questions_hid 对应的记录
+     *
+     * @return 没有记录时为 null
+     */
+    @Nullable
+    public static DailyAnswer find(List<DailyAnswer> answers, String date, String questionsHid) {
+        for (DailyAnswer answer : answers) {
+            if (answer.matches(date, questionsHid)) {
+                return answer;
+            }
+        }
+        return null;
+    }
+
+    public boolean matches(String date, String questionsHid) {
+        return Objects.equals(this.date, date) && Objects.equals(this.questionsHid, questionsHid);
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public String getQuestionsHid() {
+        return questionsHid;
+    }
+
+    /**
+     * 获取已确认正确的选项
+     *
+     * @return 选项字母，未知时为 null
+     */
+    public String getCorrect() {
+        return correct;
+    }
+
+    /**
+     * 获取已确认错误的选项
+     */
+    @NonNull
+    public List<String> getWrong() {
+        return wrong;
+    }
+
+    /**
+     * 记录正确选项
+     */
+    public void recordCorrect(String option) {
+        correct = option;
+        wrong.remove(option);
+    }
+
+    /**
+     * 记录错误选项，与已记录的正确选项相同时清除正确选项
+     */
+    public void recordWrong(String option) {
+        if (!wrong.contains(option)) {
+            wrong.add(option);
+        }
+        if (Objects.equals(correct, option)) {
+            correct = null;
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "date=" + date + ", questions_hid=" + questionsHid + ", correct=" + correct + ", wrong=" + wrong;
+    }
+}
@@ -0,0 +1,170 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 运行日志中的一条记录，以 JSON 保存，为 null 的字段不写入
+ * <p>
+ * 每次运行以 run_start 开始、run_end 结束（进程被杀时没有 run_end），
+ * 中间是各账号的任务结果（task）、积分（score）和错误（error），同一次运行的记录 run 字段相同。
+ * done 是某个账号某项任务当天已完成的检查点，中断后再次运行时据此跳过。
+ * </p>
+ */
+public class JournalEntry {
+    public static final String TYPE_RUN_START = "run_start";
+    public static final String TYPE_TASK = "task";
+    public static final String TYPE_SCORE = "score";
+    public static final String TYPE_ERROR = "error";
+    public static final String TYPE_RUN_END = "run_end";
+    public static final String TYPE_DONE = "done";
+
+    public static final String TASK_QUESTION = "question";
+    public static final String TASK_SIGN = "sign";
+    public static final String TASK_VIEW = "view";
+    public static final String TASK_SCORE = "score";
+
+    private String type;
+    private long time;
+    private String run;
+    private String phone;
+    private String task;
+    private Boolean ok;
+    private Integer points;
+    private Integer total;
+    private Integer accounts;
+    private String message;
+
+    private JournalEntry(String type, String run) {
+        this.type = type;
+        this.run = run;
+        this.time = System.currentTimeMillis();
+    }
+
+    /**
+     * 运行开始
+     *
+     * @param accounts 本次运行的账号数
+     */
+    @NonNull
+    public static JournalEntry runStart(String run, int accounts) {
+        JournalEntry entry = new JournalEntry(TYPE_RUN_START, run);
+        entry.accounts = accounts;
+        return entry;
+    }
+
+    /**
+     * 单个任务的结果
+     *
+     * @param task    TASK_QUESTION / TASK_SIGN / TASK_VIEW
+     * @param ok      任务是否已完成（包括之前已完成而跳过）
+     * @param points  获得的积分
+     * @param message 说明，例如失败原因
+     */
+    @NonNull
+    public static JournalEntry task(String run, String phone, String task, boolean ok, int points, @Nullable String message) {
+        JournalEntry entry = new JournalEntry(TYPE_TASK, run);
+        entry.phone = phone;
+        entry.task = task;
+        entry.ok = ok;
+        entry.points = points;
+        entry.message = message;
+        return entry;
+    }
+
+    /**
+     * 积分详情
+     *
+     * @param total      总积分
+     * @param todayDelta 今日积分变动
+     */
+    @NonNull
+    public static JournalEntry score(String run, String phone, int total, int todayDelta) {
+        JournalEntry entry = new JournalEntry(TYPE_SCORE, run);
+        entry.phone = phone;
+        entry.total = total;
+        entry.points = todayDelta;
+        return entry;
+    }
+
+    /**
+     * 账号级错误，例如 Token 过期
+     *
+     * @param phone 账号手机号，与账号无关的错误为 null
+     */
+    @NonNull
+    public static JournalEntry error(String run, @Nullable String phone, String message) {
+        JournalEntry entry = new JournalEntry(TYPE_ERROR, run);
+        entry.phone = phone;
+        entry.message = message;
+        return entry;
+    }
+
+    /**
+     * 检查点：账号的某项任务当天已完成，不需要再执行
+     *
+     * @param task TASK_QUESTION / TASK_SIGN / TASK_VIEW / TASK_SCORE
+     */
+    @NonNull
+    public static JournalEntry done(String run, String phone, String task) {
+        JournalEntry entry = new JournalEntry(TYPE_DONE, run);
+        entry.phone = phone;
+        entry.task = task;
+        return entry;
+    }
+
+    /**
+     * 运行结束
+     *
+     * @param completed 所有账号正常执行完毕为 true，被停止为 false
+     */
+    @NonNull
+    public static JournalEntry runEnd(String run, boolean completed) {
+        JournalEntry entry = new JournalEntry(TYPE_RUN_END, run);
+        entry.ok = completed;
+        return entry;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * 记录时间（毫秒时间戳）
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public String getRun() {
+        return run;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getTask() {
+        return task;
+    }
+
+    public boolean isOk() {
+        return ok != null && ok;
+    }
+
+    public int getPoints() {
+        return points != null ? points : 0;
+    }
+
+    public int getTotal() {
+        return total != null ? total : 0;
+    }
+
+    public int getAccounts() {
+        return accounts != null ? accounts : 0;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
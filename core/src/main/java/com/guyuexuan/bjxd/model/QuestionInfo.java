@@ -0,0 +1,153 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 每日答题信息（ask_info 接口 data）
+ * <p>
+ * state: 1=未答题 2=已答题且正确 3=答错且未有人帮忙答题 4=答错但有人帮忙答题
+ * </p>
+ */
+public class QuestionInfo {
+    private int state;
+    private String answer;
+    private String questionsHid;
+    private String content;
+    private final List<Option> options = new ArrayList<>();
+
+    @NonNull
+    public static QuestionInfo read(JsonReader reader) throws IOException {
+        QuestionInfo info = new QuestionInfo();
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return info;
+        }
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "state":
+                    info.state = JsonUtil.nextInt(reader, 0);
+                    break;
+                case "answer":
+                    info.answer = JsonUtil.nextString(reader);
+                    break;
+                case "question_info":
+                    readQuestion(reader, info);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return info;
+    }
+
+    private static void readQuestion(JsonReader reader, QuestionInfo info) throws IOException {
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return;
+        }
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "questions_hid":
+                    info.questionsHid = JsonUtil.nextString(reader);
+                    break;
+                case "content":
+                    info.content = JsonUtil.nextString(reader);
+                    break;
+                case "option":
+                    if (JsonUtil.beginArrayOrSkip(reader)) {
+                        while (reader.hasNext()) {
+                            Option option = Option.read(reader);
+                            if (option != null) {
+                                info.options.add(option);
+                            }
+                        }
+                        reader.endArray();
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * 获取已答题的答案文本，例如 "C.6个"
+     *
+     * @return 答案文本，未答题时为 null
+     */
+    public String getAnswer() {
+        return answer;
+    }
+
+    /**
+     * 从答案文本中提取选项字母，例如从 "C.6个" 中提取 "C"
+     *
+     * @return 选项字母，无法提取时返回 null
+     */
+    public String getAnswerLetter() {
+        if (answer != null && answer.matches("[A-D].*")) {
+            return answer.substring(0, 1);
+        }
+        return null;
+    }
+
+    public String getQuestionsHid() {
+        return questionsHid;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public List<Option> getOptions() {
+        return options;
+    }
+
+    /**
+     * 题目选项
+     */
+    public static class Option {
+        private String option;
+        private String optionContent;
+
+        static Option read(JsonReader reader) throws IOException {
+            if (!JsonUtil.beginObjectOrSkip(reader)) {
+                return null;
+            }
+            Option option = new Option();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "option":
+                        option.option = JsonUtil.nextString(reader);
+                        break;
+                    case "option_content":
+                        option.optionContent = JsonUtil.nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return option;
+        }
+
+        public String getOption() {
+            return option;
+        }
+
+        public String getOptionContent() {
+            return optionContent;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 积分信息（my_score 接口 data）
+ * <p>
+ * 只读取总积分和积分记录列表中的 created_at / desc / score_str
+ * </p>
+ */
+public class ScoreInfo {
+    private int score;
+    private final List<Record> records = new ArrayList<>();
+
+    @NonNull
+    public static ScoreInfo read(JsonReader reader) throws IOException {
+        ScoreInfo info = new ScoreInfo();
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return info;
+        }
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "score":
+                    info.score = JsonUtil.nextInt(reader, 0);
+                    break;
+                case "points_record":
+                    readPointsRecord(reader, info.records);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return info;
+    }
+
+    private static void readPointsRecord(JsonReader reader, List<Record> records) throws IOException {
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return;
+        }
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("list")) {
+                // list 为 null 或不是数组时 beginArrayOrSkip 已跳过该值
+                if (JsonUtil.beginArrayOrSkip(reader)) {
+                    while (reader.hasNext()) {
+                        Record record = Record.read(reader);
+                        if (record != null) {
+                            records.add(record);
+                        }
+                    }
+                    reader.endArray();
+                }
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public List<Record> getRecords() {
+        return records;
+    }
+
+    /**
+     * 积分记录
+     */
+    public static class Record {
+        private String createdAt = "";
+        private String desc = "";
+        private String scoreStr = "0";
+
+        static Record read(JsonReader reader) throws IOException {
+            if (!JsonUtil.beginObjectOrSkip(reader)) {
+                return null;
+            }
+            Record record = new Record();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "created_at":
+                        String createdAt = JsonUtil.nextString(reader);
+                        if (createdAt != null) {
+                            record.createdAt = createdAt;
+                        }
+                        break;
+                    case "desc":
+                        String desc = JsonUtil.nextString(reader);
+                        if (desc != null) {
+                            record.desc = desc;
+                        }
+                        break;
+                    case "score_str":
+                        String scoreStr = JsonUtil.nextString(reader);
+                        if (scoreStr != null) {
+                            record.scoreStr = scoreStr;
+                        }
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return record;
+        }
+
+        public String getCreatedAt() {
+            return createdAt;
+        }
+
+        public String getDesc() {
+            return desc;
+        }
+
+        public String getScoreStr() {
+            return scoreStr;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 签到信息（reward_list 接口 data）
+ * <p>
+ * hid / rewardHash 为本次可提交的签到选项，list 中只读取每个奖励的 hid 和 score
+ * </p>
+ */
+public class SignInfo {
+    private String hid;
+    private String rewardHash;
+    private final List<Reward> rewards = new ArrayList<>();
+
+    @NonNull
+    public static SignInfo read(JsonReader reader) throws IOException {
+        SignInfo info = new SignInfo();
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return info;
+        }
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "hid":
+                    info.hid = JsonUtil.nextString(reader);
+                    break;
+                case "rewardHash":
+                    info.rewardHash = JsonUtil.nextString(reader);
+                    break;
+                case "list":
+                    if (JsonUtil.beginArrayOrSkip(reader)) {
+                        while (reader.hasNext()) {
+                            Reward reward = Reward.read(reader);
+                            if (reward != null) {
+                                info.rewards.add(reward);
+                            }
+                        }
+                        reader.endArray();
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return info;
+    }
+
+    public String getHid() {
+        return hid;
+    }
+
+    public String getRewardHash() {
+        return rewardHash;
+    }
+
+    public List<Reward> getRewards() {
+        return rewards;
+    }
+
+    /**
+     * 获取当前签到选项（hid）对应的奖励积分
+     *
+     * @return 奖励积分，未找到时返回 0
+     */
+    public int getCurrentScore() {
+        for (Reward reward : rewards) {
+            if (reward.hid != null && reward.hid.equals(hid)) {
+                return reward.score;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 签到奖励选项
+     */
+    public static class Reward {
+        private String hid;
+        private int score;
+
+        static Reward read(JsonReader reader) throws IOException {
+            if (!JsonUtil.beginObjectOrSkip(reader)) {
+                return null;
+            }
+            Reward reward = new Reward();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "hid":
+                        reward.hid = JsonUtil.nextString(reader);
+                        break;
+                    case "score":
+                        reward.score = JsonUtil.nextInt(reader, 0);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return reward;
+        }
+
+        public String getHid() {
+            return hid;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+}
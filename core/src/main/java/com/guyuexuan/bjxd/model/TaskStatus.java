@@ -0,0 +1,102 @@
+package com.guyuexuan.bjxd.model;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
+
+public class TaskStatus {
+    private boolean signCompleted;
+    private boolean viewCompleted;
+    private boolean questionCompleted;
+
+    public TaskStatus() {
+        this.signCompleted = false;
+        this.viewCompleted = false;
+        this.questionCompleted = false;
+    }
+
+    /**
+     * 从 task/list 接口 data 中读取任务状态
+     * <p>
+     * action4=签到 action12=浏览文章 action39=答题，只读取其中的 status 字段
+     * </p>
+     */
+    @NonNull
+    public static TaskStatus read(JsonReader reader) throws IOException {
+        TaskStatus status = new TaskStatus();
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return status;
+        }
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "action4":
+                    status.signCompleted = readCompleted(reader);
+                    break;
+                case "action12":
+                    status.viewCompleted = readCompleted(reader);
+                    break;
+                case "action39":
+                    status.questionCompleted = readCompleted(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return status;
+    }
+
+    private static boolean readCompleted(JsonReader reader) throws IOException {
+        if (!JsonUtil.beginObjectOrSkip(reader)) {
+            return false;
+        }
+        boolean completed = false;
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("status")) {
+                completed = JsonUtil.nextInt(reader, 0) == 1;
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return completed;
+    }
+
+    public boolean isSignCompleted() {
+        return signCompleted;
+    }
+
+    public void setSignCompleted(boolean signCompleted) {
+        this.signCompleted = signCompleted;
+    }
+
+    public boolean isViewCompleted() {
+        return viewCompleted;
+    }
+
+    public void setViewCompleted(boolean viewCompleted) {
+        this.viewCompleted = viewCompleted;
+    }
+
+    public boolean isQuestionCompleted() {
+        return questionCompleted;
+    }
+
+    public void setQuestionCompleted(boolean questionCompleted) {
+        this.questionCompleted = questionCompleted;
+    }
+
+    public boolean isAllCompleted() {
+        return signCompleted && viewCompleted && questionCompleted;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return new Gson().toJson(this);
+    }
+}
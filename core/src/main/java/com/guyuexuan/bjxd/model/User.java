@@ -4,6 +4,10 @@ import androidx.annotation.NonNull;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.util.JsonUtil;
+
+import java.io.IOException;
 
 import java.io.Serializable;
 import java.text.SimpleDateFormat;
@@ -27,6 +31,17 @@ public class User implements Serializable{
         this.addedTime = new SimpleDateFormat("MM-dd HH:mm", Locale.getDefault()).format(new Date());
     }
 
+    /**
+     * 从本地存储恢复用户，保留原来的添加时间
+     */
+    public User(String token, String nickname, String phone, String hid, String addedTime) {
+        this.token = token;
+        this.nickname = nickname;
+        this.phone = phone;
+        this.hid = hid;
+        this.addedTime = addedTime;
+    }
+
     public static User fromJson(JsonObject json) {
         String token = json.get("token").getAsString();
         String nickname = json.get("nickname").getAsString();
@@ -35,6 +50,39 @@ public class User implements Serializable{
         return new User(token, nickname, phone, hid);
     }
 
+    /**
+     * 从 users/info 接口 data 中读取用户信息
+     *
+     * @param reader JsonReader
+     * @param token  用户认证token，data 中没有这个字段，需要手动传入
+     * @return 用户对象
+     * @throws IOException 读取失败
+     */
+    public static User read(JsonReader reader, String token) throws IOException {
+        String nickname = null;
+        String phone = null;
+        String hid = null;
+        if (JsonUtil.beginObjectOrSkip(reader)) {
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "nickname":
+                        nickname = JsonUtil.nextString(reader);
+                        break;
+                    case "phone":
+                        phone = JsonUtil.nextString(reader);
+                        break;
+                    case "hid":
+                        hid = JsonUtil.nextString(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        return new User(token, nickname, phone, hid);
+    }
+
     // 重写equals：仅按phone判定相等
     @Override
     public boolean equals(Object o) {
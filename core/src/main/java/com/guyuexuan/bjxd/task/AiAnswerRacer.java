@@ -0,0 +1,317 @@
+package com.guyuexuan.bjxd.task;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.guyuexuan.bjxd.model.AiProvider;
+import com.guyuexuan.bjxd.model.AiProviderStats;
+import com.guyuexuan.bjxd.util.ApiUtil;
+import com.guyuexuan.bjxd.util.TimerWheel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多个 AI 提供方竞速答题
+ * <p>
+ * 默认按对冲方式请求：先请求第一个提供方，超过其历史耗时的 P75 仍未返回时再请求下一个，
+ * 某个提供方失败或答案无效时立即请求下一个；最先返回有效选项字母的获胜，其余请求取消。
+ * 开启投票时同时请求所有提供方，某个选项得票过半即结束，否则等全部返回后取票数最多的选项。
+ * </p>
+ * <p>
+ * 每个提供方的耗时和（提交后确认的）正确率记录在 AiProviderStats 中
+ * </p>
+ */
+public class AiAnswerRacer {
+    // 没有足够的历史耗时时使用的对冲延迟
+    public static final long DEFAULT_HEDGE_DELAY_MILLIS = 8000;
+    private static final long MIN_HEDGE_DELAY_MILLIS = 2000;
+    private static final long MAX_HEDGE_DELAY_MILLIS = 60000;
+    private static final double HEDGE_PERCENTILE = 0.75;
+    private static final int HEDGE_MIN_SAMPLES = 5;
+
+    private final List<AiProvider> providers;
+    private final Map<String, AiProviderStats> stats;
+    private final boolean stream;
+    private final boolean majorityVote;
+
+    /**
+     * @param providers    提供方列表，按优先级排列
+     * @param stats        各提供方的统计，以名称为键，缺少时自动添加
+     * @param stream       是否使用流式请求
+     * @param majorityVote 是否投票，false 时最先返回的有效答案获胜
+     */
+    public AiAnswerRacer(@NonNull List<AiProvider> providers, @NonNull Map<String, AiProviderStats> stats, boolean stream, boolean majorityVote) {
+        this.providers = new ArrayList<>(providers);
+        this.stats = stats;
+        this.stream = stream;
+        this.majorityVote = majorityVote;
+    }
+
+    /**
+     * 从回答中提取选项字母：取第一个 A-D，且必须在可用选项中
+     *
+     * @return 选项字母，无效时为 null
+     */
+    @Nullable
+    public static String extractOptionLetter(CharSequence text, List<String> availableOptionLetters) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'D') {
+                String letter = String.valueOf(c);
+                return availableOptionLetters.contains(letter) ? letter : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 回答中是否已出现选项字母（A-D），流式请求据此提前结束
+     */
+    static boolean containsOptionLetter(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'D') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 向各提供方提问，阻塞到得出结果
+     *
+     * @param question               题目和选项
+     * @param availableOptionLetters 可用选项字母
+     * @return 结果，所有提供方都失败或答案无效时 letter 为 null
+     * @throws InterruptedException 等待时被中断，进行中的请求会被取消
+     */
+    @NonNull
+    public Result ask(String question, List<String> availableOptionLetters) throws InterruptedException {
+        Race race = new Race(question, availableOptionLetters);
+        race.start();
+        try {
+            return race.result.get();
+        } catch (InterruptedException e) {
+            race.cancel();
+            throw e;
+        } catch (ExecutionException e) {
+            // Race 只会正常完成
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private AiProviderStats statsOf(AiProvider provider) {
+        return stats.computeIfAbsent(provider.getName(), name -> new AiProviderStats());
+    }
+
+    /**
+     * 根据提供方的历史耗时计算对冲延迟
+     */
+    private long hedgeDelayMillis(AiProvider provider) {
+        long percentile = statsOf(provider).latencyPercentile(HEDGE_PERCENTILE, HEDGE_MIN_SAMPLES);
+        if (percentile < 0) {
+            return DEFAULT_HEDGE_DELAY_MILLIS;
+        }
+        return Math.max(MIN_HEDGE_DELAY_MILLIS, Math.min(percentile, MAX_HEDGE_DELAY_MILLIS));
+    }
+
+    private CompletableFuture<String> request(AiProvider provider, String question) {
+        if (stream) {
+            return ApiUtil.askAIStreamAsync(provider.getApiKey(), provider.getRequestUrl(), provider.getModel(), provider.getRequestParams(), question, AiAnswerRacer::containsOptionLetter);
+        }
+        return ApiUtil.askAIAsync(provider.getApiKey(), provider.getRequestUrl(), provider.getModel(), provider.getRequestParams(), question);
+    }
+
+    /**
+     * 一次提问的竞速过程，所有状态变化都在 Race 的锁内完成
+     */
+    private class Race {
+        final CompletableFuture<Result> result = new CompletableFuture<>();
+        final String question;
+        final List<String> availableOptionLetters;
+        final List<CompletableFuture<String>> calls = new ArrayList<>();
+        final Map<String, String> answers = new LinkedHashMap<>(); // 提供方名称 -> 选项字母，按返回顺序
+        final List<String> errors = new ArrayList<>();
+        final long startNanos = System.nanoTime();
+        TimerWheel.Timeout hedgeTimer;
+        int started = 0;
+        int finished = 0;
+
+        Race(String question, List<String> availableOptionLetters) {
+            this.question = question;
+            this.availableOptionLetters = availableOptionLetters;
+        }
+
+        synchronized void start() {
+            if (providers.isEmpty()) {
+                finish(null, null);
+                return;
+            }
+            if (majorityVote) {
+                while (started < providers.size()) {
+                    startNext();
+                }
+            } else {
+                startNext();
+            }
+        }
+
+        synchronized void startNext() {
+            if (result.isDone() || started >= providers.size()) {
+                return;
+            }
+            AiProvider provider = providers.get(started++);
+            long callStartNanos = System.nanoTime();
+            CompletableFuture<String> call = request(provider, question);
+            calls.add(call);
+            call.whenComplete((text, throwable) -> onComplete(provider, callStartNanos, text, throwable));
+
+            // 请求可能已同步完成（例如参数错误），此时不再安排对冲
+            if (!majorityVote && !result.isDone() && started < providers.size()) {
+                hedgeTimer = TimerWheel.getShared().schedule(this::startNext, hedgeDelayMillis(provider), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        synchronized void onComplete(AiProvider provider, long callStartNanos, String text, Throwable throwable) {
+            if (throwable instanceof CancellationException) {
+                return;
+            }
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - callStartNanos);
+            String letter = throwable == null ? extractOptionLetter(text, availableOptionLetters) : null;
+            statsOf(provider).recordCall(latencyMillis, letter != null);
+            finished++;
+            if (letter != null) {
+                answers.put(provider.getName(), letter);
+            } else {
+                errors.add(provider.getName() + ": " + (throwable != null ? throwable.getMessage() : "回答无效 " + text));
+            }
+            if (result.isDone()) {
+                return;
+            }
+
+            if (majorityVote) {
+                if (letter != null && Collections.frequency(answers.values(), letter) * 2 > providers.size()) {
+                    finish(letter, provider.getName());
+                } else if (finished == providers.size()) {
+                    finishByVote();
+                }
+                return;
+            }
+
+            if (letter != null) {
+                finish(letter, provider.getName());
+                return;
+            }
+            // 失败或答案无效，不再等待对冲延迟，直接请求下一个
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel();
+            }
+            startNext();
+            if (finished == started && started == providers.size()) {
+                finish(null, null);
+            }
+        }
+
+        void finishByVote() {
+            String best = null;
+            int bestVotes = 0;
+            for (String letter : answers.values()) {
+                int votes = Collections.frequency(answers.values(), letter);
+                // 票数相同时取先返回的
+                if (votes > bestVotes) {
+                    best = letter;
+                    bestVotes = votes;
+                }
+            }
+            String winner = null;
+            for (Map.Entry<String, String> entry : answers.entrySet()) {
+                if (entry.getValue().equals(best)) {
+                    winner = entry.getKey();
+                    break;
+                }
+            }
+            finish(best, winner);
+        }
+
+        void finish(String letter, String winner) {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            result.complete(new Result(letter, winner, elapsedMillis, new LinkedHashMap<>(answers), new ArrayList<>(errors)));
+            cancel();
+        }
+
+        synchronized void cancel() {
+            if (hedgeTimer != null) {
+                hedgeTimer.cancel();
+            }
+            for (CompletableFuture<String> call : calls) {
+                call.cancel(true);
+            }
+            if (!result.isDone()) {
+                result.complete(new Result(null, null, 0, new LinkedHashMap<>(answers), new ArrayList<>(errors)));
+            }
+        }
+    }
+
+    /**
+     * 竞速结果
+     */
+    public static class Result {
+        private final String letter;
+        private final String winner;
+        private final long elapsedMillis;
+        private final Map<String, String> answers;
+        private final List<String> errors;
+
+        Result(String letter, String winner, long elapsedMillis, Map<String, String> answers, List<String> errors) {
+            this.letter = letter;
+            this.winner = winner;
+            this.elapsedMillis = elapsedMillis;
+            this.answers = answers;
+            this.errors = errors;
+        }
+
+        /**
+         * 最终选项字母，没有有效答案时为 null
+         */
+        @Nullable
+        public String getLetter() {
+            return letter;
+        }
+
+        /**
+         * 获胜（或投票中最先给出该答案）的提供方名称
+         */
+        @Nullable
+        public String getWinner() {
+            return winner;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * 各提供方给出的有效答案，提交后据此记录正确率
+         */
+        @NonNull
+        public Map<String, String> getAnswers() {
+            return answers;
+        }
+
+        /**
+         * 失败或答案无效的提供方及原因
+         */
+        @NonNull
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+}
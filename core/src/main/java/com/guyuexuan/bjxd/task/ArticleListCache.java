@@ -0,0 +1,93 @@
+package com.guyuexuan.bjxd.task;
+
+import androidx.annotation.NonNull;
+
+import com.guyuexuan.bjxd.model.ArticleList;
+import com.guyuexuan.bjxd.util.ApiUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 单次任务内共用的文章列表缓存
+ * <p>
+ * 同一时间所有账号拿到的文章列表基本相同，只由第一个需要的账号请求一次，
+ * 其他账号在有效期内直接使用缓存；并发请求时只有一个线程实际发出请求，其余等待结果。
+ * 浏览文章失败时可调用 invalidate 让下一个账号重新获取。空列表不缓存。
+ * </p>
+ */
+public class ArticleListCache {
+    // 默认有效期 10 分钟
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Loader loader;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private List<String> hids = null;
+    private long loadedAtNanos = 0;
+
+    public ArticleListCache() {
+        this(ApiUtil::getArticleList, DEFAULT_TTL_MILLIS, System::nanoTime);
+    }
+
+    ArticleListCache(Loader loader, long ttlMillis, LongSupplier nanoClock) {
+        this.loader = loader;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 获取文章 hid 列表，缓存失效时使用当前账号的 token 重新请求
+     *
+     * @param token 当前账号的 token
+     * @return 只读的文章 hid 列表
+     * @throws IOException 请求失败
+     */
+    @NonNull
+    public synchronized List<String> get(String token) throws IOException {
+        if (hids == null || nanoClock.getAsLong() - loadedAtNanos >= ttlNanos) {
+            List<String> loaded = loader.load(token).getHids();
+            if (loaded.isEmpty()) {
+                hids = null;
+                return Collections.emptyList();
+            }
+            hids = Collections.unmodifiableList(new ArrayList<>(loaded));
+            loadedAtNanos = nanoClock.getAsLong();
+        }
+        return hids;
+    }
+
+    /**
+     * 从文章列表中随机选取若干篇，每次调用的顺序各不相同
+     *
+     * @param token 当前账号的 token
+     * @param count 需要的文章数，列表不足时全部返回
+     * @return 打乱顺序后的文章 hid
+     * @throws IOException 请求失败
+     */
+    @NonNull
+    public List<String> pick(String token, int count) throws IOException {
+        List<String> articleHids = new ArrayList<>(get(token));
+        Collections.shuffle(articleHids);
+        return new ArrayList<>(articleHids.subList(0, Math.min(count, articleHids.size())));
+    }
+
+    /**
+     * 使缓存失效，下次 get 时重新请求
+     */
+    public synchronized void invalidate() {
+        hids = null;
+    }
+
+    /**
+     * 文章列表加载器
+     */
+    @FunctionalInterface
+    interface Loader {
+        ArticleList load(String token) throws IOException;
+    }
+}
@@ -0,0 +1,98 @@
+package com.guyuexuan.bjxd.task;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 有并发上限的批量异步请求
+ * <p>
+ * 同时进行的请求不超过 parallelism 个，一个请求结束后再发出下一个，不占用额外线程。
+ * 单个请求的失败记录在对应的结果中，返回的 Future 总是正常完成。
+ * </p>
+ */
+final class ParallelFetch {
+    private ParallelFetch() {
+    }
+
+    /**
+     * @param inputs      请求参数
+     * @param parallelism 同时进行的请求数上限
+     * @param fetch       发出一个异步请求
+     * @return 全部结束后完成，结果与 inputs 顺序一致
+     */
+    @NonNull
+    static <T, R> CompletableFuture<List<Outcome<R>>> fetchAll(List<T> inputs, int parallelism, Function<T, CompletableFuture<R>> fetch) {
+        int size = inputs.size();
+        @SuppressWarnings("unchecked")
+        Outcome<R>[] outcomes = new Outcome[size];
+        CompletableFuture<List<Outcome<R>>> result = new CompletableFuture<>();
+        if (size == 0) {
+            result.complete(new ArrayList<>());
+            return result;
+        }
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(size);
+        // 待发出的请求数；已经完成的 Future 会在 whenComplete 中同步回调，
+        // 由正在发出请求的一方循环处理，避免逐层递归导致栈溢出
+        AtomicInteger launches = new AtomicInteger();
+        Runnable[] fetchNext = new Runnable[1];
+        fetchNext[0] = () -> {
+            if (launches.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                int index = next.getAndIncrement();
+                if (index >= size) {
+                    continue;
+                }
+                CompletableFuture<R> future;
+                try {
+                    future = fetch.apply(inputs.get(index));
+                } catch (RuntimeException e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+                future.whenComplete((value, error) -> {
+                    outcomes[index] = new Outcome<>(value, unwrap(error));
+                    if (remaining.decrementAndGet() == 0) {
+                        result.complete(new ArrayList<>(Arrays.asList(outcomes)));
+                    } else {
+                        fetchNext[0].run();
+                    }
+                });
+            } while (launches.decrementAndGet() != 0);
+        };
+        for (int i = 0; i < Math.min(Math.max(1, parallelism), size); i++) {
+            fetchNext[0].run();
+        }
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * 单个请求的结果
+     */
+    static final class Outcome<R> {
+        final R value;
+        final Throwable error; // 成功时为 null
+
+        Outcome(R value, Throwable error) {
+            this.value = value;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.guyuexuan.bjxd.task;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.guyuexuan.bjxd.model.TaskStatus;
+import com.guyuexuan.bjxd.model.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 执行计划：需要执行的账号（按执行顺序）、跳过的账号及原因、预计耗时
+ */
+public class RunPlan {
+    private final List<Entry> accounts;
+    private final List<Entry> skipped;
+    private final long estimatedMillis;
+
+    RunPlan(List<Entry> accounts, List<Entry> skipped, long estimatedMillis) {
+        this.accounts = Collections.unmodifiableList(new ArrayList<>(accounts));
+        this.skipped = Collections.unmodifiableList(new ArrayList<>(skipped));
+        this.estimatedMillis = estimatedMillis;
+    }
+
+    /**
+     * 需要执行的账号，按执行顺序排列
+     */
+    @NonNull
+    public List<Entry> getAccounts() {
+        return accounts;
+    }
+
+    /**
+     * 不需要执行的账号，按账号序号排列
+     */
+    @NonNull
+    public List<Entry> getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * 按并发数估算的执行耗时（不含积分详情）
+     */
+    public long getEstimatedMillis() {
+        return estimatedMillis;
+    }
+
+    /**
+     * 是否有账号需要答题（状态未知的账号也算）
+     */
+    public boolean needsQuestion() {
+        for (Entry entry : accounts) {
+            if (entry.status == null || !entry.status.isQuestionCompleted()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 计划中的一个账号
+     */
+    public static class Entry {
+        final User user;
+        final int number;
+        final TaskStatus status;
+        final String reason;
+        final long estimatedMillis;
+
+        Entry(User user, int number, @Nullable TaskStatus status, @Nullable String reason, long estimatedMillis) {
+            this.user = user;
+            this.number = number;
+            this.status = status;
+            this.reason = reason;
+            this.estimatedMillis = estimatedMillis;
+        }
+
+        @NonNull
+        public User getUser() {
+            return user;
+        }
+
+        /**
+         * 账号序号，从 1 开始，与账号列表中的顺序一致
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * 预扫描得到的任务状态（已合并检查点），获取失败时为 null，执行时重新获取
+         */
+        @Nullable
+        public TaskStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * 跳过的原因，需要执行的账号为 null
+         */
+        @Nullable
+        public String getReason() {
+            return reason;
+        }
+
+        /**
+         * 该账号预计的执行耗时
+         */
+        public long getEstimatedMillis() {
+            return estimatedMillis;
+        }
+
+        /**
+         * 待执行的任务名称，例如 "答题 签到"
+         */
+        @NonNull
+        public String describeTasks() {
+            if (status == null) {
+                return "状态未知，执行时重新获取";
+            }
+            StringBuilder sb = new StringBuilder();
+            if (!status.isQuestionCompleted()) {
+                sb.append("答题 ");
+            }
+            if (!status.isSignCompleted()) {
+                sb.append("签到 ");
+            }
+            if (!status.isViewCompleted()) {
+                sb.append("浏览文章 ");
+            }
+            return sb.toString().trim();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.guyuexuan.bjxd.task;
+
+import androidx.annotation.NonNull;
+
+import com.guyuexuan.bjxd.model.TaskStatus;
+import com.guyuexuan.bjxd.model.User;
+import com.guyuexuan.bjxd.util.ApiException;
+import com.guyuexuan.bjxd.util.ApiUtil;
+import com.guyuexuan.bjxd.util.DailyCheckpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 执行计划：开始执行前并行获取所有账号的任务状态，只把还有任务的账号放入计划
+ * <p>
+ * 检查点显示今日已完成的账号不发请求，其余账号最多同时 {@code parallelism} 个请求
+ * （接口层的限流仍然生效）。全部任务已完成或 Token 过期的账号直接跳过，不占用账号间隔；
+ * 需要执行的账号按预计耗时从长到短排列，多个工作线程时尽量同时结束。
+ * 状态获取失败（网络等）的账号仍放入计划，执行时重新获取。
+ * </p>
+ */
+public class RunPlanner {
+    // 同时进行的状态请求数
+    public static final int DEFAULT_PARALLELISM = 4;
+    // 以下估算与 TaskEngine 中的请求间隔一致，取随机间隔的平均值
+    static final long QUESTION_MILLIS = 15_000; // 请求题目、得出答案、提交，之后等待 5-10 秒
+    static final long SIGN_MILLIS = 4 * 9_000 + 3_500 + 7_500; // 5 次获取签到信息，间隔 8-10 秒，提交前 3-4 秒，之后 5-10 秒
+    static final long VIEW_MILLIS = 3 * 13_000 + 7_500; // 3 篇文章各 10-15 秒，之后 5-10 秒
+    static final long ACCOUNT_GAP_MILLIS = 7_500; // 同一工作线程两个账号之间 5-10 秒
+    static final long WORKER_STAGGER_MILLIS = 3_500; // 各工作线程错开启动 2-5 秒
+
+    private final List<User> users;
+    private final DailyCheckpoint checkpoint;
+    private final int concurrency;
+    private final StatusFetcher fetcher;
+    private final int parallelism;
+
+    /**
+     * @param users       账号列表
+     * @param checkpoint  当天的任务检查点
+     * @param concurrency 执行任务的工作线程数，用于估算耗时
+     */
+    public RunPlanner(List<User> users, DailyCheckpoint checkpoint, int concurrency) {
+        this(users, checkpoint, concurrency, ApiUtil::getTaskStatusAsync, DEFAULT_PARALLELISM);
+    }
+
+    RunPlanner(List<User> users, DailyCheckpoint checkpoint, int concurrency, StatusFetcher fetcher, int parallelism) {
+        this.users = users;
+        this.checkpoint = checkpoint;
+        this.concurrency = Math.max(1, concurrency);
+        this.fetcher = fetcher;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 开始获取任务状态，全部返回后生成计划；单个账号的失败不会让结果异常完成
+     */
+    @NonNull
+    public CompletableFuture<RunPlan> plan() {
+        List<User> toFetch = new ArrayList<>();
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            if (!checkpoint.isAccountDone(users.get(i).getPhone())) {
+                toFetch.add(users.get(i));
+                numbers.add(i + 1);
+            }
+        }
+
+        return ParallelFetch.fetchAll(toFetch, parallelism, (User user) -> fetcher.fetch(user.getToken()))
+                .thenApply(outcomes -> build(numbers, outcomes));
+    }
+
+    private RunPlan build(List<Integer> numbers, List<ParallelFetch.Outcome<TaskStatus>> outcomes) {
+        List<RunPlan.Entry> accounts = new ArrayList<>();
+        List<RunPlan.Entry> skipped = new ArrayList<>();
+        int fetchedIndex = 0;
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (fetchedIndex >= numbers.size() || numbers.get(fetchedIndex) != i + 1) {
+                skipped.add(new RunPlan.Entry(user, i + 1, null, "今日任务已完成（检查点）", 0));
+                continue;
+            }
+            TaskStatus status = outcomes.get(fetchedIndex).value;
+            Throwable error = outcomes.get(fetchedIndex).error;
+            fetchedIndex++;
+
+            if (error instanceof ApiException && ((ApiException) error).isAccountFatal()) {
+                skipped.add(new RunPlan.Entry(user, i + 1, null, error.getMessage(), 0));
+            } else if (status == null) {
+                accounts.add(new RunPlan.Entry(user, i + 1, null, null, estimate(null)));
+            } else {
+                checkpoint.merge(user.getPhone(), status);
+                if (status.isAllCompleted()) {
+                    skipped.add(new RunPlan.Entry(user, i + 1, status, "今日任务已完成", 0));
+                } else {
+                    accounts.add(new RunPlan.Entry(user, i + 1, status, null, estimate(status)));
+                }
+            }
+        }
+        // 耗时长的先执行（稳定排序，耗时相同时保持账号顺序）
+        accounts.sort((a, b) -> Long.compare(b.estimatedMillis, a.estimatedMillis));
+        return new RunPlan(accounts, skipped, estimateTotal(accounts));
+    }
+
+    /**
+     * 单个账号的预计耗时，状态未知时按全部任务未完成估算
+     */
+    static long estimate(TaskStatus status) {
+        long millis = 0;
+        if (status == null || !status.isQuestionCompleted()) {
+            millis += QUESTION_MILLIS;
+        }
+        if (status == null || !status.isSignCompleted()) {
+            millis += SIGN_MILLIS;
+        }
+        if (status == null || !status.isViewCompleted()) {
+            millis += VIEW_MILLIS;
+        }
+        return millis;
+    }
+
+    /**
+     * 模拟工作线程按顺序领取账号，返回最后一个工作线程结束的时间
+     */
+    private long estimateTotal(List<RunPlan.Entry> accounts) {
+        int workers = Math.min(concurrency, accounts.size());
+        if (workers == 0) {
+            return 0;
+        }
+        long[] finish = new long[workers];
+        boolean[] started = new boolean[workers];
+        for (int w = 0; w < workers; w++) {
+            finish[w] = w * WORKER_STAGGER_MILLIS;
+        }
+        for (RunPlan.Entry entry : accounts) {
+            int worker = 0;
+            for (int w = 1; w < workers; w++) {
+                if (finish[w] < finish[worker]) {
+                    worker = w;
+                }
+            }
+            finish[worker] += (started[worker] ? ACCOUNT_GAP_MILLIS : 0) + entry.estimatedMillis;
+            started[worker] = true;
+        }
+        long total = 0;
+        for (long millis : finish) {
+            total = Math.max(total, millis);
+        }
+        return total;
+    }
+
+    /**
+     * 获取任务状态
+     */
+    interface StatusFetcher {
+        CompletableFuture<TaskStatus> fetch(String token);
+    }
+}
@@ -0,0 +1,215 @@
+package com.guyuexuan.bjxd.task;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.guyuexuan.bjxd.model.JournalEntry;
+import com.guyuexuan.bjxd.model.ScoreInfo;
+import com.guyuexuan.bjxd.model.User;
+import com.guyuexuan.bjxd.util.ApiUtil;
+import com.guyuexuan.bjxd.util.DailyCheckpoint;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 积分详情汇总表
+ * <p>
+ * 所有账号的积分并行获取（同时最多 {@code parallelism} 个请求，接口层的限流仍然生效），
+ * 填入每个账号一行的结果表，全部返回后一次性输出，积分阶段只需大约一次请求的时间。
+ * 今日任务和积分详情都已在检查点中完成的账号直接使用记录的积分，不再请求。
+ * </p>
+ */
+public class ScoreTable {
+    // 同时进行的积分请求数
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private final List<Row> rows;
+
+    private ScoreTable(List<Row> rows) {
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * 开始获取所有账号的积分，全部返回后完成；单个账号的失败记录在对应行中
+     *
+     * @param users      账号列表
+     * @param checkpoint 当天的任务检查点
+     */
+    @NonNull
+    public static CompletableFuture<ScoreTable> collect(List<User> users, DailyCheckpoint checkpoint) {
+        String today = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).format(new Date());
+        return collect(users, checkpoint, ApiUtil::getScoreAsync, DEFAULT_PARALLELISM, today);
+    }
+
+    static CompletableFuture<ScoreTable> collect(List<User> users, DailyCheckpoint checkpoint, ScoreFetcher fetcher, int parallelism, String today) {
+        Row[] rows = new Row[users.size()];
+        List<Integer> toFetch = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            JournalEntry recorded = checkpoint.isAccountDone(user.getPhone()) && checkpoint.isDone(user.getPhone(), JournalEntry.TASK_SCORE)
+                    ? checkpoint.getScore(user.getPhone()) : null;
+            if (recorded != null) {
+                rows[i] = new Row(user, i + 1, recorded.getTotal(), recorded.getPoints(), Collections.emptyList(), recorded.getTime(), null);
+            } else {
+                toFetch.add(i);
+            }
+        }
+        return ParallelFetch.fetchAll(toFetch, parallelism, (Integer index) -> fetcher.fetch(users.get(index).getToken()))
+                .thenApply(outcomes -> {
+                    for (int i = 0; i < toFetch.size(); i++) {
+                        int index = toFetch.get(i);
+                        ParallelFetch.Outcome<ScoreInfo> outcome = outcomes.get(i);
+                        rows[index] = outcome.error != null || outcome.value == null
+                                ? Row.failed(users.get(index), index + 1, outcome.error != null ? outcome.error.getMessage() : "响应为空")
+                                : Row.of(users.get(index), index + 1, outcome.value, today);
+                    }
+                    List<Row> list = new ArrayList<>(rows.length);
+                    Collections.addAll(list, rows);
+                    return new ScoreTable(list);
+                });
+    }
+
+    /**
+     * 按账号顺序排列的结果
+     */
+    @NonNull
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    /**
+     * 渲染为一段文本：汇总表 + 各账号今日积分记录
+     */
+    @NonNull
+    public String render() {
+        StringBuilder sb = new StringBuilder("============ 积分详情 ============\n");
+        sb.append(String.format(Locale.getDefault(), "%-4s %-11s %8s %6s\n", "序号", "手机号", "总积分", "今日"));
+        int total = 0;
+        int todayTotal = 0;
+        int failed = 0;
+        for (Row row : rows) {
+            if (row.error != null) {
+                failed++;
+                sb.append(String.format(Locale.getDefault(), "%-4d %-11s 获取失败: %s\n", row.number, row.user.getMaskedPhone(), row.error));
+                continue;
+            }
+            total += row.total;
+            todayTotal += row.todayDelta;
+            sb.append(String.format(Locale.getDefault(), "%-4d %-11s %8d %+6d%s\n", row.number, row.user.getMaskedPhone(), row.total, row.todayDelta,
+                    row.recordedAt > 0 ? new SimpleDateFormat(" (HH:mm 记录)", Locale.getDefault()).format(new Date(row.recordedAt)) : ""));
+        }
+        sb.append(String.format(Locale.getDefault(), "%-4s %-11s %8d %+6d", "合计", "", total, todayTotal));
+        if (failed > 0) {
+            sb.append(String.format(Locale.getDefault(), "\n%d 个账号获取失败", failed));
+        }
+
+        for (Row row : rows) {
+            if (row.records.isEmpty()) {
+                continue;
+            }
+            sb.append(String.format(Locale.getDefault(), "\n\n第 %d 个账号 %s 今日积分记录：", row.number, row.user.getNickname()));
+            for (ScoreInfo.Record record : row.records) {
+                sb.append(String.format("\n%s %s %s", record.getCreatedAt(), record.getDesc(), record.getScoreStr()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 一个账号的积分
+     */
+    public static class Row {
+        final User user;
+        final int number;
+        final int total;
+        final int todayDelta;
+        final List<ScoreInfo.Record> records;
+        final long recordedAt; // 使用检查点中记录的积分时为记录时间，否则为 0
+        final String error;
+
+        Row(User user, int number, int total, int todayDelta, List<ScoreInfo.Record> records, long recordedAt, @Nullable String error) {
+            this.user = user;
+            this.number = number;
+            this.total = total;
+            this.todayDelta = todayDelta;
+            this.records = records;
+            this.recordedAt = recordedAt;
+            this.error = error;
+        }
+
+        static Row failed(User user, int number, String error) {
+            return new Row(user, number, 0, 0, Collections.emptyList(), 0, error);
+        }
+
+        /**
+         * 从积分接口的结果中筛选今日记录并计算今日积分变动
+         *
+         * @param today 今日日期，格式 yyyy-MM-dd，与记录的 created_at 前缀一致
+         */
+        static Row of(User user, int number, ScoreInfo info, String today) {
+            List<ScoreInfo.Record> todayRecords = new ArrayList<>();
+            int todayDelta = 0;
+            for (ScoreInfo.Record record : info.getRecords()) {
+                if (record.getCreatedAt().startsWith(today)) {
+                    todayRecords.add(record);
+                    try {
+                        todayDelta += Integer.parseInt(record.getScoreStr().replace("+", "").trim());
+                    } catch (NumberFormatException e) {
+                        return failed(user, number, "积分记录格式错误: " + record.getScoreStr());
+                    }
+                }
+            }
+            return new Row(user, number, info.getScore(), todayDelta, todayRecords, 0, null);
+        }
+
+        @NonNull
+        public User getUser() {
+            return user;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getTodayDelta() {
+            return todayDelta;
+        }
+
+        @NonNull
+        public List<ScoreInfo.Record> getRecords() {
+            return records;
+        }
+
+        /**
+         * 是否是本次请求得到的积分（而不是检查点中记录的）
+         */
+        public boolean isFetched() {
+            return error == null && recordedAt == 0;
+        }
+
+        /**
+         * 获取失败的原因，成功时为 null
+         */
+        @Nullable
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * 获取积分
+     */
+    interface ScoreFetcher {
+        CompletableFuture<ScoreInfo> fetch(String token);
+    }
+}
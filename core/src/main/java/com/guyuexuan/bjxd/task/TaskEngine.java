@@ -0,0 +1,1285 @@
+package com.guyuexuan.bjxd.task;
+
+import com.guyuexuan.bjxd.model.AiProvider;
+import com.guyuexuan.bjxd.model.AiProviderStats;
+import com.guyuexuan.bjxd.model.AnswerResult;
+import com.guyuexuan.bjxd.model.ArticleScore;
+import com.guyuexuan.bjxd.model.DailyAnswer;
+import com.guyuexuan.bjxd.model.JournalEntry;
+import com.guyuexuan.bjxd.model.QuestionInfo;
+import com.guyuexuan.bjxd.model.SignInfo;
+import com.guyuexuan.bjxd.model.TaskStatus;
+import com.guyuexuan.bjxd.model.User;
+import com.guyuexuan.bjxd.util.AiAnswerCache;
+import com.guyuexuan.bjxd.util.ApiException;
+import com.guyuexuan.bjxd.util.ApiUtil;
+import com.guyuexuan.bjxd.util.CircuitBreaker;
+import com.guyuexuan.bjxd.util.DailyCheckpoint;
+import com.guyuexuan.bjxd.util.RunJournal;
+import com.guyuexuan.bjxd.util.TaskStorage;
+import com.guyuexuan.bjxd.util.TimerWheel;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.ref.WeakReference;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 多账号任务执行引擎
+ * <p>
+ * 开始前并行获取所有账号的任务状态并制定执行计划（RunPlanner），没有任务的账号直接跳过。
+ * 计划中的账号分配到固定大小的工作线程池中并发执行，每个工作线程依次领取下一个未执行的账号。
+ * 单个账号内部仍按 答题 → 签到 → 浏览文章 的顺序执行，并保留原有的请求间隔；
+ * 同一工作线程的两个账号之间等待 5-10 秒，各工作线程的首个账号错开启动。
+ * 每日答题的已知正确、错误选项持久化保存，同一天再次运行时不再调用 AI 或弹窗。
+ * 配置了多个 AI 提供方时由 AiAnswerRacer 竞速（或投票）得出答案，并记录各提供方的延迟和正确率。
+ * 任务开始时用第一个有效账号预取当天题目，在后台得出答案（手动答题或 AI），
+ * 其他账号签到、浏览文章的同时答案已在准备，轮到答题时通常可以直接使用。
+ * 服务器不可用导致熔断时，各工作线程暂停到熔断结束，因此失败的账号会重新执行一次。
+ * 各请求间隔在共用的时间轮上计时，不另开定时线程，停止任务时所有等待立即结束；
+ * 等待期间工作线程仍处于阻塞状态，同时占用的线程数由并发数决定，不随账号数增长。
+ * 运行开始、各任务结果、积分和错误写入运行日志（RunJournal），每个账号结束时落盘。
+ * 每项任务完成后立即写入当天的检查点，中断后再次运行时已完成的账号直接跳过，不发起请求也不等待。
+ * 所有账号执行完毕后，并行获取所有账号的积分，汇总成一张表一次性输出。
+ */
+public class TaskEngine extends Thread {
+    // 备用分享用户ID列表
+    private static final String[] BACKUP_HIDS = {"a6688ec1a9ee429fa7b68d50e0c92b1f", "bb8cd2e44c7b45eeb8cc5f7fa71c3322", "5f640c50061b400c91be326c8fe0accd", "55a5d82dacd9417483ae369de9d9b82d"};
+    // 熔断器连续打开多少次（服务器持续不可用）时终止任务
+    private static final int MAX_CIRCUIT_TRIPS = 3;
+
+    private final List<User> users;
+    private final TaskStorage storage;
+    private final Consumer<String> logger;
+    private final Runnable onComplete;
+    private final WeakReference<ManualAnswerProvider> answerProviderRef;
+    private final int concurrency;
+    private final AtomicInteger nextUserIndex = new AtomicInteger(); // 下一个待领取的计划下标
+    // 答题相关状态在账号间共享，答题步骤需串行执行，后面的账号才能用上前面账号得到的答案
+    private final ReentrantLock questionLock = new ReentrantLock();
+    // 文章列表在本次任务的所有账号间共用
+    private final ArticleListCache articleListCache = new ArticleListCache();
+    private final List<String> wrongAnswers = new ArrayList<>(); // 错误答案列表
+    private String historicalCorrectAnswer = null; // 历史正确答案
+    private final AiAnswerCache aiAnswerCache; // AI 答案缓存，可为 null
+    private String aiAnswerKey = null; // 当前题目使用了 AI 答案时的缓存键，答错时删除该缓存
+    private Map<String, String> aiProviderAnswers = null; // 当前题目各 AI 提供方给出的答案，提交后记录正确率
+    private final Map<String, AiProviderStats> aiProviderStats; // 各 AI 提供方的延迟和正确率
+    private volatile boolean aiProviderStatsUsed = false; // 本次任务是否调用过 AI
+    // 预取的题目答案，预取失败或没有需要回答的题目时结果为 null
+    private final CompletableFuture<PrefetchedAnswer> prefetchedAnswer = new CompletableFuture<>();
+    private volatile Thread prefetchThread;
+    private final Set<CompletableFuture<Void>> pendingDelays = ConcurrentHashMap.newKeySet(); // 等待中的请求间隔
+    private final RunJournal journal; // 运行日志，可为 null
+    private final String runId = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.getDefault()).format(new Date());
+    private DailyCheckpoint checkpoint; // 当天的任务检查点，run() 开始时读取
+    private volatile boolean running = true;
+    private volatile boolean completed = false; // 是否正常执行完所有步骤，与运行日志 run_end 中的记录一致
+    private volatile ExecutorService executor;
+    private volatile double pauseScale = 1.0; // 请求间隔的缩放比例，对模拟服务器运行时缩短等待
+    private volatile AccountListener accountListener; // 账号执行结束的回调，可为 null
+
+    /**
+     * @param users          待执行的账号列表
+     * @param storage        配置和答题记录存储
+     * @param logger         日志输出
+     * @param onComplete     任务结束回调
+     * @param answerProvider 手动答题弹窗，仅保留弱引用
+     * @param concurrency    同时执行的账号数
+     * @param aiAnswerCache  AI 答案缓存，为 null 时不缓存
+     * @param journal        运行日志，为 null 时不记录；任务结束时关闭
+     */
+    public TaskEngine(List<User> users, TaskStorage storage, Consumer<String> logger, Runnable onComplete, ManualAnswerProvider answerProvider, int concurrency, AiAnswerCache aiAnswerCache, RunJournal journal) {
+        this.users = users;
+        this.storage = storage;
+        this.logger = logger;
+        this.onComplete = onComplete;
+        this.answerProviderRef = new WeakReference<>(answerProvider);
+        this.concurrency = Math.max(1, Math.min(concurrency, users.size()));
+        this.aiAnswerCache = aiAnswerCache;
+        this.journal = journal;
+        this.aiProviderStats = new ConcurrentHashMap<>(storage.getAiProviderStats());
+    }
+
+    @Override
+    public void run() {
+        try {
+            checkpoint = DailyCheckpoint.loadToday(journal, runId);
+            if (journal != null) {
+                logLastRun();
+                journal.append(JournalEntry.runStart(runId, users.size()));
+                journal.checkpoint();
+            }
+
+            // 设置分享用户ID
+            logger.accept("\nRUN: 设置分享用户ID");
+            setupShareUserHids();
+
+            logger.accept("\nRUN: 获取任务状态, 制定执行计划");
+            RunPlan plan = await(new RunPlanner(users, checkpoint, concurrency).plan());
+            logPlan(plan);
+
+            if (plan.needsQuestion()) {
+                logger.accept("\nRUN: 后台预取今日题目");
+                startQuestionPrefetch();
+            } else {
+                prefetchedAnswer.complete(null);
+            }
+
+            List<RunPlan.Entry> accounts = plan.getAccounts();
+            int workers = Math.min(concurrency, accounts.size());
+            if (workers > 0) {
+                logger.accept(String.format(Locale.getDefault(), "\nRUN: 执行任务, 共 %d 个账号, 并发数 %d", accounts.size(), workers));
+                runAccounts(accounts, workers);
+            }
+            if (aiAnswerCache != null && aiAnswerCache.getHitCount() + aiAnswerCache.getMissCount() > 0) {
+                logger.accept(String.format(Locale.getDefault(), "\nAI 答案缓存: 命中 %d 次, 未命中 %d 次", aiAnswerCache.getHitCount(), aiAnswerCache.getMissCount()));
+            }
+            logAiProviderStats();
+            checkShouldStop();
+
+            logger.accept(String.format(Locale.getDefault(), "\nRUN: 积分详情, 共 %d 个账号", users.size()));
+            ScoreTable scores = await(ScoreTable.collect(users, checkpoint));
+            for (ScoreTable.Row row : scores.getRows()) {
+                if (row.isFetched()) {
+                    journal(JournalEntry.score(runId, row.getUser().getPhone(), row.getTotal(), row.getTodayDelta()));
+                    checkpoint.markDone(row.getUser().getPhone(), JournalEntry.TASK_SCORE);
+                }
+            }
+            logger.accept("\n" + scores.render());
+            completed = true;
+
+            onComplete.run();
+        } catch (InterruptedException e) {
+            logger.accept("🚨 任务被中断: " + e.getMessage());
+        } catch (ApiException e) {
+            logger.accept("🚨 任务出错: " + e.getMessage());
+        } finally {
+            logger.accept("🚨 任务已停止");
+            stopTask();
+            if (aiAnswerCache != null) {
+                aiAnswerCache.close();
+            }
+            if (journal != null) {
+                journal.append(JournalEntry.runEnd(runId, completed));
+                journal.close();
+            }
+            onComplete.run();
+        }
+    }
+
+    /**
+     * 输出上次运行的汇总
+     */
+    private void logLastRun() {
+        List<RunJournal.RunSummary> runs = journal.summarizeRuns(1);
+        if (runs.isEmpty()) {
+            return;
+        }
+        RunJournal.RunSummary last = runs.get(0);
+        String start = new SimpleDateFormat("MM-dd HH:mm", Locale.getDefault()).format(new Date(last.getStartTime()));
+        logger.accept(String.format(Locale.getDefault(), "上次运行: %s, %d 个账号, 完成 %d 项任务, 失败 %d 项, 积分 +%d%s",
+                start, last.getAccounts(), last.getTasksDone(), last.getTasksFailed(), last.getPoints(),
+                last.isCompleted() ? "" : ", 未正常结束"));
+    }
+
+    /**
+     * 等待执行计划、积分汇总等异步结果，期间任务被停止时立即返回
+     *
+     * @throws ApiException 异步任务失败；非接口异常按响应格式错误处理，与接口错误走同一条错误处理路径
+     */
+    private <T> T await(CompletableFuture<T> future) throws InterruptedException, ApiException {
+        while (true) {
+            checkShouldStop();
+            try {
+                return future.get(200, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 继续等待
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw ApiException.transport((IOException) cause);
+                }
+                throw ApiException.malformed(cause);
+            }
+        }
+    }
+
+    /**
+     * 输出执行计划
+     */
+    private void logPlan(RunPlan plan) {
+        long seconds = (plan.getEstimatedMillis() + 999) / 1000;
+        logger.accept(String.format(Locale.getDefault(), "执行计划: 需执行 %d 个账号, 跳过 %d 个, 预计 %d 分 %d 秒",
+                plan.getAccounts().size(), plan.getSkipped().size(), seconds / 60, seconds % 60));
+        for (RunPlan.Entry entry : plan.getAccounts()) {
+            logger.accept(String.format(Locale.getDefault(), "  ▷ 第 %d 个账号 %s: %s", entry.getNumber(), entry.getUser().getMaskedPhone(), entry.describeTasks()));
+        }
+        for (RunPlan.Entry entry : plan.getSkipped()) {
+            logger.accept(String.format(Locale.getDefault(), "  ✓ 第 %d 个账号 %s: 跳过, %s", entry.getNumber(), entry.getUser().getMaskedPhone(), entry.getReason()));
+        }
+    }
+
+    /**
+     * 写入运行日志（只进入缓冲区）
+     */
+    private void journal(JournalEntry entry) {
+        if (journal != null) {
+            journal.append(entry);
+        }
+    }
+
+    /**
+     * 启动工作线程执行计划中的账号，并等待全部结束
+     */
+    private void runAccounts(List<RunPlan.Entry> accounts, int workers) throws InterruptedException {
+        AtomicInteger workerCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "TaskWorker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // stopTask 可能在线程池创建前被调用
+        if (!running) {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            executor.execute(() -> runWorker(worker, accounts));
+        }
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                // 等待所有工作线程结束
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+    }
+
+    /**
+     * 工作线程：循环领取下一个账号执行，直到没有剩余账号或任务被停止
+     */
+    private void runWorker(int worker, List<RunPlan.Entry> accounts) {
+        try {
+            if (worker > 0) {
+                // 错开各工作线程的启动时间，避免同一时刻集中请求
+                pause(worker * (2000L + ThreadLocalRandom.current().nextInt(3000)), 0);
+            }
+            boolean first = true;
+            int index;
+            while ((index = nextUserIndex.getAndIncrement()) < accounts.size()) {
+                RunPlan.Entry entry = accounts.get(index);
+                AccountTask task = new AccountTask(entry.getUser(), entry.getNumber(), entry.getStatus());
+                task.checkShouldStop();
+                if (!first) {
+                    // 延时 5 - 10 秒
+                    task.logger.accept("进行下一个账号, 等待 5-10 秒...");
+                    pause(5000, 5000);
+                }
+                first = false;
+
+                task.checkShouldStop();
+                logger.accept(String.format(Locale.getDefault(), "\n======> 第 %d 个账号", entry.getNumber()));
+                long startNanos = System.nanoTime();
+                task.run();
+                AccountListener listener = accountListener;
+                if (listener != null) {
+                    listener.onAccountFinished(entry.getUser(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                }
+                if (journal != null) {
+                    // 检查点：每个账号结束时落盘
+                    journal.checkpoint();
+                }
+            }
+        } catch (InterruptedException e) {
+            // 任务已停止，由 run() 统一输出日志
+        }
+    }
+
+    /**
+     * 缩放所有请求间隔，只用于对本地模拟服务器的测试和压测，真实接口必须保持 1
+     *
+     * @param scale 缩放比例，0 表示不等待
+     */
+    public void setPauseScale(double scale) {
+        pauseScale = Math.max(0, scale);
+    }
+
+    /**
+     * 设置账号执行结束的回调，需在 start() 之前调用
+     */
+    public void setAccountListener(AccountListener listener) {
+        accountListener = listener;
+    }
+
+    /**
+     * 请求间隔：按 pauseScale 缩放后等待
+     *
+     * @param minMillis    最短等待时间
+     * @param jitterMillis 随机增加的等待时间上限，为 0 时不增加
+     * @throws InterruptedException 等待时任务被停止
+     */
+    private void pause(long minMillis, int jitterMillis) throws InterruptedException {
+        long delayMillis = minMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextInt(jitterMillis) : 0);
+        waitFor(Math.round(delayMillis * pauseScale));
+    }
+
+    /**
+     * 在共用的时间轮上等待，不额外占用定时线程；任务停止时立即结束等待
+     * <p>
+     * 调用线程会阻塞到延迟结束。账号内的各步骤（答题可能等待手动输入或 AI）按顺序阻塞执行，
+     * 因此等待没有改为时间轮上的后续任务，线程数由工作线程池的大小限制。
+     * </p>
+     *
+     * @param delayMillis 等待时间
+     * @throws InterruptedException 等待时任务被停止
+     */
+    private void waitFor(long delayMillis) throws InterruptedException {
+        CompletableFuture<Void> delay = TimerWheel.getShared().delay(delayMillis, TimeUnit.MILLISECONDS);
+        pendingDelays.add(delay);
+        try {
+            if (!running) {
+                throw new InterruptedException("Task stopped");
+            }
+            delay.get();
+        } catch (CancellationException e) {
+            throw new InterruptedException("Task stopped");
+        } catch (ExecutionException e) {
+            // 只会正常完成或被取消
+        } finally {
+            pendingDelays.remove(delay);
+            delay.cancel(false);
+        }
+    }
+
+    /**
+     * 熔断器打开时暂停，直到可以发出探测请求；服务器持续不可用时终止任务
+     *
+     * @param logger 日志输出
+     * @throws InterruptedException 暂停时任务被停止，或服务器持续不可用
+     */
+    private void awaitApiAvailable(Consumer<String> logger) throws InterruptedException {
+        CircuitBreaker breaker = ApiUtil.getCircuitBreaker();
+        long waitMillis;
+        while ((waitMillis = breaker.getRemainingOpenMillis()) > 0) {
+            if (breaker.getConsecutiveTrips() >= MAX_CIRCUIT_TRIPS) {
+                this.logger.accept(String.format(Locale.getDefault(), "🚨 服务器连续 %d 次熔断，终止任务", breaker.getConsecutiveTrips()));
+                stopTask();
+                throw new InterruptedException("Task stopped");
+            }
+            logger.accept(String.format(Locale.getDefault(), "🚨 服务器暂时不可用，暂停 %d 秒", (waitMillis + 999) / 1000));
+            // 熔断时间由熔断器决定，不缩放
+            waitFor(waitMillis);
+            checkShouldStop();
+        }
+    }
+
+    /**
+     * 检查任务是否需要停止
+     *
+     * @throws InterruptedException 如果任务需要停止则抛出此异常
+     */
+    private void checkShouldStop() throws InterruptedException {
+        if (!running || Thread.currentThread().isInterrupted()) {
+            logger.accept("🚨 检测到停止命令，停止执行任务");
+            throw new InterruptedException("Task stopped");
+        }
+    }
+
+    /**
+     * 设置分享用户ID
+     */
+    private void setupShareUserHids() {
+        // 如果只有一个用户或没有用户，使用备用 hid
+        if (users.size() <= 1) {
+            for (User user : users) {
+                user.setShareUserHid(getBackupShareHid(user.getHid()));
+            }
+            return;
+        }
+
+        // 多个用户时，使用上一个用户的 hid
+        for (int i = 0; i < users.size(); i++) {
+            User currentUser = users.get(i);
+            // 获取上一个用户的索引（第一个用户的上一个是最后一个）
+            int prevIndex = (i - 1 >= 0) ? i - 1 : users.size() - 1;
+            User prevUser = users.get(prevIndex);
+
+            // 如果上一个用户不是自己，使用上一个用户的 hid
+            if (!prevUser.getHid().equals(currentUser.getHid())) {
+                currentUser.setShareUserHid(prevUser.getHid());
+            } else {
+                // 否则使用备用 hid
+                currentUser.setShareUserHid(getBackupShareHid(currentUser.getHid()));
+            }
+        }
+    }
+
+    /**
+     * 获取备用分享用户ID
+     */
+    private String getBackupShareHid(String currentHid) {
+        // 创建一个不包含当前 hid 的列表
+        List<String> availableHids = new ArrayList<>();
+        for (String hid : BACKUP_HIDS) {
+            if (!hid.equals(currentHid)) {
+                availableHids.add(hid);
+            }
+        }
+
+        // 如果没有可的 hid（极少情况），第一个备用 hid
+        if (availableHids.isEmpty()) {
+            return BACKUP_HIDS[0];
+        }
+
+        // 随机返回一个可用的 hid
+        return availableHids.get(new Random().nextInt(availableHids.size()));
+    }
+
+    /**
+     * 获取 ask_info 接口使用的日期
+     */
+    private static String today() {
+        return new SimpleDateFormat("yyyyMMdd", Locale.getDefault()).format(new Date());
+    }
+
+    /**
+     * 合并已保存的答案：同一天再次运行时直接使用已确认的正确答案，并排除已确认的错误选项。
+     * 调用方需持有 questionLock
+     */
+    private void loadStoredAnswer(String date, String questionsHid) {
+        if (questionsHid == null || questionsHid.isEmpty()) {
+            return;
+        }
+        DailyAnswer stored = storage.getDailyAnswer(date, questionsHid);
+        for (String option : stored.getWrong()) {
+            if (!wrongAnswers.contains(option)) {
+                wrongAnswers.add(option);
+            }
+        }
+        if (stored.getCorrect() != null) {
+            historicalCorrectAnswer = stored.getCorrect();
+        } else if (historicalCorrectAnswer != null && wrongAnswers.contains(historicalCorrectAnswer)) {
+            historicalCorrectAnswer = null;
+        }
+    }
+
+    /**
+     * 保存答题结果，调用方需持有 questionLock
+     */
+    private void storeAnswer(String date, String questionsHid, String option, boolean correct) {
+        if (questionsHid == null || questionsHid.isEmpty() || option == null) {
+            return;
+        }
+        storage.recordDailyAnswer(date, questionsHid, option, correct);
+    }
+
+    /**
+     * 记录各 AI 提供方的答案是否正确，调用方需持有 questionLock
+     *
+     * @param answer  提交的答案
+     * @param correct 提交结果是否正确
+     */
+    private void recordAiVerdicts(String answer, boolean correct) {
+        if (aiProviderAnswers == null) {
+            return;
+        }
+        for (Map.Entry<String, String> entry : aiProviderAnswers.entrySet()) {
+            AiProviderStats stats = aiProviderStats.get(entry.getKey());
+            if (stats == null) {
+                continue;
+            }
+            if (entry.getValue().equals(answer)) {
+                stats.recordVerdict(correct);
+            } else if (correct) {
+                stats.recordVerdict(false);
+            }
+            // 答错时与提交答案不同的选项对错未知，不记录
+        }
+        aiProviderAnswers = null;
+    }
+
+    /**
+     * 输出并保存本次任务用到的 AI 提供方统计
+     */
+    private void logAiProviderStats() {
+        if (!aiProviderStatsUsed) {
+            return;
+        }
+        logger.accept("\nAI 提供方统计:");
+        for (Map.Entry<String, AiProviderStats> entry : aiProviderStats.entrySet()) {
+            logger.accept(entry.getKey() + ": " + entry.getValue());
+        }
+        storage.saveAiProviderStats(aiProviderStats);
+    }
+
+    /**
+     * 在后台线程预取当天题目并得出答案
+     */
+    private void startQuestionPrefetch() {
+        Thread thread = new Thread(() -> {
+            PrefetchedAnswer result = null;
+            try {
+                result = prefetchQuestion();
+            } catch (InterruptedException e) {
+                // 任务已停止
+            } catch (Exception e) {
+                logger.accept("[预取] 预取题目失败: " + e.getMessage());
+            } finally {
+                prefetchedAnswer.complete(result);
+            }
+        }, "QuestionPrefetch");
+        thread.setDaemon(true);
+        prefetchThread = thread;
+        thread.start();
+    }
+
+    /**
+     * 用第一个 Token 有效的账号获取题目，排除已知错误选项后得出答案。
+     * 不持有 questionLock（答题步骤会等待预取结果），已知答案只通过 TaskStorage 读写
+     *
+     * @return 预取的答案，没有需要回答的题目或未能得出答案时为 null
+     */
+    private PrefetchedAnswer prefetchQuestion() throws InterruptedException, IOException {
+        Consumer<String> logger = msg -> {
+            if (msg.startsWith("\n")) {
+                this.logger.accept("\n[预取] " + msg.substring(1));
+            } else {
+                this.logger.accept("[预取] " + msg);
+            }
+        };
+        String date = today();
+        for (User user : users) {
+            if (!running) {
+                return null;
+            }
+            QuestionInfo data;
+            try {
+                data = ApiUtil.getQuestionInfo(user.getToken());
+            } catch (ApiException e) {
+                if (e.isAccountFatal()) {
+                    continue;
+                }
+                throw e;
+            } catch (InterruptedIOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException(e.getMessage());
+                }
+                throw e;
+            }
+
+            String questionsHid = data.getQuestionsHid();
+            if (questionsHid == null || questionsHid.isEmpty()) {
+                return null;
+            }
+            // 该账号已答题时，答案由答题步骤获取并保存
+            if (data.getState() != 1) {
+                logger.accept("今日已答题，无需预取答案");
+                return null;
+            }
+            DailyAnswer stored = storage.getDailyAnswer(date, questionsHid);
+            if (stored.getCorrect() != null) {
+                logger.accept("已有今日正确答案: " + stored.getCorrect());
+                return null;
+            }
+
+            StringBuilder optionsText = new StringBuilder("\n");
+            List<String> availableOptionLetters = new ArrayList<>();
+            for (QuestionInfo.Option option : data.getOptions()) {
+                if (!stored.getWrong().contains(option.getOption())) {
+                    availableOptionLetters.add(option.getOption());
+                    optionsText.append(String.format("%s. %s\n", option.getOption(), option.getOptionContent()));
+                }
+            }
+            if (availableOptionLetters.size() <= 1) {
+                return null;
+            }
+
+            logger.accept("题目详情:\n" + data.getContent() + optionsText);
+            AnswerDecision decision = resolveAnswer(logger, data.getContent(), optionsText.toString(), availableOptionLetters);
+            return decision != null ? new PrefetchedAnswer(questionsHid, decision) : null;
+        }
+        return null;
+    }
+
+    /**
+     * 等待预取结果，题目相同且答案仍在可用选项中时返回
+     *
+     * @return 预取的答案，不可用时为 null
+     */
+    private AnswerDecision awaitPrefetchedAnswer(String questionsHid, List<String> availableOptionLetters) throws InterruptedException {
+        PrefetchedAnswer prefetched;
+        try {
+            prefetched = prefetchedAnswer.get();
+        } catch (ExecutionException e) {
+            return null;
+        }
+        if (prefetched == null || !prefetched.questionsHid.equals(questionsHid)
+                || !availableOptionLetters.contains(prefetched.decision.answer)) {
+            return null;
+        }
+        return prefetched.decision;
+    }
+
+    /**
+     * 通过手动答题或 AI（先查答案缓存）得出答案，不修改答题状态，可在预取线程中调用
+     *
+     * @param logger 日志输出
+     * @return 答案，手动答题不可用且 AI 未给出有效答案时为 null
+     */
+    private AnswerDecision resolveAnswer(Consumer<String> logger, String question, String optionsText, List<String> availableOptionLetters) throws InterruptedException {
+        // 检查是否需要手动答题
+        if (storage.isManualAnswer()) {
+            if (!availableOptionLetters.isEmpty()) {
+                ManualAnswerProvider answerProvider = answerProviderRef.get();
+                if (answerProvider != null) {
+                    // 显示选择弹窗，等待用户选择
+                    String answer = answerProvider.requestAnswer(question, optionsText, availableOptionLetters);
+                    logger.accept("用户选择答案: " + answer);
+                    return new AnswerDecision(answer, null, null);
+                }
+            }
+        }
+
+        // 检查是否设置了 AI 提供方（主 AI 配置 + 额外提供方）
+        List<AiProvider> providers = storage.getAiProviders();
+        if (!providers.isEmpty()) {
+            String questionStr = question + optionsText;
+            StringBuilder models = new StringBuilder();
+            StringBuilder params = new StringBuilder();
+            for (AiProvider provider : providers) {
+                if (models.length() > 0) {
+                    models.append('|');
+                    params.append('|');
+                }
+                models.append(provider.getModel());
+                params.append(provider.getRequestParams());
+            }
+            String cacheKey = AiAnswerCache.key(questionStr, models.toString(), params.toString());
+            String cached = aiAnswerCache != null ? aiAnswerCache.get(cacheKey) : null;
+            if (cached != null && availableOptionLetters.contains(cached)) {
+                logger.accept("使用缓存的 AI 答案: " + cached);
+                return new AnswerDecision(cached, cacheKey, null);
+            }
+
+            aiProviderStatsUsed = true;
+            boolean majorityVote = providers.size() > 1 && storage.isAiMajorityVote();
+            if (providers.size() > 1) {
+                logger.accept(String.format(Locale.getDefault(), "使用 %d 个 AI 提供方%s查询答案……", providers.size(), majorityVote ? "投票" : ""));
+            } else {
+                logger.accept("使用 AI 查询答案……");
+            }
+            AiAnswerRacer racer = new AiAnswerRacer(providers, aiProviderStats, storage.isAiStream(), majorityVote);
+            AiAnswerRacer.Result result = racer.ask(questionStr, availableOptionLetters);
+            for (String error : result.getErrors()) {
+                logger.accept("AI 请求失败: " + error);
+            }
+            if (result.getLetter() != null) {
+                String answer = result.getLetter();
+                logger.accept(String.format(Locale.getDefault(), "AI 用时 %.1f 秒", result.getElapsedMillis() / 1000.0));
+                if (aiAnswerCache != null) {
+                    aiAnswerCache.put(cacheKey, answer);
+                }
+                if (providers.size() > 1) {
+                    logger.accept(String.format("使用 AI 答案: %s (%s), 各提供方: %s", answer, result.getWinner(), result.getAnswers()));
+                } else {
+                    logger.accept("使用 AI 答案: " + answer);
+                }
+                return new AnswerDecision(answer, cacheKey, result.getAnswers());
+            }
+            logger.accept("AI 未给出有效答案");
+        }
+        return null;
+    }
+
+
+    /**
+     * Token 过期等账号级错误继续抛出，由 executeUserTask 跳过该账号，其他错误由调用方记录日志
+     */
+    private static void throwIfAccountFatal(Exception e) throws ApiException {
+        if (e instanceof ApiException && ((ApiException) e).isAccountFatal()) {
+            throw (ApiException) e;
+        }
+    }
+
+    public void stopTask() {
+        running = false;
+        for (CompletableFuture<Void> delay : pendingDelays) {
+            delay.cancel(false);
+        }
+        Thread prefetch = prefetchThread;
+        if (prefetch != null) {
+            prefetch.interrupt();
+        }
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 任务是否正常执行完所有步骤；被停止、中断或熔断次数过多而终止时为 false，需在任务结束后调用
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 手动答题或 AI 得出的答案
+     */
+    private static class AnswerDecision {
+        final String answer;
+        final String aiAnswerKey; // 使用了 AI 答案时的缓存键，答错时删除该缓存
+        final Map<String, String> aiProviderAnswers; // 各 AI 提供方给出的答案，命中缓存时为 null
+
+        AnswerDecision(String answer, String aiAnswerKey, Map<String, String> aiProviderAnswers) {
+            this.answer = answer;
+            this.aiAnswerKey = aiAnswerKey;
+            this.aiProviderAnswers = aiProviderAnswers;
+        }
+    }
+
+    /**
+     * 预取的题目答案
+     */
+    private static class PrefetchedAnswer {
+        final String questionsHid;
+        final AnswerDecision decision;
+
+        PrefetchedAnswer(String questionsHid, AnswerDecision decision) {
+            this.questionsHid = questionsHid;
+            this.decision = decision;
+        }
+    }
+
+    /**
+     * 手动答题：弹窗让用户选择答案，阻塞直到用户选择
+     */
+    public interface ManualAnswerProvider {
+        String requestAnswer(String question, String optionsText, List<String> availableOptionLetters) throws InterruptedException;
+    }
+
+    /**
+     * 账号执行结束的回调，在工作线程中调用，用于统计每个账号的耗时
+     */
+    public interface AccountListener {
+        /**
+         * @param user          执行结束的账号（包括有任务失败的账号）
+         * @param elapsedMillis 从开始执行该账号到结束的耗时，不包括账号之间的等待
+         */
+        void onAccountFinished(User user, long elapsedMillis);
+    }
+
+    /**
+     * 单个账号的任务，在工作线程中执行
+     */
+    private class AccountTask {
+        private final User user;
+        private final Consumer<String> logger;
+        private final TaskStatus plannedStatus; // 预扫描得到的任务状态，为 null 时执行时获取
+
+        AccountTask(User user, int number, TaskStatus plannedStatus) {
+            this.user = user;
+            this.plannedStatus = plannedStatus;
+            // 并发执行时各账号日志交错输出，加上账号序号前缀
+            if (concurrency > 1) {
+                String prefix = String.format(Locale.getDefault(), "[账号%d] ", number);
+                this.logger = msg -> {
+                    if (msg.startsWith("\n")) {
+                        TaskEngine.this.logger.accept("\n" + prefix + msg.substring(1));
+                    } else {
+                        TaskEngine.this.logger.accept(prefix + msg);
+                    }
+                };
+            } else {
+                this.logger = TaskEngine.this.logger;
+            }
+        }
+
+        void run() throws InterruptedException {
+            for (int attempt = 1; ; attempt++) {
+                awaitApiAvailable(logger);
+                try {
+                    executeUserTask();
+                    return;
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (ApiException e) {
+                    logger.accept("执行任务出错: " + e.getMessage());
+                    recordError(e.getMessage());
+                    // 网络或服务器不可用（接口层已重试过），等熔断结束后重新执行一次该账号
+                    if (!e.isTransportError() || attempt >= 2) {
+                        return;
+                    }
+                    logger.accept("稍后重新执行该账号");
+                } catch (Exception e) {
+                    logger.accept("执行任务出错: " + e.getMessage());
+                    recordError(e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 检查任务是否需要停止
+         *
+         * @throws InterruptedException 如果任务需要停止则抛出此异常
+         */
+        private void checkShouldStop() throws InterruptedException {
+            if (!running || Thread.currentThread().isInterrupted()) {
+                logger.accept("🚨 检测到停止命令，停止执行任务");
+                throw new InterruptedException("Task stopped");
+            }
+        }
+
+        /**
+         * 记录任务结果到运行日志
+         */
+        private void recordTask(String task, boolean ok, int points, String message) {
+            journal(JournalEntry.task(runId, user.getPhone(), task, ok, points, message));
+        }
+
+        /**
+         * 标记任务今天已完成（立即落盘），中断后再次运行时跳过
+         */
+        private void markDone(String task) {
+            checkpoint.markDone(user.getPhone(), task);
+        }
+
+        /**
+         * 记录账号级错误到运行日志
+         */
+        private void recordError(String message) {
+            journal(JournalEntry.error(runId, user.getPhone(), message));
+        }
+
+        /**
+         * 获取任务状态，超时、网络错误等由 ApiUtil 按重试策略重试
+         */
+        private TaskStatus getTaskStatus() throws InterruptedException, ApiException {
+            try {
+                return ApiUtil.getTaskStatus(user.getToken());
+            } catch (InterruptedIOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException(e.getMessage());
+                }
+                throw ApiException.transport(e);
+            } catch (IOException e) {
+                throw ApiException.transport(e);
+            }
+        }
+
+        /**
+         * 执行用户任务
+         *
+         * @throws ApiException 获取任务状态时出现无法恢复的错误（Token 过期除外，Token 过期时直接跳过该账号）
+         */
+        private void executeUserTask() throws InterruptedException, ApiException {
+            logger.accept(String.format("👻 用户名: %s  📱手机号: %s", user.getNickname(), user.getMaskedPhone()));
+            logger.accept(String.format("🆔 用户hid: %s", user.getHid()));
+            logger.accept(String.format("🆔 分享hid: %s", user.getShareUserHid()));
+
+            // 检查任务状态，计划中已有状态时不再请求
+            TaskStatus status = plannedStatus;
+            if (status == null) {
+                try {
+                    status = getTaskStatus();
+                } catch (ApiException e) {
+                    if (e.isAccountFatal()) {
+                        logger.accept("❌ " + e.getMessage() + ", 跳过该账号");
+                        recordError(e.getMessage());
+                        return;
+                    }
+                    throw e;
+                }
+            }
+            // 重新执行该账号时，之前已完成的任务由检查点跳过
+            checkpoint.merge(user.getPhone(), status);
+
+            try {
+                checkShouldStop();
+
+                // 答题任务放第一个是为了让手动答题的人可以尽快答题
+                if (!status.isQuestionCompleted()) {
+                    questionLock.lockInterruptibly();
+                    try {
+                        executeQuestionTask();
+                    } finally {
+                        questionLock.unlock();
+                    }
+                    // 延时 5-10 秒
+                    pause(5000, 5000);
+                } else {
+                    logger.accept("✅ 答题任务 已完成，跳过");
+                    recordTask(JournalEntry.TASK_QUESTION, true, 0, "已完成");
+                    // 获取已答题答案
+                    questionLock.lockInterruptibly();
+                    try {
+                        if (historicalCorrectAnswer == null) {
+                            getAnsweredAnswer();
+                        }
+                    } finally {
+                        questionLock.unlock();
+                    }
+                }
+
+                checkShouldStop();
+
+                // 执行未完成的任务
+                if (!status.isSignCompleted()) {
+                    executeSignTask();
+                    // 延时 5-10 秒
+                    pause(5000, 5000);
+                } else {
+                    logger.accept("✅ 签到任务 已完成，跳过");
+                    recordTask(JournalEntry.TASK_SIGN, true, 0, "已完成");
+                }
+
+                checkShouldStop();
+
+                if (!status.isViewCompleted()) {
+                    executeViewTask();
+                    // 延时 5-10 秒
+                    pause(5000, 5000);
+                } else {
+                    logger.accept("✅ 浏览文章任务 已完成，跳过");
+                    recordTask(JournalEntry.TASK_VIEW, true, 0, "已完成");
+                }
+            } catch (ApiException e) {
+                // 子任务只会抛出账号级错误，后续任务不再执行
+                logger.accept("❌ " + e.getMessage() + ", 跳过该账号");
+                recordError(e.getMessage());
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                logger.accept("执行任务出错: " + e.getMessage());
+                recordError(e.getMessage());
+            }
+        }
+
+        /**
+         * 执行签到任务
+         */
+        private void executeSignTask() throws InterruptedException, ApiException {
+            logger.accept("🔍 开始执行签到任务");
+
+            // 记录最佳签到选项
+            String bestHid = null; // 签到任务 hid
+            String bestRewardHash = null; // 签到任务 rewardHash
+            int bestScore = 0; // 签到任务 奖励积分
+            int maxAttemptCount = 5; // 最大尝试次数
+
+            // 尝试多次获取签到信息
+            for (int i = 0; i < maxAttemptCount; i++) {
+                checkShouldStop();
+
+                try {
+                    SignInfo data = ApiUtil.getSignInfo(user.getToken());
+                    String hid = data.getHid();
+                    String rewardHash = data.getRewardHash();
+                    int currentBestScore = data.getCurrentScore();
+
+                    // 更新最佳选项
+                    if (currentBestScore > bestScore) {
+                        bestScore = currentBestScore;
+                        bestHid = hid;
+                        bestRewardHash = rewardHash;
+                    }
+                    // 打印当前尝试的签到信息
+                    logger.accept(String.format(Locale.getDefault(), "第 %d 次尝试: score=%d hid=%s rewardHash=%s", i + 1, currentBestScore, hid, rewardHash));
+                    logger.accept(String.format(Locale.getDefault(), "当前可获得签到积分: %d", bestScore));
+
+                } catch (Exception e) {
+                    throwIfAccountFatal(e);
+                    logger.accept("获取签到信息失败: " + e.getMessage());
+                }
+
+                // 延时
+                if (i < maxAttemptCount - 1) {
+                    // 延时 8-10 秒
+                    logger.accept("继续尝试获取更高签到积分, 延时8-10s");
+                    pause(8000, 2000);
+                } else {
+                    // 延时 3-4 秒
+                    logger.accept("即将提交签到, 延时3-4s");
+                    pause(3000, 1000);
+                }
+            }
+
+            // 检查是否需要停止
+            checkShouldStop();
+
+            // 如果找到了最佳选项，执行签到
+            if (bestHid != null) {
+                try {
+                    ApiUtil.submitSign(user.getToken(), bestHid, bestRewardHash);
+                    logger.accept(String.format(Locale.getDefault(), "✅ 签到成功: 积分+%d", bestScore));
+                    recordTask(JournalEntry.TASK_SIGN, true, bestScore, null);
+                    markDone(JournalEntry.TASK_SIGN);
+                } catch (Exception e) {
+                    throwIfAccountFatal(e);
+                    logger.accept("❌ 签到失败: " + e.getMessage());
+                    recordTask(JournalEntry.TASK_SIGN, false, 0, e.getMessage());
+                }
+            } else {
+                logger.accept("未找到可用的签到选项");
+                recordTask(JournalEntry.TASK_SIGN, false, 0, "未找到可用的签到选项");
+            }
+        }
+
+        /**
+         * 执行浏览文章任务
+         */
+        private void executeViewTask() throws InterruptedException, ApiException {
+            logger.accept("🔍 开始执行浏览文章任务");
+
+            try {
+                // 从共用的文章列表中随机选择3篇文章（如果文章数量不足3篇，则全部选择）
+                List<String> articleHids = articleListCache.pick(user.getToken(), 3);
+                if (!articleHids.isEmpty()) {
+                    int articlesToRead = articleHids.size();
+                    logger.accept(String.format(Locale.getDefault(), "需要浏览 %d 篇文章", articlesToRead));
+
+                    // 循环浏览文章
+                    for (int i = 0; i < articlesToRead; i++) {
+                        checkShouldStop();
+
+                        String articleId = articleHids.get(i);
+                        logger.accept(String.format(Locale.getDefault(), "\n浏览第 %d/%d 篇文章: hid=%s", i + 1, articlesToRead, articleId));
+
+                        try {
+                            ApiUtil.viewArticle(user.getToken(), articleId);
+                            // 延时 10-15 秒
+                            logger.accept("浏览文章 10-15 秒");
+                            pause(11000, 4000);
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            throwIfAccountFatal(e);
+                            logger.accept(String.format("❌ 浏览文章失败: %s", e.getMessage()));
+                            // 文章可能已下架，下一个账号重新获取文章列表
+                            if (e instanceof ApiException && ((ApiException) e).getKind() == ApiException.Kind.BUSINESS) {
+                                articleListCache.invalidate();
+                            }
+                        }
+                    }
+
+                    checkShouldStop();
+
+                    // 提交文章积分
+                    try {
+                        ArticleScore data = ApiUtil.submitArticleScore(user.getToken());
+                        int score = data.getScore();
+                        logger.accept(String.format(Locale.getDefault(), "✅ 浏览文章成功: 积分+%d", score));
+                        recordTask(JournalEntry.TASK_VIEW, true, score, null);
+                        markDone(JournalEntry.TASK_VIEW);
+                    } catch (Exception e) {
+                        throwIfAccountFatal(e);
+                        logger.accept("❌ 提交文章积分失败: " + e.getMessage());
+                        recordTask(JournalEntry.TASK_VIEW, false, 0, e.getMessage());
+                    }
+                } else {
+                    logger.accept("❌ 没有可浏览的文章");
+                    recordTask(JournalEntry.TASK_VIEW, false, 0, "没有可浏览的文章");
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                throwIfAccountFatal(e);
+                logger.accept("获取文章列表失败: " + e.getMessage());
+                recordTask(JournalEntry.TASK_VIEW, false, 0, e.getMessage());
+            }
+        }
+
+        private String getQuestionAnswer(String questionsHid, String question, String optionsText, List<String> availableOptionLetters) throws InterruptedException {
+            String answer;
+
+            // 检查是否存在历史正确答案
+            if (historicalCorrectAnswer != null) {
+                answer = historicalCorrectAnswer;
+                logger.accept("使用历史正确答案: " + answer);
+                return answer;
+            }
+
+            // 使用预取的答案，预取仍在进行时等待，避免重复弹窗或请求 AI
+            AnswerDecision decision = awaitPrefetchedAnswer(questionsHid, availableOptionLetters);
+            if (decision != null) {
+                logger.accept("使用预取的答案: " + decision.answer);
+            } else {
+                decision = resolveAnswer(logger, question, optionsText, availableOptionLetters);
+            }
+            if (decision != null) {
+                aiAnswerKey = decision.aiAnswerKey;
+                aiProviderAnswers = decision.aiProviderAnswers;
+                return decision.answer;
+            }
+
+            // 从可用选项中随机选择答案
+            if (!availableOptionLetters.isEmpty()) {
+                answer = availableOptionLetters.get(new Random().nextInt(availableOptionLetters.size()));
+                logger.accept("从可用选项中随机选择答案: " + answer);
+                return answer;
+            }
+
+            // 使用完全随机答案
+            String[] options = {"A", "B", "C", "D"};
+            answer = options[new Random().nextInt(options.length)];
+            logger.accept("没有可用选项，使用完全随机答案: " + answer);
+            return answer;
+        }
+
+        /**
+         * 执行答题任务，调用方需持有 questionLock
+         */
+        private void executeQuestionTask() throws InterruptedException, ApiException {
+            logger.accept("🔍 开始执行答题任务");
+            aiAnswerKey = null;
+            aiProviderAnswers = null;
+
+            try {
+                String date = today();
+                QuestionInfo data = ApiUtil.getQuestionInfo(user.getToken());
+                loadStoredAnswer(date, data.getQuestionsHid());
+
+                // 检查答题状态
+                // state: 1=未答题 2=已答题且正确 3=答错且未有人帮忙答题 4=答错但有人帮忙答题
+                int state = data.getState();
+                if (state == 3) {
+                    logger.accept("今日已答题但回答错误，当前无人帮助答题，跳过");
+                    recordTask(JournalEntry.TASK_QUESTION, false, 0, "已答错");
+                    markDone(JournalEntry.TASK_QUESTION);
+                    return;
+                }
+                if (state != 1) {
+                    // 尝试获取已有答案，从 "C.6个" 格式中提取 "C"
+                    String answer = data.getAnswerLetter();
+                    if (answer != null) {
+                        historicalCorrectAnswer = answer;
+                        storeAnswer(date, data.getQuestionsHid(), answer, true);
+                        logger.accept(String.format("今日已答题，跳过，答案：%s", answer));
+                        recordTask(JournalEntry.TASK_QUESTION, true, 0, "已完成");
+                        markDone(JournalEntry.TASK_QUESTION);
+                        return;
+                    }
+                    logger.accept("今日已答题，但未获取到答案，跳过");
+                    recordTask(JournalEntry.TASK_QUESTION, true, 0, "已完成");
+                    markDone(JournalEntry.TASK_QUESTION);
+                    return;
+                }
+
+                String questionId = data.getQuestionsHid();
+                String question = data.getContent();
+
+                // 构建选项文本
+                StringBuilder optionsText = new StringBuilder("\n"); // 可用选项文本
+                List<String> availableOptionLetters = new ArrayList<>(); // 可用选项字母列表
+                for (QuestionInfo.Option option : data.getOptions()) {
+                    String optionLetter = option.getOption();
+                    String optionContent = option.getOptionContent();
+                    // 排查错误项
+                    if (wrongAnswers.contains(optionLetter)) {
+                        logger.accept(String.format("排除错误选项: %s.%s", optionLetter, optionContent));
+                    } else {
+                        availableOptionLetters.add(optionLetter);
+                        optionsText.append(String.format("%s. %s\n", optionLetter, optionContent));
+                    }
+                }
+
+                logger.accept("题目详情:\n" + question + optionsText);
+
+                String answer;
+                // 如果 availableOptionLetters 只剩下一个选项，自动选择
+                if (availableOptionLetters.size() == 1) {
+                    answer = availableOptionLetters.get(0);
+                    logger.accept("只剩下一个选项，自动选择答案: " + answer);
+                } else {
+                    checkShouldStop();
+                    // 获取答案
+                    answer = getQuestionAnswer(questionId, question, optionsText.toString(), availableOptionLetters);
+                }
+
+                checkShouldStop();
+
+                // 提交答案
+                AnswerResult result = ApiUtil.submitQuestionAnswer(user.getToken(), questionId, answer, user.getShareUserHid());
+                int submitAnswerState = result.getState();
+                if (submitAnswerState == 3) { // 答错且未有人帮忙答题
+                    storeAnswer(date, questionId, answer, false);
+                    recordAiVerdicts(answer, false);
+                    if (aiAnswerKey != null && aiAnswerCache != null) {
+                        aiAnswerCache.remove(aiAnswerKey);
+                    }
+                    wrongAnswers.add(answer);
+                    if (Objects.equals(historicalCorrectAnswer, answer)) {
+                        historicalCorrectAnswer = null;
+                    }
+                    logger.accept("❌ 答题错误");
+                    recordTask(JournalEntry.TASK_QUESTION, false, 0, "答题错误: " + answer);
+                    // 答错后该账号今天不能再答题
+                    markDone(JournalEntry.TASK_QUESTION);
+                } else if (submitAnswerState == 2) { // 答题正确
+                    storeAnswer(date, questionId, answer, true);
+                    recordAiVerdicts(answer, true);
+                    historicalCorrectAnswer = answer;
+                    int score = result.getAnswerScore();
+                    logger.accept(String.format(Locale.getDefault(), "✅ 答题正确 | 积分+%d", score));
+                    recordTask(JournalEntry.TASK_QUESTION, true, score, null);
+                    markDone(JournalEntry.TASK_QUESTION);
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                throwIfAccountFatal(e);
+                logger.accept("答题失败: " + e.getMessage());
+                recordTask(JournalEntry.TASK_QUESTION, false, 0, e.getMessage());
+            }
+        }
+
+        /**
+         * 从已答题账号获取答案，调用方需持有 questionLock
+         */
+        private void getAnsweredAnswer() {
+            try {
+                String date = today();
+                QuestionInfo data = ApiUtil.getQuestionInfo(user.getToken());
+                // 从 "C.6个" 格式中提取 "C"
+                String answer = data.getAnswerLetter();
+                if (answer != null) {
+                    historicalCorrectAnswer = answer;
+                    storeAnswer(date, data.getQuestionsHid(), answer, true);
+                    logger.accept(String.format("从已答题账号获取到答案：%s", answer));
+                    return;
+                }
+                logger.accept("从已答题账号获取答案失败");
+            } catch (Exception e) {
+                logger.accept("从已答题账号获取问题失败: " + e.getMessage());
+            }
+        }
+    }
+}
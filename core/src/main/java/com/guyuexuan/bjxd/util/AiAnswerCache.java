@@ -0,0 +1,243 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * AI 答案缓存
+ * <p>
+ * 以 规范化后的题目 + 模型 + 请求参数 的哈希为键，内存中按 LRU 保留最近使用的条目，
+ * 同时追加写入磁盘文件，下次启动时读回。文件超过大小上限时用内存中的条目重写（压缩）。
+ * </p>
+ * <p>
+ * 文件格式为连续的记录：1 字节类型（1=写入 0=删除）+ 16 字节键 + 写入时的值（2 字节长度 + UTF-8），
+ * 读取时遇到不完整的末尾记录（写入中断）会截掉。
+ * </p>
+ */
+public class AiAnswerCache {
+    private static final byte TYPE_REMOVE = 0;
+    private static final byte TYPE_PUT = 1;
+
+    private final File file;
+    private final long maxFileBytes;
+    private final LinkedHashMap<String, String> entries;
+    private DataOutputStream out;
+    private int hitCount = 0;
+    private int missCount = 0;
+
+    /**
+     * @param file         缓存文件
+     * @param maxEntries   内存中最多保留的条目数
+     * @param maxFileBytes 文件大小上限，超过时压缩
+     */
+    public AiAnswerCache(@NonNull File file, int maxEntries, long maxFileBytes) {
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.entries = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        load();
+    }
+
+    /**
+     * 计算缓存键
+     *
+     * @param prompt 题目和选项，空白字符会被规范化
+     * @param model  AI 模型名称
+     * @param params AI 请求参数
+     * @return 32 位十六进制键
+     */
+    @NonNull
+    public static String key(String prompt, String model, String params) {
+        String normalized = normalize(prompt) + "\n" + normalize(model) + "\n" + normalize(params);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                sb.append(String.format(Locale.ROOT, "%02x", digest[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 查询缓存，计入命中/未命中次数
+     *
+     * @return 缓存的答案，未命中时为 null
+     */
+    @Nullable
+    public synchronized String get(String key) {
+        String value = entries.get(key);
+        if (value != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return value;
+    }
+
+    /**
+     * 写入缓存并追加到文件
+     */
+    public synchronized void put(String key, String value) {
+        // 答案只有几个字符，超长的值不缓存
+        if (value.getBytes(StandardCharsets.UTF_8).length > 0xFFFF) {
+            return;
+        }
+        entries.put(key, value);
+        append(TYPE_PUT, key, value);
+    }
+
+    /**
+     * 删除缓存，例如 AI 给出的答案被确认错误时
+     */
+    public synchronized void remove(String key) {
+        if (entries.remove(key) != null) {
+            append(TYPE_REMOVE, key, null);
+        }
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 关闭文件，之后有写入时重新打开
+     */
+    public synchronized void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            out = null;
+        }
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                byte type = in.readByte();
+                String key = readKey(in);
+                if (type == TYPE_PUT) {
+                    byte[] value = new byte[in.readUnsignedShort()];
+                    in.readFully(value);
+                    entries.put(key, new String(value, StandardCharsets.UTF_8));
+                    validLength += 1 + 16 + 2 + value.length;
+                } else if (type == TYPE_REMOVE) {
+                    entries.remove(key);
+                    validLength += 1 + 16;
+                } else {
+                    break;
+                }
+            }
+        } catch (EOFException e) {
+            // 正常结束或末尾记录不完整
+        } catch (IOException e) {
+            ApiLogger.error("AiAnswerCache", e);
+        }
+
+        // 截掉不完整的末尾记录，避免后续追加的记录错位
+        if (validLength < file.length()) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validLength);
+            } catch (IOException e) {
+                ApiLogger.error("AiAnswerCache", e);
+            }
+        }
+    }
+
+    private static String readKey(DataInputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder(32);
+        for (int i = 0; i < 16; i++) {
+            sb.append(String.format(Locale.ROOT, "%02x", in.readByte()));
+        }
+        return sb.toString();
+    }
+
+    private static void writeKey(DataOutputStream out, String key) throws IOException {
+        for (int i = 0; i < 16; i++) {
+            out.writeByte(Integer.parseInt(key.substring(i * 2, i * 2 + 2), 16));
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, byte[] value) throws IOException {
+        out.writeShort(value.length);
+        out.write(value);
+    }
+
+    private void append(byte type, String key, String value) {
+        try {
+            if (out == null) {
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+            }
+            out.writeByte(type);
+            writeKey(out, key);
+            if (type == TYPE_PUT) {
+                writeValue(out, value.getBytes(StandardCharsets.UTF_8));
+            }
+            out.flush();
+            if (file.length() > maxFileBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            ApiLogger.error("AiAnswerCache", e);
+        }
+    }
+
+    /**
+     * 用内存中的条目重写文件，按最近使用顺序写入，读回时 LRU 顺序不变
+     */
+    private void compact() throws IOException {
+        close();
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream tmpOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                tmpOut.writeByte(TYPE_PUT);
+                writeKey(tmpOut, entry.getKey());
+                writeValue(tmpOut, entry.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        if (!tmp.renameTo(file)) {
+            throw new IOException("重命名缓存文件失败: " + tmp);
+        }
+    }
+}
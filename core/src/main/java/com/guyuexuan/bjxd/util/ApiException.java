@@ -0,0 +1,173 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+/**
+ * 接口请求异常
+ * <p>
+ * 在原有 IOException 语义上附加错误分类，调用方可以据此决定重试、跳过账号还是终止任务
+ * </p>
+ */
+public class ApiException extends IOException {
+    private final Kind kind;
+    private final int code;
+
+    private ApiException(Kind kind, int code, String message, Throwable cause) {
+        super(message, cause);
+        this.kind = kind;
+        this.code = code;
+    }
+
+    /**
+     * Token 已过期（HTTP 403）
+     */
+    @NonNull
+    public static ApiException tokenExpired() {
+        return new ApiException(Kind.TOKEN_EXPIRED, 403, "Code 403: Token 已过期，请重新添加账号", null);
+    }
+
+    /**
+     * HTTP 状态码错误
+     *
+     * @param httpCode HTTP 状态码
+     */
+    @NonNull
+    public static ApiException http(int httpCode) {
+        return new ApiException(Kind.HTTP, httpCode, "请求失败: " + httpCode, null);
+    }
+
+    /**
+     * 业务错误（code != 0）
+     *
+     * @param code 业务错误码
+     * @param msg  服务器返回的错误信息
+     */
+    @NonNull
+    public static ApiException business(int code, String msg) {
+        return new ApiException(Kind.BUSINESS, code, msg != null ? msg : "业务错误: " + code, null);
+    }
+
+    /**
+     * 响应格式错误
+     *
+     * @param cause 解析异常
+     */
+    @NonNull
+    public static ApiException malformed(Throwable cause) {
+        return new ApiException(Kind.MALFORMED, 0, "响应格式错误: " + cause.getMessage(), cause);
+    }
+
+    /**
+     * 熔断器已打开，请求未发出
+     */
+    @NonNull
+    public static ApiException circuitOpen() {
+        return new ApiException(Kind.CIRCUIT_OPEN, 0, "服务器暂时不可用，已暂停请求", null);
+    }
+
+    /**
+     * 对网络层异常进行分类
+     *
+     * @param e 网络层异常
+     * @return 已分类的异常，本身就是 ApiException 时原样返回
+     */
+    @NonNull
+    public static ApiException transport(IOException e) {
+        if (e instanceof ApiException) {
+            return (ApiException) e;
+        }
+        // OkHttp 的调用超时抛出的是 message 为 "timeout" 的 InterruptedIOException
+        if (e instanceof SocketTimeoutException || (e instanceof InterruptedIOException && "timeout".equals(e.getMessage()))) {
+            return new ApiException(Kind.TIMEOUT, 0, "请求超时: " + e.getMessage(), e);
+        }
+        return new ApiException(Kind.NETWORK, 0, "网络错误: " + e.getMessage(), e);
+    }
+
+    @NonNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * 获取错误码：HTTP 错误为状态码，业务错误为业务 code，其他为 0
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * 是否值得重试：超时、网络错误和服务器 5xx
+     */
+    public boolean isRetryable() {
+        return kind == Kind.TIMEOUT || kind == Kind.NETWORK || (kind == Kind.HTTP && code >= 500);
+    }
+
+    /**
+     * 请求是否确定没有发到服务器：域名解析或建立连接失败，以及熔断
+     * <p>
+     * 超时、连接中断和 5xx 时服务器可能已经处理了请求，不能据此重试非幂等的提交
+     * </p>
+     */
+    public boolean isUnsent() {
+        if (kind == Kind.CIRCUIT_OPEN) {
+            return true;
+        }
+        Throwable cause = getCause();
+        return kind == Kind.NETWORK && (cause instanceof ConnectException || cause instanceof UnknownHostException || cause instanceof NoRouteToHostException);
+    }
+
+    /**
+     * 是否是网络层错误（超时、网络不可用或熔断），出现时说明服务器或网络不可用
+     */
+    public boolean isTransportError() {
+        return kind == Kind.TIMEOUT || kind == Kind.NETWORK || kind == Kind.CIRCUIT_OPEN;
+    }
+
+    /**
+     * 是否需要跳过当前账号：Token 过期后该账号的后续请求都会失败
+     */
+    public boolean isAccountFatal() {
+        return kind == Kind.TOKEN_EXPIRED;
+    }
+
+    /**
+     * 错误分类
+     */
+    public enum Kind {
+        /**
+         * Token 已过期（HTTP 403）
+         */
+        TOKEN_EXPIRED,
+        /**
+         * 其他 HTTP 状态码错误
+         */
+        HTTP,
+        /**
+         * 业务错误（code != 0）
+         */
+        BUSINESS,
+        /**
+         * 请求超时
+         */
+        TIMEOUT,
+        /**
+         * 网络错误（DNS、连接失败、连接中断等）
+         */
+        NETWORK,
+        /**
+         * 响应格式错误
+         */
+        MALFORMED,
+        /**
+         * 熔断器已打开，请求未发出
+         */
+        CIRCUIT_OPEN
+    }
+}
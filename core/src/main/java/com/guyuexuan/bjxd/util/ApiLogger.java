@@ -0,0 +1,283 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 接口日志工具类
+ * <p>
+ * 支持日志级别、按接口采样和响应体截断。记录先写入预分配的环形缓冲区，由后台线程异步输出，
+ * 消息对象的 toString、截断和脱敏（手机号、token）都在后台线程完成，请求线程只做一次数组写入。
+ * 缓冲区写满时丢弃新记录并计数，不会阻塞请求线程。
+ * </p>
+ * <p>
+ * 默认级别为 ERROR，只输出失败的请求；调试时可设置为 BODY 输出完整（截断后的）响应体。
+ * </p>
+ */
+public class ApiLogger {
+    private static final int CAPACITY = 512; // 必须是 2 的幂
+    private static final int MASK = CAPACITY - 1;
+    private static final Pattern PHONE_PATTERN = Pattern.compile("(?<!\\d)(1[3-9]\\d)\\d{6}(\\d{2})(?!\\d)");
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("(\"(?:token|ctu_token|api_key|ai_api_key)\"\\s*:\\s*\")[^\"]*(\")");
+    private static final Pattern BEARER_PATTERN = Pattern.compile("(Bearer\\s+)\\S+");
+
+    // 预分配的环形缓冲区，head/tail 为单调递增的序号
+    private static final long[] times = new long[CAPACITY];
+    private static final Level[] levels = new Level[CAPACITY];
+    private static final String[] tags = new String[CAPACITY];
+    private static final Object[] messages = new Object[CAPACITY];
+    private static final Object lock = new Object();
+    private static final Map<String, Integer> sampleRates = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> sampleCounters = new ConcurrentHashMap<>();
+    private static long head = 0; // 下一条写入的序号
+    private static long tail = 0; // 下一条读取的序号
+    private static long written = 0; // 已输出到 Sink 的记录数
+    private static long dropped = 0; // 缓冲区满时丢弃的记录数
+    private static boolean drainerWaiting = false;
+    private static Thread drainer;
+
+    private static volatile Level level = Level.ERROR;
+    private static volatile int maxBodyChars = 1024;
+    private static volatile Sink sink = (timeMillis, level, tag, message) -> System.out.println(tag + " [" + level + "] " + message);
+
+    /**
+     * 设置日志级别
+     *
+     * @param newLevel 日志级别
+     */
+    public static void setLevel(@NonNull Level newLevel) {
+        level = newLevel;
+    }
+
+    @NonNull
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * 设置接口采样率：每 oneInN 次调用记录一次 INFO/DEBUG/BODY 日志，ERROR 日志不采样
+     *
+     * @param tag    接口名称，例如 getSignInfo
+     * @param oneInN 采样间隔，小于等于 1 表示全部记录
+     */
+    public static void setSampleRate(String tag, int oneInN) {
+        if (oneInN <= 1) {
+            sampleRates.remove(tag);
+        } else {
+            sampleRates.put(tag, oneInN);
+        }
+    }
+
+    /**
+     * 设置响应体最大输出字符数，超出部分截断
+     *
+     * @param chars 最大字符数
+     */
+    public static void setMaxBodyChars(int chars) {
+        maxBodyChars = Math.max(0, chars);
+    }
+
+    public static int getMaxBodyChars() {
+        return maxBodyChars;
+    }
+
+    /**
+     * 设置日志输出目标，默认输出到 System.out
+     *
+     * @param newSink 日志输出目标
+     */
+    public static void setSink(@NonNull Sink newSink) {
+        sink = newSink;
+    }
+
+    @NonNull
+    public static Sink getSink() {
+        return sink;
+    }
+
+    /**
+     * 获取因缓冲区写满而丢弃的记录数
+     */
+    public static long getDroppedCount() {
+        synchronized (lock) {
+            return dropped;
+        }
+    }
+
+    /**
+     * 是否会记录指定级别的日志，调用方在构造开销较大的消息前应先检查
+     *
+     * @param target 日志级别
+     */
+    public static boolean isLoggable(@NonNull Level target) {
+        return target != Level.OFF && target.ordinal() <= level.ordinal();
+    }
+
+    /**
+     * 对本次调用做采样判断，同一次调用的所有非 ERROR 日志应使用同一个采样结果
+     *
+     * @param tag 接口名称
+     * @return 本次调用是否记录
+     */
+    public static boolean sample(String tag) {
+        Integer rate = sampleRates.get(tag);
+        if (rate == null) {
+            return true;
+        }
+        AtomicInteger counter = sampleCounters.computeIfAbsent(tag, key -> new AtomicInteger());
+        return (counter.getAndIncrement() % rate) == 0;
+    }
+
+    public static void error(String tag, Object message) {
+        log(Level.ERROR, tag, message);
+    }
+
+    public static void info(String tag, Object message) {
+        log(Level.INFO, tag, message);
+    }
+
+    public static void debug(String tag, Object message) {
+        log(Level.DEBUG, tag, message);
+    }
+
+    /**
+     * 记录响应体，输出时按 maxBodyChars 截断
+     */
+    public static void body(String tag, String body) {
+        log(Level.BODY, tag, body);
+    }
+
+    /**
+     * 等待缓冲区中的记录全部输出
+     *
+     * @param timeoutMillis 最长等待时间
+     * @return 全部输出返回 true，超时返回 false
+     */
+    public static boolean flush(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (lock) {
+            long target = head;
+            while (written < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                lock.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    private static void log(Level target, String tag, Object message) {
+        if (!isLoggable(target)) {
+            return;
+        }
+        synchronized (lock) {
+            if (head - tail >= CAPACITY) {
+                dropped++;
+                return;
+            }
+            int index = (int) (head & MASK);
+            times[index] = System.currentTimeMillis();
+            levels[index] = target;
+            tags[index] = tag;
+            messages[index] = message;
+            head++;
+
+            if (drainer == null) {
+                drainer = new Thread(ApiLogger::drain, "ApiLogger");
+                drainer.setDaemon(true);
+                drainer.start();
+            } else if (drainerWaiting) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private static void drain() {
+        while (true) {
+            long timeMillis;
+            Level recordLevel;
+            String tag;
+            Object message;
+            synchronized (lock) {
+                while (head == tail) {
+                    drainerWaiting = true;
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // 守护线程，忽略中断继续输出
+                    }
+                    drainerWaiting = false;
+                }
+                int index = (int) (tail & MASK);
+                timeMillis = times[index];
+                recordLevel = levels[index];
+                tag = tags[index];
+                message = messages[index];
+                messages[index] = null; // 释放引用
+                tail++;
+            }
+
+            try {
+                sink.write(timeMillis, recordLevel, tag, render(recordLevel, message));
+            } catch (RuntimeException e) {
+                // 输出失败不影响后续日志
+            }
+
+            synchronized (lock) {
+                written++;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @NonNull
+    private static String render(Level recordLevel, Object message) {
+        String text;
+        if (message instanceof Throwable) {
+            Throwable throwable = (Throwable) message;
+            text = throwable.getClass().getSimpleName() + ": " + throwable.getMessage();
+        } else {
+            text = String.valueOf(message);
+        }
+        // 先脱敏再截断，截断点落在 token 或手机号中间时，残留的部分不会再被匹配到
+        text = redact(text);
+        if (recordLevel == Level.BODY && text.length() > maxBodyChars) {
+            text = text.substring(0, maxBodyChars) + "...(共 " + text.length() + " 字符)";
+        }
+        return text;
+    }
+
+    /**
+     * 脱敏：手机号隐藏中间 6 位，token / API Key 替换为 ***
+     *
+     * @param text 原始文本
+     * @return 脱敏后的文本
+     */
+    @NonNull
+    public static String redact(String text) {
+        text = PHONE_PATTERN.matcher(text).replaceAll("$1******$2");
+        text = TOKEN_PATTERN.matcher(text).replaceAll("$1***$2");
+        return BEARER_PATTERN.matcher(text).replaceAll("$1***");
+    }
+
+    /**
+     * 日志级别，BODY 在 DEBUG 的基础上输出响应体
+     */
+    public enum Level {
+        OFF, ERROR, INFO, DEBUG, BODY
+    }
+
+    /**
+     * 日志输出目标，在后台线程中调用
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void write(long timeMillis, Level level, String tag, String message);
+    }
+}
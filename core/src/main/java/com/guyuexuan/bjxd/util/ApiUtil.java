@@ -0,0 +1,993 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import com.guyuexuan.bjxd.model.AnswerResult;
+import com.guyuexuan.bjxd.model.ApiResponse;
+import com.guyuexuan.bjxd.model.ArticleList;
+import com.guyuexuan.bjxd.model.ArticleScore;
+import com.guyuexuan.bjxd.model.QuestionInfo;
+import com.guyuexuan.bjxd.model.ScoreInfo;
+import com.guyuexuan.bjxd.model.SignInfo;
+import com.guyuexuan.bjxd.model.TaskStatus;
+import com.guyuexuan.bjxd.model.User;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.BufferedSource;
+
+/**
+ * API工具类，封装了与服务器交互的所有HTTP请求方法
+ * <p>
+ * 主要功能包括：
+ * - 用户信息获取
+ * - 积分查询
+ * - 任务状态查询
+ * - 签到相关操作
+ * - 文章浏览与积分提交
+ * - 答题相关操作
+ * - AI问答功能
+ * <p>
+ * 使用OkHttpClient作为HTTP客户端，Gson用于JSON解析。
+ * 响应直接从 body 流中用 JsonReader 解码为 model 包中的类型化对象，不需要的字段跳过，不生成中间字符串和 JsonObject 树
+ * </p>
+ * <p>
+ * 所有接口共用 execute 执行流程：成功时返回 data，失败时抛出已分类的 ApiException
+ * （Token 过期、HTTP 错误、业务错误、超时、网络错误、响应格式错误）
+ * </p>
+ * <p>
+ * 请求日志通过 ApiLogger 输出，默认只记录失败的请求，调试时可开启完整响应体
+ * </p>
+ * <p>
+ * 每个接口都提供 xxxAsync 异步版本，基于 OkHttp 的 enqueue 实现并返回 CompletableFuture，
+ * 请求在途时不占用调用线程；原有的同步方法只是在异步版本上等待结果的薄封装
+ * </p>
+ * <p>
+ * 每个端点有独立的令牌桶限流器，所有账号共用，可通过 setRateLimit 调整速率和突发数。
+ * 令牌不足时请求被推迟到令牌可用时再发出，不阻塞调用线程
+ * </p>
+ * <p>
+ * 超时、网络错误和 5xx 按端点的 RetryPolicy 以指数退避重试（查询接口和服务器端防重复的提交接口），
+ * 并计入共用的熔断器；熔断器打开后请求直接失败，调用方可据此暂停任务而不是让所有账号依次失败
+ * </p>
+ */
+public class ApiUtil {
+    public static final String DEFAULT_BASE_URL = "https://bm2-api.bluemembers.com.cn";
+    // 接口地址，测试时可指向本地的模拟服务器
+    private static volatile String baseUrl = DEFAULT_BASE_URL;
+    // 异步请求调度器：少量线程即可让多个账号的请求同时在途
+    private static final Dispatcher dispatcher = createDispatcher();
+    private static final OkHttpClient client = new OkHttpClient.Builder().dispatcher(dispatcher).connectTimeout(2, TimeUnit.SECONDS) // 2 秒无法建立 TCP 连接就放弃
+            .readTimeout(10, TimeUnit.SECONDS) // 10 秒无响应就放弃
+            .writeTimeout(10, TimeUnit.SECONDS) // 10 秒无响应就放弃
+            .retryOnConnectionFailure(true) // dns 解析多个 ip 时，按 ipv6...ipv4... 顺序尝试，直到某个 ip 成功或全部失败
+            .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES)) // 最大 1 个连接，保持 5 分钟
+            .build();
+    // 新增：为 AI 请求创建一个专用的、长超时的 Client
+    private static final OkHttpClient aiClient = new OkHttpClient.Builder().connectTimeout(10, TimeUnit.SECONDS)      // 连接超时可以适当放宽
+            .readTimeout(5, TimeUnit.MINUTES)        // 读取超时设置为3分钟，等待AI响应
+            .writeTimeout(5, TimeUnit.MINUTES)       // 写入超时也设置为3分钟
+            .retryOnConnectionFailure(true).build();
+
+    private static final Gson gson = new Gson();
+
+    // 按端点限流，key 为端点常量（API_ARTICLE_DETAIL 为未格式化的模板）
+    private static final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    // 按端点重试，未配置的端点不重试
+    private static final Map<String, RetryPolicy> retryPolicies = new ConcurrentHashMap<>();
+    // 连续 5 次服务器不可用后熔断 30 秒，之后每次探测失败打开时间加倍，最长 5 分钟
+    private static final CircuitBreaker circuitBreaker = new CircuitBreaker(5, 30_000, 300_000);
+    // 被限流或等待重试的请求由共用的时间轮延时后再交给 OkHttp，只负责入队，不执行请求
+    private static final TimerWheel scheduler = TimerWheel.getShared();
+
+    /**
+     * API 端点
+     * <p>
+     * 定义了与服务器交互的所有端点路径
+     * </p>
+     */
+    public static final String API_USER_INFO = "/v1/app/account/users/info";
+    public static final String API_MY_SCORE = "/v1/app/user/my_score";
+    public static final String API_TASK_LIST = "/v1/app/user/task/list";
+    public static final String API_SIGN_LIST = "/v1/app/user/reward_list";
+    public static final String API_SIGN_SUBMIT = "/v1/app/user/reward_report";
+    public static final String API_ARTICLE_LIST = "/v1/app/white/article/list2";
+    public static final String API_ARTICLE_DETAIL = "/v1/app/white/article/detail_app/%s";
+    public static final String API_TASK_SCORE = "/v1/app/score";
+    public static final String API_QUESTION_INFO = "/v1/app/special/daily/ask_info";
+    public static final String API_QUESTION_SUBMIT = "/v1/app/special/daily/ask_answer";
+
+    static {
+        // 查询接口是幂等的，可以多次重试
+        RetryPolicy queryRetry = new RetryPolicy(3, 1000, 8000);
+        setRetryPolicy(API_USER_INFO, queryRetry);
+        setRetryPolicy(API_MY_SCORE, queryRetry);
+        setRetryPolicy(API_TASK_LIST, queryRetry);
+        setRetryPolicy(API_SIGN_LIST, queryRetry);
+        setRetryPolicy(API_ARTICLE_LIST, queryRetry);
+        setRetryPolicy(API_ARTICLE_DETAIL, queryRetry);
+        setRetryPolicy(API_QUESTION_INFO, queryRetry);
+        // 签到、文章积分、答题不是幂等的：超时或 5xx 时服务器可能已经处理，重试只会得到"已完成"的业务错误，
+        // 因此只在连接失败（请求确定没有发出）时重试一次
+        RetryPolicy submitRetry = RetryPolicy.unsentOnly(2, 2000, 8000);
+        setRetryPolicy(API_SIGN_SUBMIT, submitRetry);
+        setRetryPolicy(API_TASK_SCORE, submitRetry);
+        setRetryPolicy(API_QUESTION_SUBMIT, submitRetry);
+
+        resetRateLimits();
+    }
+
+    /**
+     * 恢复默认限流：查询类接口较宽松，提交类接口较严格
+     */
+    public static void resetRateLimits() {
+        setRateLimit(API_USER_INFO, 2, 5);
+        setRateLimit(API_MY_SCORE, 2, 5);
+        setRateLimit(API_TASK_LIST, 2, 5);
+        setRateLimit(API_SIGN_LIST, 1, 3);
+        setRateLimit(API_SIGN_SUBMIT, 0.5, 2);
+        setRateLimit(API_ARTICLE_LIST, 1, 3);
+        setRateLimit(API_ARTICLE_DETAIL, 1, 3);
+        setRateLimit(API_TASK_SCORE, 0.5, 2);
+        setRateLimit(API_QUESTION_INFO, 1, 3);
+        setRateLimit(API_QUESTION_SUBMIT, 0.5, 2);
+    }
+
+    /**
+     * 获取带有默认请求头的Request.Builder
+     * <p>
+     * 自动添加token和device请求头
+     * </p>
+     *
+     * @param token 用户认证token
+     * @return 带有默认请求头的Request.Builder实例
+     */
+    @NonNull
+    private static Request.Builder getRequestBuilder(String token) {
+        return new Request.Builder().addHeader("token", token).addHeader("device", "mp"); // 添加device=mp头
+    }
+
+    /**
+     * 创建异步请求调度器
+     * <p>
+     * 默认每个 host 只允许 5 个并发请求，多账号并行时会在 OkHttp 内部排队，这里适当放宽
+     * </p>
+     *
+     * @return 请求调度器
+     */
+    @NonNull
+    private static Dispatcher createDispatcher() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(64);
+        dispatcher.setMaxRequestsPerHost(16);
+        return dispatcher;
+    }
+
+    /**
+     * 设置 bm2-api 接口地址，之后发出的请求生效
+     *
+     * @param url 协议 + 主机 + 端口，例如 http://127.0.0.1:8080，末尾的 / 会被去掉
+     */
+    public static void setBaseUrl(@NonNull String url) {
+        baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    @NonNull
+    public static String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * 设置端点的限流参数，对所有账号共同生效
+     *
+     * @param endpoint         端点常量，例如 {@link #API_SIGN_LIST}
+     * @param permitsPerSecond 每秒允许的请求数
+     * @param burst            允许的最大突发请求数
+     */
+    public static void setRateLimit(@NonNull String endpoint, double permitsPerSecond, int burst) {
+        rateLimiters.compute(endpoint, (key, limiter) -> {
+            if (limiter == null) {
+                return new RateLimiter(permitsPerSecond, burst);
+            }
+            // 保留已有限流器，正在排队的请求不受影响
+            limiter.setRate(permitsPerSecond, burst);
+            return limiter;
+        });
+    }
+
+    /**
+     * 取消端点的限流
+     *
+     * @param endpoint 端点常量
+     */
+    public static void removeRateLimit(@NonNull String endpoint) {
+        rateLimiters.remove(endpoint);
+    }
+
+    /**
+     * 取消所有端点的限流，只用于本地模拟服务器，之后可用 {@link #resetRateLimits()} 恢复
+     */
+    public static void clearRateLimits() {
+        rateLimiters.clear();
+    }
+
+    /**
+     * 设置端点的重试策略
+     *
+     * @param endpoint 端点常量
+     * @param policy   重试策略，{@link RetryPolicy#NONE} 表示不重试
+     */
+    public static void setRetryPolicy(@NonNull String endpoint, @NonNull RetryPolicy policy) {
+        retryPolicies.put(endpoint, policy);
+    }
+
+    /**
+     * 获取所有 bm2-api 请求共用的熔断器
+     */
+    @NonNull
+    public static CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 响应处理器，在 OkHttp 回调线程中将 Response 转换为结果
+     *
+     * @param <T> 结果类型
+     */
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    /**
+     * 异步发送请求
+     * <p>
+     * 取消返回的 CompletableFuture 时会同时取消底层的 OkHttp Call。
+     * 端点配置了限流时先预订令牌，需要等待则推迟入队
+     * </p>
+     *
+     * @param name       接口名称，用于日志
+     * @param endpoint   端点常量，用于限流，为 null 时不限流
+     * @param httpClient 使用的 OkHttpClient
+     * @param request    请求
+     * @param handler    响应处理器，Response 会在处理结束后自动关闭
+     * @param <T>        结果类型
+     * @return 异步结果
+     */
+    @NonNull
+    private static <T> CompletableFuture<T> enqueue(String name, String endpoint, OkHttpClient httpClient, Request request, ResponseHandler<T> handler) {
+        Call call = httpClient.newCall(request);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        Callback callback = new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                ApiException exception = ApiException.transport(e);
+                if (!call.isCanceled()) {
+                    ApiLogger.error(name, exception);
+                }
+                future.completeExceptionally(exception);
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                try (response) {
+                    future.complete(handler.handle(response));
+                } catch (Exception e) {
+                    ApiLogger.error(name, e);
+                    future.completeExceptionally(e);
+                }
+            }
+        };
+
+        RateLimiter limiter = endpoint != null ? rateLimiters.get(endpoint) : null;
+        long delayNanos = limiter != null ? limiter.reserve() : 0;
+        if (delayNanos > 0) {
+            // 等待期间被取消的 Call 入队后会立即以 onFailure 结束
+            scheduler.schedule(() -> call.enqueue(callback), delayNanos, TimeUnit.NANOSECONDS);
+        } else {
+            call.enqueue(callback);
+        }
+        return future;
+    }
+
+    /**
+     * 同步等待异步请求结果
+     * <p>
+     * 保持同步方法原有的异常语义：接口错误以 ApiException（IOException 子类）抛出
+     * </p>
+     *
+     * @param future 异步结果
+     * @param <T>    结果类型
+     * @return 请求结果
+     * @throws IOException 如果网络请求失败、服务器返回错误或等待被中断
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("请求被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 统一的接口执行流程
+     * <p>
+     * 检查 HTTP 状态码 → 从响应流读取外层结构 → 检查业务 code → 返回 data，
+     * 任一环节失败都以已分类的 ApiException 结束；可重试的失败按端点的重试策略重新发出
+     * </p>
+     *
+     * @param name       接口名称，用于日志
+     * @param endpoint   端点常量，用于限流
+     * @param request    请求
+     * @param dataReader data 部分的读取器
+     * @param <T>        data 的类型
+     * @return data 的异步结果
+     */
+    @NonNull
+    private static <T> CompletableFuture<T> execute(String name, String endpoint, Request request, ApiResponse.DataReader<T> dataReader) {
+        ResponseHandler<T> handler = response -> {
+            if (!response.isSuccessful()) {
+                if (response.code() == 403) {
+                    throw ApiException.tokenExpired();
+                }
+                throw ApiException.http(response.code());
+            }
+
+            // 同一次调用的日志使用同一个采样结果；响应体通过 peekBody 读取，不影响后续流式解码
+            boolean sampled = ApiLogger.isLoggable(ApiLogger.Level.DEBUG) && ApiLogger.sample(name);
+            if (sampled && ApiLogger.isLoggable(ApiLogger.Level.BODY)) {
+                ApiLogger.body(name, response.peekBody(ApiLogger.getMaxBodyChars() * 4L).string());
+            }
+
+            ApiResponse<T> apiResponse = readResponse(response, dataReader);
+            if (sampled) {
+                ApiLogger.debug(name, apiResponse);
+            }
+
+            if (!apiResponse.isSuccess()) {
+                throw ApiException.business(apiResponse.getCode(), apiResponse.getMsg());
+            }
+            return apiResponse.getData();
+        };
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> current = new AtomicReference<>();
+        // 取消时同时取消正在进行的那次请求
+        result.whenComplete((value, throwable) -> {
+            CompletableFuture<T> attempt = current.get();
+            if (result.isCancelled() && attempt != null) {
+                attempt.cancel(true);
+            }
+        });
+        executeAttempt(name, endpoint, request, handler, retryPolicies.getOrDefault(endpoint, RetryPolicy.NONE), 1, result, current);
+        return result;
+    }
+
+    /**
+     * 发出一次请求，失败且可重试时按退避时间安排下一次
+     *
+     * @param attempt 本次是第几次请求，从 1 开始
+     * @param result  最终结果
+     * @param current 当前这次请求，用于取消
+     */
+    private static <T> void executeAttempt(String name, String endpoint, Request request, ResponseHandler<T> handler, RetryPolicy policy, int attempt, CompletableFuture<T> result, AtomicReference<CompletableFuture<T>> current) {
+        if (result.isDone()) {
+            return;
+        }
+        if (!circuitBreaker.allowRequest()) {
+            result.completeExceptionally(ApiException.circuitOpen());
+            return;
+        }
+
+        CompletableFuture<T> future = enqueue(name, endpoint, client, request, handler);
+        current.set(future);
+        if (result.isCancelled()) {
+            future.cancel(true);
+        }
+        future.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                circuitBreaker.recordSuccess();
+                result.complete(value);
+                return;
+            }
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (cause instanceof CancellationException) {
+                circuitBreaker.release();
+                return;
+            }
+
+            boolean retryable = cause instanceof ApiException && ((ApiException) cause).isRetryable();
+            ApiException.Kind kind = cause instanceof ApiException ? ((ApiException) cause).getKind() : null;
+            if (retryable || kind == ApiException.Kind.MALFORMED) {
+                // 截断的响应或网关返回的 HTML 错误页同样说明服务器不正常
+                circuitBreaker.recordFailure();
+            } else if (kind == ApiException.Kind.TOKEN_EXPIRED || kind == ApiException.Kind.BUSINESS) {
+                // Token 过期、业务错误说明服务器可以正常响应
+                circuitBreaker.recordSuccess();
+            } else {
+                // 其他 4xx 等无法判断服务器状态，不计入
+                circuitBreaker.release();
+            }
+
+            if (retryable && policy.shouldRetry((ApiException) cause) && policy.canRetry(attempt) && circuitBreaker.getState() == CircuitBreaker.State.CLOSED && !result.isDone()) {
+                long delayMillis = policy.backoffMillis(attempt);
+                ApiLogger.info(name, String.format(Locale.ROOT, "第 %d 次请求失败，%d ms 后重试: %s", attempt, delayMillis, cause.getMessage()));
+                scheduler.schedule(() -> executeAttempt(name, endpoint, request, handler, policy, attempt + 1, result, current), delayMillis, TimeUnit.MILLISECONDS);
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    /**
+     * 从响应流中读取外层结构，data 部分由 dataReader 解析
+     *
+     * @param response   响应
+     * @param dataReader data 部分的读取器
+     * @param <T>        data 的类型
+     * @return 响应对象
+     * @throws ApiException 读取 body 时网络中断，或响应格式错误
+     */
+    @NonNull
+    private static <T> ApiResponse<T> readResponse(Response response, ApiResponse.DataReader<T> dataReader) throws ApiException {
+        try (JsonReader reader = new JsonReader(response.body().charStream())) {
+            return ApiResponse.read(reader, dataReader);
+        } catch (MalformedJsonException | EOFException e) {
+            throw ApiException.malformed(e);
+        } catch (IOException e) {
+            throw ApiException.transport(e);
+        } catch (RuntimeException e) {
+            // JsonReader 遇到类型不符时抛出 IllegalStateException / NumberFormatException
+            throw ApiException.malformed(e);
+        }
+    }
+
+    /**
+     * 获取用户信息
+     *
+     * @param token 用户认证token
+     * @return 用户信息对象
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    @NonNull
+    public static User getUserInfo(String token) throws IOException {
+        return await(getUserInfoAsync(token));
+    }
+
+    /**
+     * 异步获取用户信息
+     *
+     * @param token 用户认证token
+     * @return 用户信息对象的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<User> getUserInfoAsync(String token) {
+        Request request = getRequestBuilder(token).url(baseUrl + API_USER_INFO).build();
+
+        // 手动传入 token，因为 data 中没有这个字段，而 User 类需要它
+        return execute("getUserInfo", API_USER_INFO, request, reader -> User.read(reader, token));
+    }
+
+    /**
+     * 获取用户积分信息
+     *
+     * @param token 用户认证token
+     * @return 积分信息
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static ScoreInfo getScore(String token) throws IOException {
+        return await(getScoreAsync(token));
+    }
+
+    /**
+     * 异步获取用户积分信息
+     *
+     * @param token 用户认证token
+     * @return 积分信息的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<ScoreInfo> getScoreAsync(String token) {
+        Request request = getRequestBuilder(token).url(baseUrl + API_MY_SCORE + "?page_no=1&page_size=5").build();
+
+        return execute("getScore", API_MY_SCORE, request, ScoreInfo::read);
+    }
+
+    /**
+     * 获取任务状态信息
+     * <p>
+     * 包括签到、浏览文章、答题等任务的完成状态
+     * </p>
+     *
+     * @param token 用户认证token
+     * @return 任务状态对象
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    @NonNull
+    public static TaskStatus getTaskStatus(String token) throws IOException {
+        return await(getTaskStatusAsync(token));
+    }
+
+    /**
+     * 异步获取任务状态信息
+     *
+     * @param token 用户认证token
+     * @return 任务状态对象的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<TaskStatus> getTaskStatusAsync(String token) {
+        Request request = getRequestBuilder(token).url(baseUrl + API_TASK_LIST).build();
+
+        return execute("getTaskStatus", API_TASK_LIST, request, TaskStatus::read);
+    }
+
+    /**
+     * 获取签到信息
+     * <p>
+     * 包括签到所需的hid和hash等参数，用于后续的签到提交
+     * </p>
+     *
+     * @param token 用户认证token
+     * @return 签到信息
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static SignInfo getSignInfo(String token) throws IOException {
+        return await(getSignInfoAsync(token));
+    }
+
+    /**
+     * 异步获取签到信息
+     *
+     * @param token 用户认证token
+     * @return 签到信息的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<SignInfo> getSignInfoAsync(String token) {
+        Request request = getRequestBuilder(token).url(baseUrl + API_SIGN_LIST).build();
+
+        return execute("getSignInfo", API_SIGN_LIST, request, SignInfo::read);
+    }
+
+    /**
+     * 提交签到信息
+     *
+     * @param token      用户认证token
+     * @param hid        签到任务ID
+     * @param rewardHash 签到奖励哈希值
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static void submitSign(String token, String hid, String rewardHash) throws IOException {
+        await(submitSignAsync(token, hid, rewardHash));
+    }
+
+    /**
+     * 异步提交签到信息
+     *
+     * @param token      用户认证token
+     * @param hid        签到任务ID
+     * @param rewardHash 签到奖励哈希值
+     * @return 提交结果的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<Void> submitSignAsync(String token, String hid, String rewardHash) {
+        JsonObject jsonBody = new JsonObject();
+        jsonBody.addProperty("hid", hid);
+        jsonBody.addProperty("hash", rewardHash);
+        jsonBody.addProperty("sm_deviceId", "");
+        jsonBody.add("ctu_token", null);
+
+        RequestBody body = RequestBody.create(jsonBody.toString(), MediaType.parse("application/json; charset=utf-8"));
+
+        Request request = getRequestBuilder(token).url(baseUrl + API_SIGN_SUBMIT).post(body).build();
+
+        // data 不需要，直接跳过
+        return execute("submitSign", API_SIGN_SUBMIT, request, reader -> {
+            reader.skipValue();
+            return null;
+        });
+    }
+
+    /**
+     * 获取文章列表
+     * <p>
+     * 用于获取可浏览的文章列表，支持分页
+     * </p>
+     *
+     * @param token 用户认证token
+     * @return 文章列表
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static ArticleList getArticleList(String token) throws IOException {
+        return await(getArticleListAsync(token));
+    }
+
+    /**
+     * 异步获取文章列表
+     *
+     * @param token 用户认证token
+     * @return 文章列表的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<ArticleList> getArticleListAsync(String token) {
+        Request request = getRequestBuilder(token).url(baseUrl + API_ARTICLE_LIST + "?page_no=1&page_size=20&type_hid=").build();
+
+        return execute("getArticleList", API_ARTICLE_LIST, request, ArticleList::read);
+    }
+
+    /**
+     * 浏览文章详情
+     * <p>
+     * 用于标记文章已浏览，完成浏览文章任务
+     * </p>
+     *
+     * @param token     用户认证token
+     * @param articleId 文章ID
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static void viewArticle(String token, String articleId) throws IOException {
+        await(viewArticleAsync(token, articleId));
+    }
+
+    /**
+     * 异步浏览文章详情
+     *
+     * @param token     用户认证token
+     * @param articleId 文章ID
+     * @return 浏览结果的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<Void> viewArticleAsync(String token, String articleId) {
+        Request request = getRequestBuilder(token).url(baseUrl + String.format(API_ARTICLE_DETAIL, articleId)).build();
+
+        // data 不需要，直接跳过
+        return execute("viewArticle", API_ARTICLE_DETAIL, request, reader -> {
+            reader.skipValue();
+            return null;
+        });
+    }
+
+    /**
+     * 提交文章浏览积分
+     * <p>
+     * 在完成文章浏览后调用，用于获取相应积分
+     * </p>
+     *
+     * @param token 用户认证token
+     * @return 积分获取结果
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static ArticleScore submitArticleScore(String token) throws IOException {
+        return await(submitArticleScoreAsync(token));
+    }
+
+    /**
+     * 异步提交文章浏览积分
+     *
+     * @param token 用户认证token
+     * @return 积分获取结果的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<ArticleScore> submitArticleScoreAsync(String token) {
+        JsonObject jsonBody = new JsonObject();
+        jsonBody.addProperty("ctu_token", "");
+        jsonBody.addProperty("action", 12);
+
+        RequestBody body = RequestBody.create(jsonBody.toString(), MediaType.parse("application/json; charset=utf-8"));
+
+        Request request = getRequestBuilder(token).url(baseUrl + API_TASK_SCORE).post(body).build();
+
+        return execute("submitArticleScore", API_TASK_SCORE, request, ArticleScore::read);
+    }
+
+    /**
+     * 获取每日答题信息
+     * <p>
+     * 包括题目内容、选项、正确答案等信息
+     * </p>
+     *
+     * @param token 用户认证token
+     * @return 答题信息
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static QuestionInfo getQuestionInfo(String token) throws IOException {
+        return await(getQuestionInfoAsync(token));
+    }
+
+    /**
+     * 异步获取每日答题信息
+     *
+     * @param token 用户认证token
+     * @return 答题信息的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<QuestionInfo> getQuestionInfoAsync(String token) {
+        String date = new SimpleDateFormat("yyyyMMdd", Locale.getDefault()).format(new Date());
+        Request request = getRequestBuilder(token).url(baseUrl + API_QUESTION_INFO + "?date=" + date).build();
+
+        return execute("getQuestionInfo", API_QUESTION_INFO, request, QuestionInfo::read);
+    }
+
+    /**
+     * 提交答题答案
+     * <p>
+     * 用于提交每日答题的答案，可选择分享给其他用户
+     * </p>
+     *
+     * @param token        用户认证token
+     * @param questionId   题目ID
+     * @param answer       答案内容
+     * @param shareUserHid 分享用户ID（可选）
+     * @return 答题结果
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static AnswerResult submitQuestionAnswer(String token, String questionId, String answer, String shareUserHid) throws IOException {
+        return await(submitQuestionAnswerAsync(token, questionId, answer, shareUserHid));
+    }
+
+    /**
+     * 异步提交答题答案
+     *
+     * @param token        用户认证token
+     * @param questionId   题目ID
+     * @param answer       答案内容
+     * @param shareUserHid 分享用户ID（可选）
+     * @return 答题结果的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<AnswerResult> submitQuestionAnswerAsync(String token, String questionId, String answer, String shareUserHid) {
+        JsonObject jsonBody = new JsonObject();
+        jsonBody.addProperty("answer", answer);
+        jsonBody.addProperty("questions_hid", questionId);
+        jsonBody.addProperty("ctu_token", "");
+
+        // 如果有 shareUserHid，添加日期和分享用户 hid
+        if (shareUserHid != null && !shareUserHid.isEmpty()) {
+            SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd", Locale.getDefault());
+            jsonBody.addProperty("date", sdf.format(new Date()));
+            jsonBody.addProperty("share_user_hid", shareUserHid);
+        }
+
+        RequestBody body = RequestBody.create(jsonBody.toString(), MediaType.parse("application/json; charset=utf-8"));
+
+        Request request = getRequestBuilder(token).url(baseUrl + API_QUESTION_SUBMIT).post(body).build();
+
+        return execute("submitQuestionAnswer", API_QUESTION_SUBMIT, request, AnswerResult::read);
+    }
+
+    /**
+     * 调用AI API进行问答
+     * <p>
+     * 支持自定义模型、请求参数和API地址，用于获取AI生成的回答
+     * </p>
+     *
+     * @param aiApiKey        AI API密钥
+     * @param aiRequestUrl    AI API请求地址
+     * @param aiModel         AI模型名称
+     * @param aiRequestParams AI请求参数（JSON格式，可选）
+     * @param question        问题内容
+     * @return AI生成的回答
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static String askAI(String aiApiKey, String aiRequestUrl, String aiModel, String aiRequestParams, String question) throws IOException {
+        return await(askAIAsync(aiApiKey, aiRequestUrl, aiModel, aiRequestParams, question));
+    }
+
+    /**
+     * 异步调用AI API进行问答
+     *
+     * @param aiApiKey        AI API密钥
+     * @param aiRequestUrl    AI API请求地址
+     * @param aiModel         AI模型名称
+     * @param aiRequestParams AI请求参数（JSON格式，可选）
+     * @param question        问题内容
+     * @return AI生成的回答的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<String> askAIAsync(String aiApiKey, String aiRequestUrl, String aiModel, String aiRequestParams, String question) {
+        Request request = buildAiRequest(aiApiKey, aiRequestUrl, aiModel, aiRequestParams, question, false);
+
+        return enqueue("askAI", null, aiClient, request, response -> {
+            if (response.isSuccessful()) {
+                String json = response.body().string();
+                if (ApiLogger.isLoggable(ApiLogger.Level.BODY) && ApiLogger.sample("askAI")) {
+                    ApiLogger.body("askAI", json);
+                }
+
+                return readAiContent(json);
+            } else {
+                throw ApiException.http(response.code());
+            }
+        });
+    }
+
+    /**
+     * 以流式（SSE）方式调用AI API进行问答
+     * <p>
+     * 请求时带上 stream: true，边接收边拼接回答，stopWhen 返回 true 时立即结束并关闭连接，
+     * 不再等待剩余内容；服务器不支持流式输出时按普通响应解析
+     * </p>
+     *
+     * @param aiApiKey        AI API密钥
+     * @param aiRequestUrl    AI API请求地址
+     * @param aiModel         AI模型名称
+     * @param aiRequestParams AI请求参数（JSON格式，可选）
+     * @param question        问题内容
+     * @param stopWhen        已接收的回答满足条件时提前结束，例如已出现有效的选项字母
+     * @return 已接收的回答
+     * @throws IOException 如果网络请求失败或服务器返回错误
+     */
+    public static String askAIStream(String aiApiKey, String aiRequestUrl, String aiModel, String aiRequestParams, String question, Predicate<CharSequence> stopWhen) throws IOException {
+        return await(askAIStreamAsync(aiApiKey, aiRequestUrl, aiModel, aiRequestParams, question, stopWhen));
+    }
+
+    /**
+     * 异步以流式（SSE）方式调用AI API进行问答
+     *
+     * @param aiApiKey        AI API密钥
+     * @param aiRequestUrl    AI API请求地址
+     * @param aiModel         AI模型名称
+     * @param aiRequestParams AI请求参数（JSON格式，可选）
+     * @param question        问题内容
+     * @param stopWhen        已接收的回答满足条件时提前结束，例如已出现有效的选项字母
+     * @return 已接收的回答的异步结果
+     */
+    @NonNull
+    public static CompletableFuture<String> askAIStreamAsync(String aiApiKey, String aiRequestUrl, String aiModel, String aiRequestParams, String question, Predicate<CharSequence> stopWhen) {
+        Request request = buildAiRequest(aiApiKey, aiRequestUrl, aiModel, aiRequestParams, question, true);
+
+        return enqueue("askAIStream", null, aiClient, request, response -> {
+            if (!response.isSuccessful()) {
+                throw ApiException.http(response.code());
+            }
+
+            MediaType contentType = response.body().contentType();
+            if (contentType == null || !"event-stream".equals(contentType.subtype())) {
+                // 服务器忽略了 stream 参数，返回的是完整响应
+                String json = response.body().string();
+                if (ApiLogger.isLoggable(ApiLogger.Level.BODY) && ApiLogger.sample("askAIStream")) {
+                    ApiLogger.body("askAIStream", json);
+                }
+                return readAiContent(json);
+            }
+
+            // 逐行读取 SSE 事件，只处理 data 行；提前返回时 Response 被关闭，连接随之中断
+            StringBuilder content = new StringBuilder();
+            BufferedSource source = response.body().source();
+            String line;
+            while ((line = source.readUtf8Line()) != null) {
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                String data = line.substring(5).trim();
+                if (data.equals("[DONE]")) {
+                    break;
+                }
+                String delta = readAiStreamDelta(data);
+                if (delta != null) {
+                    content.append(delta);
+                    if (stopWhen.test(content)) {
+                        break;
+                    }
+                }
+            }
+            if (ApiLogger.isLoggable(ApiLogger.Level.BODY) && ApiLogger.sample("askAIStream")) {
+                ApiLogger.body("askAIStream", content.toString());
+            }
+            return content.toString();
+        });
+    }
+
+    /**
+     * 构建 chat/completions 请求
+     *
+     * @param stream 是否使用流式输出
+     */
+    @NonNull
+    private static Request buildAiRequest(String aiApiKey, String aiRequestUrl, String aiModel, String aiRequestParams, String question, boolean stream) {
+        JsonObject jsonBody = new JsonObject();
+        jsonBody.addProperty("model", aiModel); // 使用参数传入的 model
+        JsonArray messagesArr = new JsonArray();
+        JsonObject messageSystemObj = new JsonObject();
+        messageSystemObj.addProperty("role", "system");
+        messageSystemObj.addProperty("content", "你是一位北京现代汽车品牌的专家，对车型配置非常熟悉。\n以下是一道单选题，请只从题目实际列出的选项里选择正确答案。\n注意：题目可能只给出 2 个或 3 个选项，并非永远 4 个。\n请仅输出对应选项的那个英文字母，不要输出任何其他字符。");
+        messagesArr.add(messageSystemObj);
+        JsonObject messageUserObj = new JsonObject();
+        messageUserObj.addProperty("role", "user");
+        messageUserObj.addProperty("content", question);
+        messagesArr.add(messageUserObj);
+        jsonBody.add("messages", messagesArr);
+
+        // 如果 aiRequestParams 不为空，尝试解析并添加到 jsonBody
+        if (aiRequestParams != null && !aiRequestParams.isEmpty()) {
+            try {
+                JsonObject params = gson.fromJson(aiRequestParams, JsonObject.class);
+                for (String key : params.keySet()) {
+                    jsonBody.add(key, params.get(key));
+                }
+            } catch (Exception e) {
+                // 忽略解析错误
+            }
+        }
+        // 流式输出由调用方决定，不受自定义参数影响
+        if (stream) {
+            jsonBody.addProperty("stream", true);
+        } else {
+            jsonBody.remove("stream");
+        }
+
+        return new Request.Builder().url(aiRequestUrl).addHeader("Authorization", "Bearer " + aiApiKey).post(RequestBody.create(jsonBody.toString(), MediaType.parse("application/json; charset=utf-8"))).build();
+    }
+
+    /**
+     * 从完整响应中读取回答内容：choices[0].message.content
+     */
+    private static String readAiContent(String json) {
+        JsonObject jsonObject = gson.fromJson(json, JsonObject.class);
+        return jsonObject.getAsJsonArray("choices").get(0).getAsJsonObject().getAsJsonObject("message").get("content").getAsString();
+    }
+
+    /**
+     * 从流式事件中读取本次增量：choices[0].delta.content，没有内容（例如只有 role 或结束标记）时返回 null
+     */
+    private static String readAiStreamDelta(String data) {
+        try {
+            JsonObject event = gson.fromJson(data, JsonObject.class);
+            JsonArray choices = event != null ? event.getAsJsonArray("choices") : null;
+            if (choices == null || choices.isEmpty()) {
+                return null;
+            }
+            JsonObject delta = choices.get(0).getAsJsonObject().getAsJsonObject("delta");
+            if (delta == null || !delta.has("content") || delta.get("content").isJsonNull()) {
+                return null;
+            }
+            return delta.get("content").getAsString();
+        } catch (RuntimeException e) {
+            // 忽略无法解析的事件，例如服务器的心跳注释
+            return null;
+        }
+    }
+}
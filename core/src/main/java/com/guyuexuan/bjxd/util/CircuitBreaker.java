@@ -0,0 +1,151 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 熔断器
+ * <p>
+ * 连续失败达到阈值后打开，打开期间的请求直接失败而不发出；打开时间结束后进入半开状态，
+ * 只放行一个探测请求：成功则关闭，失败则再次打开，且打开时间加倍（不超过上限）。
+ * 只有超时、网络错误、5xx、响应格式错误这类说明服务器不可用的失败才应记为失败。
+ * </p>
+ */
+public class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openNanos;
+    private final long maxOpenNanos;
+    private final LongSupplier nanoClock;
+    private State state = State.CLOSED;
+    private int failures = 0; // 关闭状态下的连续失败次数
+    private int trips = 0; // 连续打开次数，探测成功后清零
+    private long openUntilNanos = 0;
+    private boolean probing = false; // 半开状态下是否已有探测请求在途
+
+    /**
+     * @param failureThreshold 连续失败多少次后打开
+     * @param openMillis       首次打开的时间
+     * @param maxOpenMillis    打开时间上限
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis, long maxOpenMillis) {
+        this(failureThreshold, openMillis, maxOpenMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, long maxOpenMillis, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.maxOpenNanos = Math.max(openNanos, TimeUnit.MILLISECONDS.toNanos(maxOpenMillis));
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 请求发出前调用，判断是否放行
+     *
+     * @return true 表示放行，调用方之后必须调用 recordSuccess / recordFailure / release 之一
+     */
+    public synchronized boolean allowRequest() {
+        switch (currentState()) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probing) {
+                    return false;
+                }
+                probing = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 请求成功，或服务器正常返回了业务错误
+     */
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        failures = 0;
+        trips = 0;
+        probing = false;
+    }
+
+    /**
+     * 请求因服务器不可用而失败
+     */
+    public synchronized void recordFailure() {
+        State current = currentState();
+        probing = false;
+        if (current == State.HALF_OPEN || (current == State.CLOSED && ++failures >= failureThreshold)) {
+            trip();
+        }
+    }
+
+    /**
+     * 请求被取消或结果无法判断服务器状态，不计入成功或失败
+     */
+    public synchronized void release() {
+        probing = false;
+    }
+
+    @NonNull
+    public synchronized State getState() {
+        return currentState();
+    }
+
+    /**
+     * 获取连续打开的次数，探测成功后清零。次数持续增加说明服务器长时间不可用
+     */
+    public synchronized int getConsecutiveTrips() {
+        return trips;
+    }
+
+    /**
+     * 获取距离进入半开状态的剩余时间
+     *
+     * @return 剩余毫秒数，未打开时为 0
+     */
+    public synchronized long getRemainingOpenMillis() {
+        if (currentState() != State.OPEN) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(openUntilNanos - nanoClock.getAsLong()));
+    }
+
+    private void trip() {
+        trips++;
+        failures = 0;
+        long duration = openNanos << Math.min(trips - 1, 20);
+        if (duration <= 0 || duration > maxOpenNanos) {
+            duration = maxOpenNanos;
+        }
+        state = State.OPEN;
+        openUntilNanos = nanoClock.getAsLong() + duration;
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openUntilNanos >= 0) {
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+        return state;
+    }
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        /**
+         * 正常放行
+         */
+        CLOSED,
+        /**
+         * 拒绝所有请求
+         */
+        OPEN,
+        /**
+         * 只放行一个探测请求
+         */
+        HALF_OPEN
+    }
+}
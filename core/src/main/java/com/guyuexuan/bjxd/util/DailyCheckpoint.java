@@ -0,0 +1,142 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.guyuexuan.bjxd.model.JournalEntry;
+import com.guyuexuan.bjxd.model.TaskStatus;
+
+import java.util.Calendar;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 当天各账号各任务（答题、签到、浏览文章、积分详情）的完成检查点
+ * <p>
+ * 检查点以 done 记录写入运行日志并立即落盘；任务中断（界面被销毁、进程被杀）后再次运行时，
+ * 从运行日志中读出当天的检查点，已全部完成的账号不再发起任何请求，也不再等待账号间隔，
+ * 未完成的账号从第一个未完成的任务继续。
+ * </p>
+ */
+public class DailyCheckpoint {
+    private static final String[] ACCOUNT_TASKS = {JournalEntry.TASK_QUESTION, JournalEntry.TASK_SIGN, JournalEntry.TASK_VIEW};
+
+    @Nullable
+    private final RunJournal journal;
+    private final String runId;
+    private final Map<String, Set<String>> done = new ConcurrentHashMap<>(); // 手机号 -> 已完成的任务
+    private final Map<String, JournalEntry> scores = new ConcurrentHashMap<>(); // 手机号 -> 当天最后一次积分详情
+
+    private DailyCheckpoint(@Nullable RunJournal journal, String runId) {
+        this.journal = journal;
+        this.runId = runId;
+    }
+
+    /**
+     * 从运行日志中读取今天的检查点
+     *
+     * @param journal 运行日志，为 null 时检查点只保存在内存中
+     * @param runId   本次运行的 ID，写入新检查点时使用
+     */
+    @NonNull
+    public static DailyCheckpoint loadToday(@Nullable RunJournal journal, String runId) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        long start = calendar.getTimeInMillis();
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        return load(journal, runId, start, calendar.getTimeInMillis());
+    }
+
+    /**
+     * 读取时间在 [startMillis, endMillis) 内的检查点
+     */
+    @NonNull
+    static DailyCheckpoint load(@Nullable RunJournal journal, String runId, long startMillis, long endMillis) {
+        DailyCheckpoint checkpoint = new DailyCheckpoint(journal, runId);
+        if (journal != null) {
+            journal.scan(entry -> {
+                if (entry.getTime() < startMillis || entry.getTime() >= endMillis || entry.getPhone() == null) {
+                    return true;
+                }
+                if (JournalEntry.TYPE_DONE.equals(entry.getType()) && entry.getTask() != null) {
+                    checkpoint.tasksOf(entry.getPhone()).add(entry.getTask());
+                } else if (JournalEntry.TYPE_SCORE.equals(entry.getType())) {
+                    checkpoint.scores.put(entry.getPhone(), entry);
+                }
+                return true;
+            });
+        }
+        return checkpoint;
+    }
+
+    /**
+     * 该账号的任务今天是否已完成
+     */
+    public boolean isDone(String phone, String task) {
+        Set<String> tasks = done.get(phone);
+        return tasks != null && tasks.contains(task);
+    }
+
+    /**
+     * 该账号的答题、签到、浏览文章今天是否都已完成
+     */
+    public boolean isAccountDone(String phone) {
+        for (String task : ACCOUNT_TASKS) {
+            if (!isDone(phone, task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 当天最后一次记录的积分详情
+     *
+     * @return 没有记录时为 null
+     */
+    @Nullable
+    public JournalEntry getScore(String phone) {
+        return scores.get(phone);
+    }
+
+    /**
+     * 标记任务已完成并立即落盘，已标记过时不重复写入
+     */
+    public void markDone(String phone, String task) {
+        if (!tasksOf(phone).add(task) || journal == null) {
+            return;
+        }
+        journal.append(JournalEntry.done(runId, phone, task));
+        journal.checkpoint();
+    }
+
+    /**
+     * 合并服务器返回的任务状态和检查点：任一方已完成即视为已完成，
+     * 服务器已完成而检查点没有记录的补写检查点
+     */
+    public void merge(String phone, TaskStatus status) {
+        if (status.isQuestionCompleted()) {
+            markDone(phone, JournalEntry.TASK_QUESTION);
+        } else if (isDone(phone, JournalEntry.TASK_QUESTION)) {
+            status.setQuestionCompleted(true);
+        }
+        if (status.isSignCompleted()) {
+            markDone(phone, JournalEntry.TASK_SIGN);
+        } else if (isDone(phone, JournalEntry.TASK_SIGN)) {
+            status.setSignCompleted(true);
+        }
+        if (status.isViewCompleted()) {
+            markDone(phone, JournalEntry.TASK_VIEW);
+        } else if (isDone(phone, JournalEntry.TASK_VIEW)) {
+            status.setViewCompleted(true);
+        }
+    }
+
+    private Set<String> tasksOf(String phone) {
+        return done.computeIfAbsent(phone, key -> ConcurrentHashMap.newKeySet());
+    }
+}
@@ -0,0 +1,94 @@
+package com.guyuexuan.bjxd.util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * JSON 流式读取工具类
+ * <p>
+ * 配合 Gson 的 JsonReader 使用，对服务器返回的类型不一致（null、数字写成字符串等）做宽松处理，
+ * 读取到不需要的结构时直接跳过，不构建中间对象
+ * </p>
+ */
+public class JsonUtil {
+
+    /**
+     * 进入对象，如果当前值不是对象则跳过
+     *
+     * @param reader JsonReader
+     * @return 成功进入对象返回 true，已跳过返回 false
+     * @throws IOException 读取失败
+     */
+    public static boolean beginObjectOrSkip(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            reader.beginObject();
+            return true;
+        }
+        reader.skipValue();
+        return false;
+    }
+
+    /**
+     * 进入数组，如果当前值不是数组则跳过
+     *
+     * @param reader JsonReader
+     * @return 成功进入数组返回 true，已跳过返回 false
+     * @throws IOException 读取失败
+     */
+    public static boolean beginArrayOrSkip(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            return true;
+        }
+        reader.skipValue();
+        return false;
+    }
+
+    /**
+     * 读取字符串，数字和布尔值会转换为字符串，null 或对象/数组返回 null
+     *
+     * @param reader JsonReader
+     * @return 字符串值
+     * @throws IOException 读取失败
+     */
+    public static String nextString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            case BOOLEAN:
+                return String.valueOf(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                reader.skipValue();
+                return null;
+        }
+    }
+
+    /**
+     * 读取整数，字符串形式的数字同样可以读取，其他情况返回默认值
+     *
+     * @param reader       JsonReader
+     * @param defaultValue 默认值
+     * @return 整数值
+     * @throws IOException 读取失败
+     */
+    public static int nextInt(JsonReader reader, int defaultValue) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            try {
+                return reader.nextInt();
+            } catch (NumberFormatException e) {
+                // 转换失败时 Gson 不会消费该值，需要跳过，否则后续读取字段名会失败
+                reader.skipValue();
+                return defaultValue;
+            }
+        }
+        reader.skipValue();
+        return defaultValue;
+    }
+}
@@ -0,0 +1,202 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 有界的任务日志缓冲
+ * <p>
+ * 任意线程调用 append 追加日志，先放入待显示队列；界面线程每帧调用一次 drain，
+ * 把这段时间积累的日志一次性移入固定容量的环形数组，超出容量时丢弃最早的日志。
+ * 待显示队列同样以环形数组容量为上限，界面长时间不 drain（如切到后台）时也只保留最新的日志。
+ * 界面只持有环形数组中的日志，内存占用不会随运行时间增长。
+ * </p>
+ * <p>
+ * 指定落盘文件时，所有日志同时按顺序写入该文件（带缓冲），导出时复制该文件，不受环形数组容量限制。
+ * </p>
+ */
+public class LogBuffer implements Closeable {
+    private final String[] ring;
+    private final ArrayDeque<String> pending = new ArrayDeque<>();
+    private int head = 0; // 最早一条日志在环形数组中的位置
+    private int size = 0;
+    private long totalCount = 0;
+    @Nullable
+    private final File spillFile;
+    @Nullable
+    private Writer spillWriter;
+
+    /**
+     * @param capacity  界面中最多保留的日志条数
+     * @param spillFile 完整日志的落盘文件，会被清空；为 null 时只能导出环形数组中的日志
+     */
+    public LogBuffer(int capacity, @Nullable File spillFile) {
+        this.ring = new String[Math.max(1, capacity)];
+        this.spillFile = spillFile;
+        if (spillFile != null) {
+            try {
+                spillWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spillFile, false), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                ApiLogger.error("LogBuffer", e);
+            }
+        }
+    }
+
+    /**
+     * 追加一条日志，可在任意线程调用
+     *
+     * @return 这是上次 drain 之后的第一条日志时返回 true，调用方据此安排一次界面刷新
+     */
+    public synchronized boolean append(@NonNull String line) {
+        totalCount++;
+        boolean first = pending.isEmpty();
+        if (pending.size() == ring.length) {
+            pending.pollFirst(); // 超过容量的日志 drain 时也会被丢弃，提前丢掉最早的一条
+        }
+        pending.addLast(line);
+        if (spillWriter != null) {
+            try {
+                spillWriter.write(line);
+                spillWriter.write('\n');
+            } catch (IOException e) {
+                ApiLogger.error("LogBuffer", e);
+                closeSpill();
+            }
+        }
+        return first;
+    }
+
+    /**
+     * 把待显示的日志移入环形数组，在界面线程调用
+     *
+     * @return 本次从头部移除和在尾部新增的条数
+     */
+    @NonNull
+    public synchronized Batch drain() {
+        int count = pending.size();
+        if (count == 0) {
+            return new Batch(0, 0);
+        }
+        // 待显示队列不超过容量，腾出位置只需移除环形数组头部的日志
+        int removed = Math.max(0, size + count - ring.length);
+        head = (head + removed) % ring.length;
+        size -= removed;
+        for (String line : pending) {
+            ring[(head + size) % ring.length] = line;
+            size++;
+        }
+        pending.clear();
+        return new Batch(removed, count);
+    }
+
+    /**
+     * 环形数组中的日志条数
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 环形数组中第 position 条日志（0 为最早的一条）
+     */
+    @NonNull
+    public synchronized String get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("position " + position + ", size " + size);
+        }
+        return ring[(head + position) % ring.length];
+    }
+
+    /**
+     * 累计追加的日志条数，包括已被丢弃的
+     */
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 导出完整日志到指定文件：有落盘文件时复制它，否则写出环形数组和待显示的日志
+     */
+    public void exportTo(@NonNull File target) throws IOException {
+        List<String> lines = null;
+        synchronized (this) {
+            if (spillWriter != null) {
+                spillWriter.flush();
+            } else {
+                lines = new ArrayList<>(size + pending.size());
+                for (int i = 0; i < size; i++) {
+                    lines.add(ring[(head + i) % ring.length]);
+                }
+                lines.addAll(pending);
+            }
+        }
+        // 落盘文件只追加，在锁外复制，不阻塞其他线程追加日志
+        if (lines == null) {
+            Files.copy(spillFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(target, false), StandardCharsets.UTF_8))) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeSpill();
+    }
+
+    private void closeSpill() {
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                ApiLogger.error("LogBuffer", e);
+            }
+            spillWriter = null;
+        }
+    }
+
+    /**
+     * 一次 drain 的结果，用于通知列表局部刷新
+     */
+    public static final class Batch {
+        private final int removed;
+        private final int inserted;
+
+        Batch(int removed, int inserted) {
+            this.removed = removed;
+            this.inserted = inserted;
+        }
+
+        /**
+         * 从头部移除的条数
+         */
+        public int getRemoved() {
+            return removed;
+        }
+
+        /**
+         * 在尾部新增的条数
+         */
+        public int getInserted() {
+            return inserted;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.guyuexuan.bjxd.util;
+
+import com.guyuexuan.bjxd.model.AiProvider;
+import com.guyuexuan.bjxd.model.AiProviderStats;
+import com.guyuexuan.bjxd.model.DailyAnswer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 只保存在内存中的任务存储：不使用 AI、不手动答题
+ * <p>
+ * 用于测试和基准测试中对模拟服务器运行任务，进程结束后数据丢失
+ * </p>
+ */
+public class MemoryTaskStorage implements TaskStorage {
+    private static final int MAX_DAILY_ANSWERS = 7;
+
+    private final List<DailyAnswer> answers = new ArrayList<>();
+    private Map<String, AiProviderStats> stats = new HashMap<>();
+
+    @Override
+    public List<AiProvider> getAiProviders() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isAiMajorityVote() {
+        return false;
+    }
+
+    @Override
+    public boolean isAiStream() {
+        return false;
+    }
+
+    @Override
+    public boolean isManualAnswer() {
+        return false;
+    }
+
+    @Override
+    public synchronized Map<String, AiProviderStats> getAiProviderStats() {
+        return new HashMap<>(stats);
+    }
+
+    @Override
+    public synchronized void saveAiProviderStats(Map<String, AiProviderStats> stats) {
+        this.stats = new HashMap<>(stats);
+    }
+
+    @Override
+    public synchronized DailyAnswer getDailyAnswer(String date, String questionsHid) {
+        DailyAnswer answer = DailyAnswer.find(answers, date, questionsHid);
+        return answer != null ? answer : new DailyAnswer(date, questionsHid);
+    }
+
+    @Override
+    public synchronized DailyAnswer recordDailyAnswer(String date, String questionsHid, String option, boolean correct) {
+        return DailyAnswer.record(answers, date, questionsHid, option, correct, MAX_DAILY_ANSWERS);
+    }
+}
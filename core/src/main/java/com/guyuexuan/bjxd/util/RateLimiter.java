@@ -0,0 +1,106 @@
+package com.guyuexuan.bjxd.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 令牌桶限流器
+ * <p>
+ * 令牌以固定速率补充，桶中最多保存 burst 个令牌。reserve 不会阻塞调用线程，
+ * 而是预订下一个令牌并返回需要等待的时间，令牌不足时后续调用依次排队，
+ * 调用方按返回的延时推迟请求即可，因此多个线程共用同一个限流器时总速率不会超过设定值。
+ * </p>
+ */
+public class RateLimiter {
+    private final LongSupplier nanoClock;
+    private double permitsPerSecond;
+    private int burst;
+    private double storedPermits; // 当前可用令牌数
+    private long nextFreeNanos; // 下一个令牌可用的时间点，令牌被透支时在当前时间之后
+
+    /**
+     * @param permitsPerSecond 每秒补充的令牌数
+     * @param burst            桶容量，即允许的最大突发请求数
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.nextFreeNanos = nanoClock.getAsLong();
+        setRate(permitsPerSecond, burst);
+        this.storedPermits = this.burst;
+    }
+
+    /**
+     * 修改速率和桶容量，已预订的令牌不受影响
+     *
+     * @param permitsPerSecond 每秒补充的令牌数，必须大于 0
+     * @param burst            桶容量，小于 1 时按 1 处理
+     */
+    public synchronized void setRate(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond 必须大于 0: " + permitsPerSecond);
+        }
+        refill(nanoClock.getAsLong());
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.storedPermits = Math.min(storedPermits, this.burst);
+    }
+
+    public synchronized double getRate() {
+        return permitsPerSecond;
+    }
+
+    public synchronized int getBurst() {
+        return burst;
+    }
+
+    /**
+     * 预订一个令牌
+     *
+     * @return 距离该令牌可用还需等待的纳秒数，0 表示可以立即执行
+     */
+    public synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        if (storedPermits >= 1) {
+            storedPermits -= 1;
+            return 0;
+        }
+        // 令牌不足，排在已预订的令牌之后，等待补足一个令牌
+        nextFreeNanos += (long) ((1 - storedPermits) * intervalNanos());
+        storedPermits = 0;
+        return nextFreeNanos - now;
+    }
+
+    /**
+     * 预订一个令牌并阻塞到令牌可用
+     *
+     * @throws InterruptedException 等待时被中断
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * 按经过的时间补充令牌
+     */
+    private void refill(long now) {
+        if (now > nextFreeNanos) {
+            // 构造时 setRate 先于速率赋值调用 refill，此时不补充
+            if (permitsPerSecond > 0) {
+                storedPermits = Math.min(burst, storedPermits + (now - nextFreeNanos) / (double) intervalNanos());
+            }
+            nextFreeNanos = now;
+        }
+    }
+
+    private long intervalNanos() {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+}
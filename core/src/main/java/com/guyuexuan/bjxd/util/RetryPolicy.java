@@ -0,0 +1,92 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 重试策略：指数退避加随机抖动
+ * <p>
+ * 第 n 次失败后等待 base * 2^(n-1)（不超过上限），实际等待时间在其一半到全部之间随机，
+ * 避免多个账号同时失败后又在同一时刻重试
+ * </p>
+ */
+public class RetryPolicy {
+    /**
+     * 不重试
+     */
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final boolean idempotent;
+
+    /**
+     * 幂等请求的重试策略：超时、网络错误和 5xx 都重试
+     *
+     * @param maxAttempts     最多请求次数（包含第一次）
+     * @param baseDelayMillis 第一次重试前的等待时间
+     * @param maxDelayMillis  等待时间上限
+     */
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this(maxAttempts, baseDelayMillis, maxDelayMillis, true);
+    }
+
+    private RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, boolean idempotent) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = Math.max(0, baseDelayMillis);
+        this.maxDelayMillis = Math.max(this.baseDelayMillis, maxDelayMillis);
+        this.idempotent = idempotent;
+    }
+
+    /**
+     * 非幂等请求（签到、领取积分、答题）的重试策略：只在请求确定没有发到服务器时重试，
+     * 超时或 5xx 时服务器可能已经处理，重试只会得到"已完成"的业务错误
+     */
+    @NonNull
+    public static RetryPolicy unsentOnly(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        return new RetryPolicy(maxAttempts, baseDelayMillis, maxDelayMillis, false);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * 该错误是否值得重试
+     */
+    public boolean shouldRetry(@NonNull ApiException e) {
+        return idempotent ? e.isRetryable() : e.isRetryable() && e.isUnsent();
+    }
+
+    /**
+     * 第 attempt 次请求失败后是否还能重试
+     *
+     * @param attempt 已完成的请求次数，从 1 开始
+     */
+    public boolean canRetry(int attempt) {
+        return attempt < maxAttempts;
+    }
+
+    /**
+     * 计算第 attempt 次请求失败后的等待时间
+     *
+     * @param attempt 已完成的请求次数，从 1 开始
+     * @return 等待毫秒数
+     */
+    public long backoffMillis(int attempt) {
+        long delay = baseDelayMillis << Math.min(Math.max(attempt - 1, 0), 20);
+        if (delay <= 0 || delay > maxDelayMillis) {
+            delay = maxDelayMillis;
+        }
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "RetryPolicy{maxAttempts=" + maxAttempts + ", baseDelayMillis=" + baseDelayMillis + ", maxDelayMillis=" + maxDelayMillis + ", idempotent=" + idempotent + "}";
+    }
+}
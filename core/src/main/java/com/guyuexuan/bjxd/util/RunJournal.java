@@ -0,0 +1,352 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.guyuexuan.bjxd.model.JournalEntry;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 运行日志：只追加的二进制文件，进程被杀后仍可知道每次运行做了什么
+ * <p>
+ * 文件由连续的记录组成：4 字节长度 + 4 字节 CRC32 + UTF-8 JSON（{@link JournalEntry}）。
+ * 写入先进入缓冲区，在检查点（运行开始、每个账号结束、运行结束）才写入文件并 fsync，
+ * 两次检查点之间进程被杀最多丢失一个账号的记录。打开时从头校验，截掉写入中断留下的不完整记录。
+ * </p>
+ * <p>
+ * 读取时把文件映射到内存逐条解码，不会一次性把所有运行读入内存。
+ * 文件超过大小上限时，下次打开会把它改名为 .1 后重新开始，读取时先读 .1 再读当前文件。
+ * </p>
+ */
+public class RunJournal {
+    public static final long DEFAULT_MAX_FILE_BYTES = 2 * 1024 * 1024;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private final File file;
+    private final File previousFile;
+    private final Gson gson = new Gson();
+    private final CRC32 crc = new CRC32();
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+
+    /**
+     * @param file         日志文件
+     * @param maxFileBytes 文件大小上限，打开时超过则轮换
+     */
+    public RunJournal(@NonNull File file, long maxFileBytes) {
+        this.file = file;
+        this.previousFile = new File(file.getPath() + ".1");
+        open(maxFileBytes);
+    }
+
+    /**
+     * 追加一条记录，只写入缓冲区，在下一个检查点落盘
+     */
+    public synchronized void append(@NonNull JournalEntry entry) {
+        if (out == null) {
+            return;
+        }
+        byte[] payload = gson.toJson(entry).getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MAX_RECORD_BYTES) {
+            return;
+        }
+        crc.reset();
+        crc.update(payload, 0, payload.length);
+        try {
+            out.writeInt(payload.length);
+            out.writeInt((int) crc.getValue());
+            out.write(payload);
+        } catch (IOException e) {
+            ApiLogger.error("RunJournal", e);
+            close();
+        }
+    }
+
+    /**
+     * 检查点：把缓冲区写入文件并 fsync，之后即使进程被杀记录也不会丢失
+     */
+    public synchronized void checkpoint() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.flush();
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            ApiLogger.error("RunJournal", e);
+            close();
+        }
+    }
+
+    /**
+     * 落盘并关闭文件，之后的追加被忽略
+     */
+    public synchronized void close() {
+        if (out != null) {
+            try {
+                out.flush();
+                fileOut.getFD().sync();
+            } catch (IOException e) {
+                ApiLogger.error("RunJournal", e);
+            }
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            out = null;
+            fileOut = null;
+        }
+    }
+
+    /**
+     * 按写入顺序遍历所有记录（先 .1 后当前文件），缓冲区中尚未写入的记录会先写入文件
+     *
+     * @param visitor 返回 false 时停止遍历
+     */
+    public void scan(@NonNull Visitor visitor) {
+        synchronized (this) {
+            if (out != null) {
+                try {
+                    out.flush();
+                } catch (IOException e) {
+                    ApiLogger.error("RunJournal", e);
+                }
+            }
+        }
+        if (scanFile(previousFile, visitor, gson) >= 0) {
+            scanFile(file, visitor, gson);
+        }
+    }
+
+    /**
+     * 汇总最近几次运行，遍历时只保留最近 limit 次的汇总
+     *
+     * @param limit 最多返回的运行次数
+     * @return 按时间顺序排列，最后一个是最近的运行
+     */
+    @NonNull
+    public List<RunSummary> summarizeRuns(int limit) {
+        LinkedHashMap<String, RunSummary> runs = new LinkedHashMap<String, RunSummary>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RunSummary> eldest) {
+                return size() > limit;
+            }
+        };
+        scan(entry -> {
+            if (entry.getRun() == null) {
+                return true;
+            }
+            RunSummary summary = runs.get(entry.getRun());
+            if (summary == null) {
+                if (!JournalEntry.TYPE_RUN_START.equals(entry.getType())) {
+                    return true; // 开始记录已被轮换掉
+                }
+                summary = new RunSummary(entry.getRun(), entry.getTime(), entry.getAccounts());
+                runs.put(entry.getRun(), summary);
+            }
+            summary.add(entry);
+            return true;
+        });
+        return new ArrayList<>(runs.values());
+    }
+
+    private void open(long maxFileBytes) {
+        long validLength = file.exists() ? scanFile(file, null, gson) : 0;
+        try {
+            if (validLength < 0) {
+                validLength = 0;
+            }
+            if (validLength > maxFileBytes) {
+                if (previousFile.exists() && !previousFile.delete()) {
+                    throw new IOException("删除旧日志失败: " + previousFile);
+                }
+                if (!file.renameTo(previousFile)) {
+                    throw new IOException("轮换日志失败: " + file);
+                }
+                validLength = 0;
+            }
+            // 截掉写入中断留下的不完整记录，避免后续追加的记录错位
+            if (file.exists() && validLength < file.length()) {
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(validLength);
+                }
+            }
+            fileOut = new FileOutputStream(file, true);
+            out = new DataOutputStream(new BufferedOutputStream(fileOut, 8192));
+        } catch (IOException e) {
+            ApiLogger.error("RunJournal", e);
+            fileOut = null;
+            out = null;
+        }
+    }
+
+    /**
+     * 映射文件并逐条校验、解码
+     *
+     * @param visitor 为 null 时只校验
+     * @return 最后一条完整记录的结束位置；visitor 要求停止时返回 -1
+     */
+    private static long scanFile(File file, @Nullable Visitor visitor, Gson gson) {
+        if (!file.exists()) {
+            return 0;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            byte[] payload = new byte[256];
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < 0 || length > MAX_RECORD_BYTES || length > buffer.remaining()) {
+                    buffer.position(start);
+                    break;
+                }
+                if (payload.length < length) {
+                    payload = new byte[Math.max(length, payload.length * 2)];
+                }
+                buffer.get(payload, 0, length);
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    buffer.position(start);
+                    break;
+                }
+                if (visitor != null) {
+                    JournalEntry entry;
+                    try {
+                        entry = gson.fromJson(new String(payload, 0, length, StandardCharsets.UTF_8), JournalEntry.class);
+                    } catch (JsonParseException e) {
+                        continue;
+                    }
+                    if (entry != null && !visitor.visit(entry)) {
+                        return -1;
+                    }
+                }
+            }
+            return buffer.position();
+        } catch (IOException e) {
+            ApiLogger.error("RunJournal", e);
+            return 0;
+        }
+    }
+
+    /**
+     * 遍历记录的回调
+     */
+    public interface Visitor {
+        /**
+         * @return 返回 false 时停止遍历
+         */
+        boolean visit(@NonNull JournalEntry entry);
+    }
+
+    /**
+     * 一次运行的汇总
+     */
+    public static class RunSummary {
+        private final String run;
+        private final long startTime;
+        private final int accounts;
+        private long endTime = 0;
+        private boolean completed = false;
+        private int tasksDone = 0;
+        private int tasksFailed = 0;
+        private int points = 0;
+        private int errors = 0;
+
+        RunSummary(String run, long startTime, int accounts) {
+            this.run = run;
+            this.startTime = startTime;
+            this.accounts = accounts;
+        }
+
+        void add(JournalEntry entry) {
+            switch (entry.getType()) {
+                case JournalEntry.TYPE_TASK:
+                    if (entry.isOk()) {
+                        tasksDone++;
+                    } else {
+                        tasksFailed++;
+                    }
+                    points += entry.getPoints();
+                    break;
+                case JournalEntry.TYPE_ERROR:
+                    errors++;
+                    break;
+                case JournalEntry.TYPE_RUN_END:
+                    endTime = entry.getTime();
+                    completed = entry.isOk();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        public String getRun() {
+            return run;
+        }
+
+        public long getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * 结束时间，进程被杀等没有结束记录时为 0
+         */
+        public long getEndTime() {
+            return endTime;
+        }
+
+        public int getAccounts() {
+            return accounts;
+        }
+
+        /**
+         * 所有账号正常执行完毕
+         */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        public int getTasksDone() {
+            return tasksDone;
+        }
+
+        public int getTasksFailed() {
+            return tasksFailed;
+        }
+
+        /**
+         * 各任务获得的积分之和
+         */
+        public int getPoints() {
+            return points;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+    }
+}
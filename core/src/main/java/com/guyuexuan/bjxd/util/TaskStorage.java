@@ -0,0 +1,69 @@
+package com.guyuexuan.bjxd.util;
+
+import com.guyuexuan.bjxd.model.AiProvider;
+import com.guyuexuan.bjxd.model.AiProviderStats;
+import com.guyuexuan.bjxd.model.DailyAnswer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 任务引擎使用的配置和持久化数据
+ * <p>
+ * 安卓端由 StorageUtil（SharedPreferences）实现，命令行端由文件实现。
+ * 多个账号并发执行时会从不同线程调用，实现需要线程安全。
+ * </p>
+ */
+public interface TaskStorage {
+    /**
+     * 获取所有 AI 提供方，按优先级排列
+     */
+    List<AiProvider> getAiProviders();
+
+    /**
+     * 是否对多个 AI 提供方的答案投票
+     */
+    boolean isAiMajorityVote();
+
+    /**
+     * 是否以流式方式请求 AI
+     */
+    boolean isAiStream();
+
+    /**
+     * 是否启用手动回答
+     */
+    boolean isManualAnswer();
+
+    /**
+     * 获取各 AI 提供方的延迟和准确率记录
+     *
+     * @return 以提供方名称为键的记录
+     */
+    Map<String, AiProviderStats> getAiProviderStats();
+
+    /**
+     * 保存各 AI 提供方的延迟和准确率记录
+     */
+    void saveAiProviderStats(Map<String, AiProviderStats> stats);
+
+    /**
+     * 获取已保存的每日答题答案
+     *
+     * @param date         日期，格式 yyyyMMdd
+     * @param questionsHid 题目 ID
+     * @return 已知答案，没有记录时返回空记录
+     */
+    DailyAnswer getDailyAnswer(String date, String questionsHid);
+
+    /**
+     * 记录一次答题结果并立即保存
+     *
+     * @param date         日期，格式 yyyyMMdd
+     * @param questionsHid 题目 ID
+     * @param option       选项字母
+     * @param correct      是否正确
+     * @return 更新后的答案记录
+     */
+    DailyAnswer recordDailyAnswer(String date, String questionsHid, String option, boolean correct);
+}
@@ -0,0 +1,248 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 哈希时间轮定时器
+ * <p>
+ * 所有延迟任务按到期的刻度放入环形数组的槽中，由一个线程推进刻度并执行到期任务。
+ * 调度是 O(1)，取消只需从一个槽中移除，成千上万个等待中的延迟只占用一个线程；
+ * 工作线程只在下一个非空槽到期时醒来，没有任务时一直等待，不会空转。
+ * </p>
+ * <p>
+ * 任务在时间轮线程中执行，应尽快返回（例如发起异步请求、完成一个 Future），耗时操作需交给其他线程。
+ * 到期时间按刻度向上取整，任务不会早于指定的延迟执行，最多晚一个刻度。
+ * </p>
+ */
+public class TimerWheel {
+    private static final int PENDING = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+    private static volatile TimerWheel shared;
+
+    private final String name;
+    private final long tickNanos;
+    private final int mask;
+    private final List<Timeout>[] buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final long startNanos = System.nanoTime();
+    private long tick = 0; // 下一个待处理的刻度
+    private int size = 0;
+    private Thread worker;
+
+    /**
+     * @param name       工作线程名称
+     * @param tickMillis 刻度长度，即定时精度
+     * @param wheelSize  槽数，取不小于它的 2 的幂
+     */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(String name, long tickMillis, int wheelSize) {
+        this.name = name;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        int slots = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.mask = slots - 1;
+        this.buckets = new List[slots];
+        for (int i = 0; i < slots; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * 获取进程内共用的时间轮：刻度 50 毫秒，512 个槽（一圈约 25.6 秒）
+     */
+    @NonNull
+    public static TimerWheel getShared() {
+        TimerWheel wheel = shared;
+        if (wheel == null) {
+            synchronized (TimerWheel.class) {
+                wheel = shared;
+                if (wheel == null) {
+                    wheel = new TimerWheel("TimerWheel", 50, 512);
+                    shared = wheel;
+                }
+            }
+        }
+        return wheel;
+    }
+
+    /**
+     * 延迟执行任务
+     *
+     * @param task  到期后在时间轮线程中执行的任务
+     * @param delay 延迟，小于等于 0 时在下一个刻度执行
+     * @param unit  延迟单位
+     * @return 可用于取消的句柄
+     */
+    @NonNull
+    public Timeout schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+        long deadline = System.nanoTime() + Math.max(0, unit.toNanos(delay));
+        Timeout timeout = new Timeout(task);
+        lock.lock();
+        try {
+            // 向上取整到刻度，已经过去的刻度放到当前刻度
+            long elapsed = deadline - startNanos;
+            timeout.tick = Math.max((elapsed + tickNanos - 1) / tickNanos, tick);
+            buckets[(int) (timeout.tick & mask)].add(timeout);
+            size++;
+            if (worker == null) {
+                worker = new Thread(this::runWorker, name);
+                worker.setDaemon(true);
+                worker.start();
+            }
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return timeout;
+    }
+
+    /**
+     * 返回一个在延迟后完成的 Future，取消该 Future 时同时取消定时
+     *
+     * @param delay 延迟
+     * @param unit  延迟单位
+     */
+    @NonNull
+    public CompletableFuture<Void> delay(long delay, @NonNull TimeUnit unit) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Timeout timeout = schedule(() -> future.complete(null), delay, unit);
+        future.whenComplete((ignored, throwable) -> {
+            if (future.isCancelled()) {
+                timeout.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 等待中的任务数
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runWorker() {
+        List<Runnable> expired = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                long currentTick = (System.nanoTime() - startNanos) / tickNanos;
+                if (size == 0) {
+                    // 空闲时直接跳到当前刻度，等待新任务
+                    tick = currentTick;
+                    changed.awaitUninterruptibly();
+                    continue;
+                }
+                while (tick <= currentTick) {
+                    List<Timeout> bucket = buckets[(int) (tick & mask)];
+                    for (int i = bucket.size() - 1; i >= 0; i--) {
+                        Timeout timeout = bucket.get(i);
+                        if (timeout.tick <= tick) {
+                            bucket.remove(i);
+                            size--;
+                            timeout.state = EXPIRED;
+                            expired.add(timeout.task);
+                        }
+                    }
+                    tick++;
+                }
+                if (expired.isEmpty()) {
+                    long waitNanos = startNanos + nextNonEmptyTick() * tickNanos - System.nanoTime();
+                    if (waitNanos > 0) {
+                        changed.awaitNanos(waitNanos);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // 工作线程不会被中断，忽略
+            } finally {
+                lock.unlock();
+            }
+
+            for (Runnable task : expired) {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    ApiLogger.error("TimerWheel", t);
+                }
+            }
+            expired.clear();
+        }
+    }
+
+    /**
+     * 从当前刻度起第一个非空槽对应的刻度，调用方需持有锁
+     */
+    private long nextNonEmptyTick() {
+        for (int i = 0; i <= mask; i++) {
+            if (!buckets[(int) ((tick + i) & mask)].isEmpty()) {
+                return tick + i;
+            }
+        }
+        return tick + mask + 1;
+    }
+
+    /**
+     * 定时任务句柄
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private long tick;
+        private int state = PENDING;
+
+        private Timeout(Runnable task) {
+            this.task = task;
+        }
+
+        /**
+         * 取消任务
+         *
+         * @return 任务尚未执行且成功取消时返回 true
+         */
+        public boolean cancel() {
+            lock.lock();
+            try {
+                if (state != PENDING) {
+                    return false;
+                }
+                state = CANCELLED;
+                buckets[(int) (tick & mask)].remove(this);
+                size--;
+                changed.signal();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isCancelled() {
+            lock.lock();
+            try {
+                return state == CANCELLED;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isExpired() {
+            lock.lock();
+            try {
+                return state == EXPIRED;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
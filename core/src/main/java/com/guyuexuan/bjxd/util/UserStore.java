@@ -0,0 +1,336 @@
+package com.guyuexuan.bjxd.util;
+
+import androidx.annotation.NonNull;
+
+import com.guyuexuan.bjxd.model.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 账号列表的内存快照，延迟合并写入
+ * <p>
+ * 内存中的列表是权威数据，读取直接返回快照的副本；新增、删除、交换顺序只修改快照并标记变更，
+ * 最后一次修改后静默一段时间（或调用 flush）才在后台线程写入存储。
+ * 拖动排序时连续多次交换只会写入一次。
+ * </p>
+ * <p>
+ * 存储中的排序键是稀疏的（相邻账号间隔 POSITION_GAP）：移动或新增的账号取前后相邻账号之间的值，
+ * 删除账号不改动其他账号，只有相邻排序键之间没有空隙时才整体重新编号。
+ * </p>
+ */
+public class UserStore {
+    // 最后一次修改后等待多久写入
+    public static final long DEFAULT_FLUSH_DELAY_MILLIS = 500;
+    // 重新编号及在列表两端追加时相邻排序键的间隔
+    static final long POSITION_GAP = 1L << 20;
+    // 排序键的取值范围，保证两个排序键相减不会溢出
+    private static final long MIN_POSITION = Long.MIN_VALUE / 2;
+    private static final long MAX_POSITION = Long.MAX_VALUE / 2;
+
+    private static volatile UserStore instance;
+
+    private final Backend backend;
+    private final Executor writer;
+    private final long flushDelayMillis;
+    private final List<User> users;
+    private final Set<String> dirtyPhones = new HashSet<>(); // 内容有变化、需要写入的账号
+    private Map<String, Long> storedPositions = new HashMap<>(); // 已写入存储的账号及其排序键
+    private TimerWheel.Timeout flushTimer;
+
+    UserStore(Backend backend, Executor writer, long flushDelayMillis) {
+        this.backend = backend;
+        this.writer = writer;
+        this.flushDelayMillis = flushDelayMillis;
+        this.users = new ArrayList<>(backend.load(storedPositions));
+    }
+
+    /**
+     * 获取进程内唯一的实例，首次调用时从存储加载账号列表
+     */
+    @NonNull
+    public static UserStore getInstance(Backend backend) {
+        UserStore store = instance;
+        if (store == null) {
+            synchronized (UserStore.class) {
+                store = instance;
+                if (store == null) {
+                    store = new UserStore(backend, Executors.newSingleThreadExecutor(r -> {
+                        Thread thread = new Thread(r, "UserStore-Writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    }), DEFAULT_FLUSH_DELAY_MILLIS);
+                    instance = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * 获取账号列表的副本
+     */
+    @NonNull
+    public synchronized List<User> getUsers() {
+        return new ArrayList<>(users);
+    }
+
+    /**
+     * 新增或更新账号（按手机号判断）
+     *
+     * @return 新账号返回 -1，已有账号返回其在列表中的位置
+     */
+    public synchronized int save(User user) {
+        int position = users.indexOf(user);
+        if (position == -1) {
+            users.add(user);
+        } else {
+            users.set(position, user);
+        }
+        dirtyPhones.add(user.getPhone());
+        scheduleFlush();
+        return position;
+    }
+
+    /**
+     * 删除账号
+     */
+    public synchronized void remove(User user) {
+        if (users.remove(user)) {
+            dirtyPhones.remove(user.getPhone());
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 交换两个账号的顺序
+     */
+    public synchronized void swap(User first, User second) {
+        int firstIndex = users.indexOf(first);
+        int secondIndex = users.indexOf(second);
+        if (firstIndex >= 0 && secondIndex >= 0 && firstIndex != secondIndex) {
+            Collections.swap(users, firstIndex, secondIndex);
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 立即在后台写入未保存的修改，例如界面进入后台时
+     */
+    public synchronized void flush() {
+        if (flushTimer != null) {
+            flushTimer.cancel();
+            flushTimer = null;
+        }
+        writer.execute(this::writePending);
+    }
+
+    private void scheduleFlush() {
+        if (flushTimer != null) {
+            flushTimer.cancel();
+        }
+        flushTimer = TimerWheel.getShared().schedule(() -> writer.execute(this::writePending), flushDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 在写入线程中执行：取出快照与存储之间的差异并写入
+     */
+    private void writePending() {
+        List<User> upserts = new ArrayList<>();
+        List<String> deleted;
+        Map<String, Long> positions;
+        Map<String, Long> previous;
+        synchronized (this) {
+            flushTimer = null;
+            for (User user : users) {
+                if (dirtyPhones.contains(user.getPhone())) {
+                    upserts.add(user);
+                }
+            }
+            deleted = collectDeleted();
+            positions = collectPositions();
+            if (upserts.isEmpty() && deleted.isEmpty() && positions.isEmpty()) {
+                return;
+            }
+            previous = storedPositions;
+            storedPositions = new HashMap<>();
+            for (User user : users) {
+                Long position = positions.get(user.getPhone());
+                storedPositions.put(user.getPhone(), position != null ? position : previous.get(user.getPhone()));
+            }
+            dirtyPhones.clear();
+        }
+
+        try {
+            backend.apply(upserts, deleted, positions);
+        } catch (RuntimeException e) {
+            ApiLogger.error("UserStore", e);
+            // 写入失败，恢复差异，稍后重试
+            synchronized (this) {
+                storedPositions = previous;
+                for (User user : upserts) {
+                    dirtyPhones.add(user.getPhone());
+                }
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * 需要写入新排序键的账号（包括新账号），调用方需持有锁
+     * <p>
+     * 排序键已按列表顺序递增的账号中取最多的一组（最长递增子序列）保持不变，
+     * 其余账号在前后保持不变的账号之间分配新的排序键；空隙不够时整体重新编号。
+     * </p>
+     */
+    private Map<String, Long> collectPositions() {
+        int size = users.size();
+        Long[] stored = new Long[size];
+        for (int i = 0; i < size; i++) {
+            Long position = storedPositions.get(users.get(i).getPhone());
+            // 超出范围的排序键（例如旧数据）视为没有，重新分配
+            if (position != null && position >= MIN_POSITION && position <= MAX_POSITION) {
+                stored[i] = position;
+            }
+        }
+        boolean[] kept = longestIncreasing(stored);
+        long[] positions = new long[size];
+        if (!fillGaps(stored, kept, positions)) {
+            for (int i = 0; i < size; i++) {
+                positions[i] = i * POSITION_GAP;
+            }
+        }
+
+        Map<String, Long> changed = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            if (stored[i] == null || stored[i] != positions[i]) {
+                changed.put(users.get(i).getPhone(), positions[i]);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 标记排序键严格递增的最长子序列，没有排序键的位置不参与
+     */
+    private static boolean[] longestIncreasing(Long[] stored) {
+        int[] tails = new int[stored.length]; // tails[k]：长度为 k + 1 的递增子序列中末尾排序键最小的一个的下标
+        int[] previous = new int[stored.length];
+        int length = 0;
+        for (int i = 0; i < stored.length; i++) {
+            if (stored[i] == null) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (stored[tails[mid]] < stored[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] kept = new boolean[stored.length];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            kept[i] = true;
+        }
+        return kept;
+    }
+
+    /**
+     * 保持不变的账号沿用原排序键，其余账号在前后保持不变的账号之间均匀分配，列表两端按 POSITION_GAP 延伸
+     *
+     * @return 空隙不够分配时返回 false
+     */
+    private static boolean fillGaps(Long[] stored, boolean[] kept, long[] positions) {
+        int i = 0;
+        while (i < positions.length) {
+            if (kept[i]) {
+                positions[i] = stored[i];
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < positions.length && !kept[i]) {
+                i++;
+            }
+            int count = i - start;
+            if (start == 0 && i == positions.length) {
+                return false; // 没有可以保留的排序键
+            } else if (start == 0) {
+                long high = stored[i];
+                if (high - MIN_POSITION < count * POSITION_GAP) {
+                    return false;
+                }
+                for (int k = 0; k < count; k++) {
+                    positions[start + k] = high - (count - k) * POSITION_GAP;
+                }
+            } else if (i == positions.length) {
+                long low = positions[start - 1];
+                if (MAX_POSITION - low < count * POSITION_GAP) {
+                    return false;
+                }
+                for (int k = 0; k < count; k++) {
+                    positions[start + k] = low + (k + 1) * POSITION_GAP;
+                }
+            } else {
+                long low = positions[start - 1];
+                long step = (stored[i] - low) / (count + 1);
+                if (step == 0) {
+                    return false;
+                }
+                for (int k = 0; k < count; k++) {
+                    positions[start + k] = low + (k + 1) * step;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 存储中有但快照中已删除的账号，调用方需持有锁
+     */
+    private List<String> collectDeleted() {
+        Set<String> phones = new HashSet<>(storedPositions.keySet());
+        for (User user : users) {
+            phones.remove(user.getPhone());
+        }
+        return new ArrayList<>(phones);
+    }
+
+    /**
+     * 账号的持久化存储
+     */
+    public interface Backend {
+        /**
+         * 按顺序读取所有账号
+         *
+         * @param positions 用于放入各账号（手机号）的排序键
+         */
+        List<User> load(Map<String, Long> positions);
+
+        /**
+         * 在一个事务中写入差异
+         *
+         * @param upserts   内容有变化的账号（新增或更新）
+         * @param deleted   已删除账号的手机号
+         * @param positions 排序键有变化的账号的手机号及新排序键，包含所有新增账号
+         */
+        void apply(List<User> upserts, List<String> deleted, Map<String, Long> positions);
+    }
+}
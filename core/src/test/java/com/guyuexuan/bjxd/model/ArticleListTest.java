@@ -0,0 +1,38 @@
+package com.guyuexuan.bjxd.model;
+
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ArticleListTest {
+
+    private static ApiResponse<ArticleList> decode(String json) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            return ApiResponse.read(reader, ArticleList::read);
+        }
+    }
+
+    @Test
+    public void read_collectsHids() throws IOException {
+        ApiResponse<ArticleList> response = decode("{\"code\":0,\"data\":{\"total\":2,\"list\":[{\"hid\":\"a1\",\"title\":\"t\"},{\"hid\":\"a2\"}],\"page_no\":1},\"msg\":\"ok\"}");
+
+        assertEquals(Arrays.asList("a1", "a2"), response.getData().getHids());
+        assertEquals("ok", response.getMsg());
+    }
+
+    @Test
+    public void read_nullListFollowedByFields() throws IOException {
+        ApiResponse<ArticleList> response = decode("{\"code\":0,\"data\":{\"list\":null,\"total\":0},\"msg\":\"ok\"}");
+
+        assertTrue(response.isSuccess());
+        assertTrue(response.getData().getHids().isEmpty());
+        assertEquals("ok", response.getMsg());
+    }
+}
@@ -0,0 +1,63 @@
+package com.guyuexuan.bjxd.model;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DailyAnswerTest {
+
+    @Test
+    public void recordWrong_clearsMatchingCorrect() {
+        DailyAnswer answer = new DailyAnswer("20260101", "q1");
+        answer.recordCorrect("B");
+        answer.recordWrong("B");
+        answer.recordWrong("B");
+
+        assertNull(answer.getCorrect());
+        assertEquals(Collections.singletonList("B"), answer.getWrong());
+
+        answer.recordCorrect("C");
+        assertEquals("C", answer.getCorrect());
+    }
+
+    @Test
+    public void record_updatesExistingAndDropsOldest() {
+        List<DailyAnswer> answers = new ArrayList<>();
+        DailyAnswer.record(answers, "20260101", "q1", "A", false, 2);
+        DailyAnswer.record(answers, "20260101", "q1", "B", true, 2);
+        DailyAnswer.record(answers, "20260102", "q2", "C", true, 2);
+        assertEquals(2, answers.size());
+        assertEquals("B", DailyAnswer.find(answers, "20260101", "q1").getCorrect());
+
+        DailyAnswer.record(answers, "20260103", "q3", "D", true, 2);
+        assertEquals(2, answers.size());
+        assertNull(DailyAnswer.find(answers, "20260101", "q1"));
+        assertEquals("D", DailyAnswer.find(answers, "20260103", "q3").getCorrect());
+    }
+
+    @Test
+    public void gson_roundTrip() {
+        DailyAnswer answer = new DailyAnswer("20260101", "q1");
+        answer.recordWrong("A");
+        answer.recordCorrect("D");
+
+        Gson gson = new Gson();
+        List<DailyAnswer> restored = gson.fromJson(gson.toJson(Collections.singletonList(answer)), new TypeToken<List<DailyAnswer>>() {
+        }.getType());
+
+        DailyAnswer read = restored.get(0);
+        assertTrue(read.matches("20260101", "q1"));
+        assertEquals("D", read.getCorrect());
+        assertEquals(Arrays.asList("A"), read.getWrong());
+    }
+}
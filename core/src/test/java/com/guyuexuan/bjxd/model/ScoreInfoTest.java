@@ -0,0 +1,40 @@
+package com.guyuexuan.bjxd.model;
+
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScoreInfoTest {
+
+    private static ApiResponse<ScoreInfo> decode(String json) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            return ApiResponse.read(reader, ScoreInfo::read);
+        }
+    }
+
+    @Test
+    public void read_collectsRecords() throws IOException {
+        ApiResponse<ScoreInfo> response = decode("{\"code\":0,\"data\":{\"score\":120,\"points_record\":{\"list\":["
+                + "{\"created_at\":\"2026-01-20 08:00:00\",\"desc\":\"每日签到\",\"score_str\":\"+3\"}],\"total\":1}},\"msg\":\"ok\"}");
+
+        ScoreInfo info = response.getData();
+        assertEquals(120, info.getScore());
+        assertEquals(1, info.getRecords().size());
+        assertEquals("+3", info.getRecords().get(0).getScoreStr());
+    }
+
+    @Test
+    public void read_nullListFollowedByFields() throws IOException {
+        ApiResponse<ScoreInfo> response = decode("{\"code\":0,\"data\":{\"points_record\":{\"list\":null,\"total\":0},\"score\":120},\"msg\":\"ok\"}");
+
+        assertTrue(response.isSuccess());
+        assertEquals(120, response.getData().getScore());
+        assertTrue(response.getData().getRecords().isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+package com.guyuexuan.bjxd.task;
+
+import com.google.gson.JsonObject;
+import com.guyuexuan.bjxd.model.AiProvider;
+import com.guyuexuan.bjxd.model.AiProviderStats;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AiAnswerRacerTest {
+    private static final List<String> LETTERS = Arrays.asList("A", "B", "C", "D");
+
+    private HttpServer server;
+    private String url;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        reply("/slow", "A", 3000);
+        reply("/fast-b", "B", 0);
+        reply("/fast-c", "C", 0);
+        reply("/invalid", "不知道", 0);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void reply(String path, String content, long delayMillis) {
+        server.createContext(path, exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException ignored) {
+            }
+            byte[] body = ("{\"choices\":[{\"message\":{\"content\":\"" + content + "\"}}]}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException ignored) {
+            }
+        });
+    }
+
+    private AiProvider provider(String path) {
+        return new AiProvider(path, "key", url + path, "model", new JsonObject());
+    }
+
+    @Test
+    public void extractOptionLetter_usesFirstLetter() {
+        assertEquals("C", AiAnswerRacer.extractOptionLetter("答案是 C，不是 A", LETTERS));
+        assertNull(AiAnswerRacer.extractOptionLetter("答案是 D", Arrays.asList("A", "B")));
+        assertNull(AiAnswerRacer.extractOptionLetter("不知道", LETTERS));
+    }
+
+    @Test
+    public void firstWins_invalidAnswerStartsNextImmediately() throws InterruptedException {
+        Map<String, AiProviderStats> stats = new HashMap<>();
+        AiAnswerRacer racer = new AiAnswerRacer(Arrays.asList(provider("/invalid"), provider("/fast-b")), stats, false, false);
+
+        AiAnswerRacer.Result result = racer.ask("题目", LETTERS);
+
+        assertEquals("B", result.getLetter());
+        assertEquals("/fast-b", result.getWinner());
+        assertEquals(1, result.getErrors().size());
+        // 没有等待默认的对冲延迟
+        assertTrue("耗时 " + result.getElapsedMillis() + " ms", result.getElapsedMillis() < AiAnswerRacer.DEFAULT_HEDGE_DELAY_MILLIS);
+    }
+
+    @Test
+    public void firstWins_hedgesSlowProviderWithLearnedDelay() throws InterruptedException {
+        Map<String, AiProviderStats> stats = new HashMap<>();
+        AiProviderStats slowStats = new AiProviderStats();
+        for (int i = 0; i < 5; i++) {
+            slowStats.recordCall(100, true);
+        }
+        stats.put("/slow", slowStats);
+        AiAnswerRacer racer = new AiAnswerRacer(Arrays.asList(provider("/slow"), provider("/fast-c")), stats, false, false);
+
+        AiAnswerRacer.Result result = racer.ask("题目", LETTERS);
+
+        // 对冲延迟取下限 2 秒，慢的提供方 3 秒才返回
+        assertEquals("C", result.getLetter());
+        assertEquals("/fast-c", result.getWinner());
+        assertTrue("耗时 " + result.getElapsedMillis() + " ms", result.getElapsedMillis() < 3000);
+    }
+
+    @Test
+    public void majorityVote_finishesOnceMajorityReached() throws InterruptedException {
+        Map<String, AiProviderStats> stats = new HashMap<>();
+        AiAnswerRacer racer = new AiAnswerRacer(Arrays.asList(provider("/fast-b"), provider("/slow"), new AiProvider("b2", "key", url + "/fast-b", "model", null)), stats, false, true);
+
+        AiAnswerRacer.Result result = racer.ask("题目", LETTERS);
+
+        assertEquals("B", result.getLetter());
+        assertEquals(2, result.getAnswers().size());
+        assertTrue("耗时 " + result.getElapsedMillis() + " ms", result.getElapsedMillis() < 3000);
+    }
+
+    @Test
+    public void stats_percentileNeedsEnoughSamples() {
+        AiProviderStats stats = new AiProviderStats();
+        stats.recordCall(400, true);
+        stats.recordCall(100, true);
+        assertEquals(-1, stats.latencyPercentile(0.75, 5));
+        stats.recordCall(300, true);
+        stats.recordCall(200, true);
+        stats.recordCall(9999, false);
+        assertEquals(300, stats.latencyPercentile(0.75, 4));
+    }
+}
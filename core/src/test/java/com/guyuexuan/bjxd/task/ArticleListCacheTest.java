@@ -0,0 +1,61 @@
+package com.guyuexuan.bjxd.task;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.model.ArticleList;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ArticleListCacheTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ArticleList load(String token) throws IOException {
+        loads.incrementAndGet();
+        return ArticleList.read(new JsonReader(new StringReader("{\"list\":[{\"hid\":\"a\"},{\"hid\":\"b\"},{\"hid\":\"c\"},{\"hid\":\"d\"}]}")));
+    }
+
+    @Test
+    public void get_reusesUntilTtlExpires() throws IOException {
+        ArticleListCache cache = new ArticleListCache(this::load, 1000, now::get);
+
+        cache.get("t1");
+        cache.get("t2");
+        assertEquals(1, loads.get());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        cache.get("t3");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void invalidate_forcesReload() throws IOException {
+        ArticleListCache cache = new ArticleListCache(this::load, 1000, now::get);
+
+        cache.get("t1");
+        cache.invalidate();
+        cache.get("t2");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void pick_returnsDistinctSubset() throws IOException {
+        ArticleListCache cache = new ArticleListCache(this::load, 1000, now::get);
+
+        List<String> picked = cache.pick("t1", 3);
+        assertEquals(3, picked.size());
+        assertEquals(3, new HashSet<>(picked).size());
+        assertTrue(cache.get("t1").containsAll(picked));
+        assertEquals(4, cache.pick("t1", 10).size());
+    }
+}
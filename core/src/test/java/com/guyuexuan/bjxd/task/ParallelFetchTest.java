@@ -0,0 +1,62 @@
+package com.guyuexuan.bjxd.task;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelFetchTest {
+
+    @Test
+    public void fetchAll_completedFuturesDoNotOverflowStack() throws InterruptedException, ExecutionException, TimeoutException {
+        List<Integer> inputs = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            inputs.add(i);
+        }
+
+        // 每个请求都已完成，补位在调用线程中同步进行
+        List<ParallelFetch.Outcome<Integer>> outcomes = ParallelFetch.fetchAll(inputs, 2,
+                input -> CompletableFuture.completedFuture(input * 2)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(inputs.size(), outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            assertEquals(i * 2, (int) outcomes.get(i).value);
+            assertNull(outcomes.get(i).error);
+        }
+    }
+
+    @Test
+    public void fetchAll_limitsParallelismAndRecordsErrors() throws InterruptedException, ExecutionException, TimeoutException {
+        List<CompletableFuture<String>> started = new ArrayList<>();
+        List<Integer> inputs = List.of(0, 1, 2, 3);
+        CompletableFuture<List<ParallelFetch.Outcome<String>>> all = ParallelFetch.fetchAll(inputs, 2, input -> {
+            if (input == 2) {
+                throw new IllegalStateException("fail " + input);
+            }
+            CompletableFuture<String> future = new CompletableFuture<>();
+            started.add(future);
+            return future;
+        });
+
+        assertEquals(2, started.size());
+        started.get(0).complete("a");
+        // 第 3 个请求直接抛出异常，补位继续发出第 4 个
+        assertEquals(3, started.size());
+        started.get(1).complete("b");
+        started.get(2).complete("d");
+
+        List<ParallelFetch.Outcome<String>> outcomes = all.get(1, TimeUnit.SECONDS);
+        assertEquals("a", outcomes.get(0).value);
+        assertEquals("b", outcomes.get(1).value);
+        assertTrue(outcomes.get(2).error instanceof IllegalStateException);
+        assertEquals("d", outcomes.get(3).value);
+    }
+}
@@ -0,0 +1,140 @@
+package com.guyuexuan.bjxd.task;
+
+import com.guyuexuan.bjxd.model.JournalEntry;
+import com.guyuexuan.bjxd.model.TaskStatus;
+import com.guyuexuan.bjxd.model.User;
+import com.guyuexuan.bjxd.util.ApiException;
+import com.guyuexuan.bjxd.util.DailyCheckpoint;
+import com.guyuexuan.bjxd.util.RunJournal;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RunPlannerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static User user(String phone) {
+        return new User("token-" + phone, "nick-" + phone, phone, "hid-" + phone, "01-01 00:00");
+    }
+
+    private static TaskStatus status(boolean question, boolean sign, boolean view) {
+        TaskStatus status = new TaskStatus();
+        status.setQuestionCompleted(question);
+        status.setSignCompleted(sign);
+        status.setViewCompleted(view);
+        return status;
+    }
+
+    private DailyCheckpoint checkpoint() {
+        return DailyCheckpoint.loadToday(new RunJournal(new File(folder.getRoot(), "journal.bin"), RunJournal.DEFAULT_MAX_FILE_BYTES), "r1");
+    }
+
+    @Test
+    public void plan_dropsFinishedAccountsAndOrdersLongestFirst() throws Exception {
+        DailyCheckpoint checkpoint = checkpoint();
+        checkpoint.markDone("1", JournalEntry.TASK_QUESTION);
+        checkpoint.markDone("1", JournalEntry.TASK_SIGN);
+        checkpoint.markDone("1", JournalEntry.TASK_VIEW);
+        // 服务器显示签到未完成，但检查点已记录
+        checkpoint.markDone("5", JournalEntry.TASK_SIGN);
+
+        Map<String, Object> responses = new HashMap<>();
+        responses.put("token-2", status(true, true, true));
+        responses.put("token-3", status(true, false, true));
+        responses.put("token-4", ApiException.tokenExpired());
+        responses.put("token-5", status(false, false, false));
+        responses.put("token-6", new IOException("timeout"));
+        List<String> requested = new ArrayList<>();
+        RunPlanner planner = new RunPlanner(Arrays.asList(user("1"), user("2"), user("3"), user("4"), user("5"), user("6")), checkpoint, 1, token -> {
+            requested.add(token);
+            CompletableFuture<TaskStatus> future = new CompletableFuture<>();
+            Object response = responses.get(token);
+            if (response instanceof Throwable) {
+                future.completeExceptionally((Throwable) response);
+            } else {
+                future.complete((TaskStatus) response);
+            }
+            return future;
+        }, 2);
+
+        RunPlan plan = planner.plan().get(1, TimeUnit.SECONDS);
+
+        // 检查点已完成的账号不发请求
+        assertFalse(requested.contains("token-1"));
+        assertEquals(5, requested.size());
+
+        // 状态未知的账号按全部任务估算，排在最前；账号 5 的签到由检查点跳过
+        assertEquals(Arrays.asList(6, 5, 3), numbers(plan.getAccounts()));
+        assertNull(plan.getAccounts().get(0).getStatus());
+        assertTrue(plan.getAccounts().get(1).getStatus().isSignCompleted());
+        assertEquals("答题 浏览文章", plan.getAccounts().get(1).describeTasks());
+        assertTrue(plan.needsQuestion());
+
+        assertEquals(Arrays.asList(1, 2, 4), numbers(plan.getSkipped()));
+        assertEquals("今日任务已完成", plan.getSkipped().get(1).getReason());
+        // 服务器已完成的账号补写检查点
+        assertTrue(checkpoint.isAccountDone("2"));
+
+        long expected = RunPlanner.estimate(null) + RunPlanner.ACCOUNT_GAP_MILLIS
+                + (RunPlanner.QUESTION_MILLIS + RunPlanner.VIEW_MILLIS) + RunPlanner.ACCOUNT_GAP_MILLIS
+                + RunPlanner.SIGN_MILLIS;
+        assertEquals(expected, plan.getEstimatedMillis());
+    }
+
+    @Test
+    public void plan_boundsRequestsInFlight() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            users.add(user(String.valueOf(i)));
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        RunPlanner planner = new RunPlanner(users, checkpoint(), 2, token -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                sleep(20);
+                inFlight.decrementAndGet();
+                return status(true, true, false);
+            });
+        }, 3);
+
+        RunPlan plan = planner.plan().get(5, TimeUnit.SECONDS);
+        assertEquals(10, plan.getAccounts().size());
+        assertEquals(3, maxInFlight.get());
+        assertFalse(plan.needsQuestion());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Integer> numbers(List<RunPlan.Entry> entries) {
+        List<Integer> numbers = new ArrayList<>();
+        for (RunPlan.Entry entry : entries) {
+            numbers.add(entry.getNumber());
+        }
+        return numbers;
+    }
+}
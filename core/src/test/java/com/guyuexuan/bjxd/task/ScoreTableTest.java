@@ -0,0 +1,97 @@
+package com.guyuexuan.bjxd.task;
+
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.model.JournalEntry;
+import com.guyuexuan.bjxd.model.ScoreInfo;
+import com.guyuexuan.bjxd.model.User;
+import com.guyuexuan.bjxd.util.ApiException;
+import com.guyuexuan.bjxd.util.DailyCheckpoint;
+import com.guyuexuan.bjxd.util.RunJournal;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ScoreTableTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static User user(String phone) {
+        return new User("token-" + phone, "nick-" + phone, phone, "hid-" + phone, "01-01 00:00");
+    }
+
+    private static ScoreInfo score(String json) {
+        try {
+            return ScoreInfo.read(new JsonReader(new StringReader(json)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    public void collect_fillsOneRowPerAccountInOrder() throws Exception {
+        RunJournal journal = new RunJournal(new File(folder.getRoot(), "journal.bin"), RunJournal.DEFAULT_MAX_FILE_BYTES);
+        journal.append(JournalEntry.score("r0", "3", 500, 12));
+        for (String task : Arrays.asList(JournalEntry.TASK_QUESTION, JournalEntry.TASK_SIGN, JournalEntry.TASK_VIEW, JournalEntry.TASK_SCORE)) {
+            journal.append(JournalEntry.done("r0", "3", task));
+        }
+        DailyCheckpoint checkpoint = DailyCheckpoint.loadToday(journal, "r1");
+
+        List<String> requested = new ArrayList<>();
+        ScoreTable.ScoreFetcher fetcher = token -> {
+            requested.add(token);
+            if (token.equals("token-2")) {
+                CompletableFuture<ScoreInfo> failed = new CompletableFuture<>();
+                failed.completeExceptionally(ApiException.tokenExpired());
+                return failed;
+            }
+            return CompletableFuture.completedFuture(score("{\"score\":120,\"points_record\":{\"list\":["
+                    + "{\"created_at\":\"2026-10-18 08:00:00\",\"desc\":\"签到\",\"score_str\":\"+5\"},"
+                    + "{\"created_at\":\"2026-10-18 08:05:00\",\"desc\":\"答题\",\"score_str\":\"+3\"},"
+                    + "{\"created_at\":\"2026-10-17 08:00:00\",\"desc\":\"签到\",\"score_str\":\"+5\"}]}}"));
+        };
+
+        ScoreTable table = ScoreTable.collect(Arrays.asList(user("1"), user("2"), user("3")), checkpoint, fetcher, 2, "2026-10-18")
+                .get(1, TimeUnit.SECONDS);
+
+        // 检查点中已有积分的账号不请求
+        assertEquals(2, requested.size());
+        assertFalse(requested.contains("token-3"));
+
+        List<ScoreTable.Row> rows = table.getRows();
+        assertEquals(3, rows.size());
+        assertEquals(120, rows.get(0).getTotal());
+        assertEquals(8, rows.get(0).getTodayDelta());
+        assertEquals(2, rows.get(0).getRecords().size());
+        assertTrue(rows.get(0).isFetched());
+        assertNull(rows.get(0).getError());
+
+        assertFalse(rows.get(1).isFetched());
+        assertTrue(rows.get(1).getError().contains("Token"));
+
+        assertEquals(500, rows.get(2).getTotal());
+        assertEquals(12, rows.get(2).getTodayDelta());
+        assertFalse(rows.get(2).isFetched());
+
+        String rendered = table.render();
+        assertTrue(rendered.contains("620"));
+        assertTrue(rendered.contains("+20"));
+        assertTrue(rendered.contains("1 个账号获取失败"));
+        assertTrue(rendered.contains("2026-10-18 08:05:00 答题 +3"));
+        journal.close();
+    }
+}
@@ -0,0 +1,83 @@
+package com.guyuexuan.bjxd.task;
+
+import com.guyuexuan.bjxd.mockserver.MockBluemembersServer;
+import com.guyuexuan.bjxd.model.TaskStatus;
+import com.guyuexuan.bjxd.model.User;
+import com.guyuexuan.bjxd.util.ApiUtil;
+import com.guyuexuan.bjxd.util.MemoryTaskStorage;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 对本地模拟服务器完整运行一次多账号任务，请求间隔缩短为 0 并取消限流
+ */
+public class TaskEngineMockServerTest {
+
+    @Test
+    public void run_completesAllTasksForAllAccounts() throws Exception {
+        try (MockBluemembersServer server = new MockBluemembersServer.Builder().accounts(4).latency(1, 5).build()) {
+            ApiUtil.setBaseUrl(server.getBaseUrl());
+            ApiUtil.clearRateLimits();
+            try {
+                List<User> users = new ArrayList<>();
+                for (String token : server.getTokens()) {
+                    users.add(ApiUtil.getUserInfo(token));
+                }
+                List<String> logs = Collections.synchronizedList(new ArrayList<>());
+                TaskEngine engine = new TaskEngine(users, new MemoryTaskStorage(), logs::add, () -> {
+                }, null, 2, null, null);
+                engine.setPauseScale(0);
+                Map<String, Long> elapsed = new ConcurrentHashMap<>();
+                engine.setAccountListener((user, millis) -> elapsed.put(user.getPhone(), millis));
+                engine.start();
+                engine.join(60_000);
+                assertFalse("任务未在 60 秒内结束", engine.isAlive());
+                assertTrue(engine.isCompleted());
+
+                for (User user : users) {
+                    TaskStatus status = ApiUtil.getTaskStatus(user.getToken());
+                    assertTrue(user.getPhone(), status.isAllCompleted());
+                }
+                assertEquals(users.size(), elapsed.size());
+                assertTrue(logs.stream().anyMatch(log -> log.contains("积分详情")));
+            } finally {
+                ApiUtil.setBaseUrl(ApiUtil.DEFAULT_BASE_URL);
+                ApiUtil.resetRateLimits();
+            }
+        }
+    }
+
+    @Test
+    public void stop_marksRunIncomplete() throws Exception {
+        try (MockBluemembersServer server = new MockBluemembersServer.Builder().accounts(2).build()) {
+            ApiUtil.setBaseUrl(server.getBaseUrl());
+            try {
+                List<User> users = new ArrayList<>();
+                for (String token : server.getTokens()) {
+                    users.add(ApiUtil.getUserInfo(token));
+                }
+                TaskEngine engine = new TaskEngine(users, new MemoryTaskStorage(), message -> {
+                }, () -> {
+                }, null, 1, null, null);
+                engine.stopTask();
+                engine.start();
+                engine.join(10_000);
+                assertFalse(engine.isAlive());
+                assertFalse(engine.isCompleted());
+            } finally {
+                ApiUtil.setBaseUrl(ApiUtil.DEFAULT_BASE_URL);
+            }
+        }
+    }
+}
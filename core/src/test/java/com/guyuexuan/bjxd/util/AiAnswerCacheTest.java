@@ -0,0 +1,80 @@
+package com.guyuexuan.bjxd.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AiAnswerCacheTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void key_normalizesWhitespace() {
+        String a = AiAnswerCache.key("题目\nA. 1\nB. 2\n", "model", "{}");
+        String b = AiAnswerCache.key("  题目 A. 1  B. 2", "model", "{}");
+
+        assertEquals(a, b);
+        assertEquals(32, a.length());
+        assertTrue(!a.equals(AiAnswerCache.key("题目 A. 1 B. 2", "other", "{}")));
+    }
+
+    @Test
+    public void persistsAcrossInstancesAndCountsHits() throws IOException {
+        File file = folder.newFile("ai.bin");
+        AiAnswerCache cache = new AiAnswerCache(file, 10, 4096);
+        String key = AiAnswerCache.key("q1", "m", "");
+        cache.put(key, "B");
+        cache.put(AiAnswerCache.key("q2", "m", ""), "C");
+        cache.remove(AiAnswerCache.key("q2", "m", ""));
+        cache.close();
+
+        AiAnswerCache reopened = new AiAnswerCache(file, 10, 4096);
+        assertEquals("B", reopened.get(key));
+        assertNull(reopened.get(AiAnswerCache.key("q2", "m", "")));
+        assertEquals(1, reopened.getHitCount());
+        assertEquals(1, reopened.getMissCount());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedAndCompacts() throws IOException {
+        File file = folder.newFile("ai.bin");
+        AiAnswerCache cache = new AiAnswerCache(file, 3, 200);
+        for (int i = 0; i < 20; i++) {
+            cache.put(AiAnswerCache.key("q" + i, "m", ""), "A");
+        }
+        cache.close();
+
+        // 每条记录 20 字节，超过 200 字节时压缩为内存中的 3 条
+        assertTrue(file.length() <= 200);
+        AiAnswerCache reopened = new AiAnswerCache(file, 3, 200);
+        assertEquals(3, reopened.size());
+        assertEquals("A", reopened.get(AiAnswerCache.key("q19", "m", "")));
+        assertNull(reopened.get(AiAnswerCache.key("q0", "m", "")));
+    }
+
+    @Test
+    public void truncatesIncompleteTrailingRecord() throws IOException {
+        File file = folder.newFile("ai.bin");
+        AiAnswerCache cache = new AiAnswerCache(file, 10, 4096);
+        cache.put(AiAnswerCache.key("q1", "m", ""), "D");
+        cache.close();
+        long length = file.length();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[]{1, 2, 3});
+        }
+
+        AiAnswerCache reopened = new AiAnswerCache(file, 10, 4096);
+        assertEquals(length, file.length());
+        reopened.put(AiAnswerCache.key("q2", "m", ""), "A");
+        reopened.close();
+        assertEquals("A", new AiAnswerCache(file, 10, 4096).get(AiAnswerCache.key("q2", "m", "")));
+    }
+}
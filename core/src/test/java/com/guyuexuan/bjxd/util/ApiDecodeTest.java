@@ -0,0 +1,124 @@
+package com.guyuexuan.bjxd.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.guyuexuan.bjxd.model.ApiResponse;
+import com.guyuexuan.bjxd.model.ArticleList;
+import com.guyuexuan.bjxd.model.ScoreInfo;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 响应解码：旧方式（body 转 String + JsonObject 树）与流式解码（JsonReader + 类型化对象）的结果一致
+ * <p>
+ * 两种方式的耗时和内存分配对比见 benchmark 模块的 ApiResponseBenchmark
+ * </p>
+ */
+public class ApiDecodeTest {
+    private static final Gson gson = new Gson();
+
+    private static byte[] articleListPayload() {
+        StringBuilder sb = new StringBuilder("{\"code\":0,\"msg\":\"success\",\"data\":{\"total\":200,\"page_no\":1,\"list\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"hid\":\"").append(String.format(Locale.ROOT, "%032x", i))
+                    .append("\",\"title\":\"北京现代新车型上市活动第").append(i).append("期\"")
+                    .append(",\"cover\":\"https://bm2-static.bluemembers.com.cn/article/cover/").append(i).append(".jpg\"")
+                    .append(",\"summary\":\"").append("全新一代车型正式上市，搭载全新动力总成与智能网联系统。".repeat(8)).append('"')
+                    .append(",\"tags\":[\"新车\",\"活动\",\"试驾\"],\"view_count\":").append(1000 + i)
+                    .append(",\"author\":{\"hid\":\"author").append(i).append("\",\"nickname\":\"北京现代官方\"}")
+                    .append(",\"created_at\":\"2026-01-20 10:00:00\"}");
+        }
+        sb.append("]}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] scorePayload() {
+        StringBuilder sb = new StringBuilder("{\"code\":0,\"msg\":\"success\",\"data\":{\"score\":12345,\"level\":3,\"points_record\":{\"total\":500,\"list\":[");
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"hid\":\"record").append(i).append("\",\"created_at\":\"2026-01-20 0").append(i).append(":00:00\"")
+                    .append(",\"desc\":\"每日签到\",\"score_str\":\"+").append(i + 1).append("\",\"action\":4,\"remark\":\"\"}");
+        }
+        sb.append("]}}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static JsonReader newReader(byte[] payload) {
+        return new JsonReader(new InputStreamReader(new ByteArrayInputStream(payload), StandardCharsets.UTF_8));
+    }
+
+    private static int legacyArticleList(byte[] payload) {
+        String json = new String(payload, StandardCharsets.UTF_8);
+        JsonObject jsonObject = gson.fromJson(json, JsonObject.class);
+        JsonArray list = jsonObject.getAsJsonObject("data").getAsJsonArray("list");
+        List<String> hids = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            hids.add(list.get(i).getAsJsonObject().get("hid").getAsString());
+        }
+        return hids.size();
+    }
+
+    private static int streamingArticleList(byte[] payload) throws IOException {
+        try (JsonReader reader = newReader(payload)) {
+            return ApiResponse.read(reader, ArticleList::read).getData().getHids().size();
+        }
+    }
+
+    private static int legacyScore(byte[] payload) {
+        String json = new String(payload, StandardCharsets.UTF_8);
+        JsonObject data = gson.fromJson(json, JsonObject.class).getAsJsonObject("data");
+        JsonArray records = data.getAsJsonObject("points_record").getAsJsonArray("list");
+        int total = data.get("score").getAsInt();
+        for (int i = 0; i < records.size(); i++) {
+            total += records.get(i).getAsJsonObject().get("score_str").getAsString().length();
+        }
+        return total;
+    }
+
+    private static int streamingScore(byte[] payload) throws IOException {
+        try (JsonReader reader = newReader(payload)) {
+            ScoreInfo info = ApiResponse.read(reader, ScoreInfo::read).getData();
+            int total = info.getScore();
+            for (ScoreInfo.Record record : info.getRecords()) {
+                total += record.getScoreStr().length();
+            }
+            return total;
+        }
+    }
+
+    @Test
+    public void decode_sameResult() throws IOException {
+        assertEquals(legacyArticleList(articleListPayload()), streamingArticleList(articleListPayload()));
+        assertEquals(legacyScore(scorePayload()), streamingScore(scorePayload()));
+    }
+
+    @Test
+    public void decode_nonNumericIntFollowedByFields() throws IOException {
+        byte[] payload = ("{\"code\":\"\",\"data\":{\"score\":\"1.5\",\"points_record\":{\"list\":["
+                + "{\"score_str\":\"+1\"}]}},\"msg\":\"ok\"}").getBytes(StandardCharsets.UTF_8);
+        try (JsonReader reader = newReader(payload)) {
+            ApiResponse<ScoreInfo> response = ApiResponse.read(reader, ScoreInfo::read);
+            assertEquals(-1, response.getCode());
+            assertEquals("ok", response.getMsg());
+            assertEquals(0, response.getData().getScore());
+            assertEquals(1, response.getData().getRecords().size());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.guyuexuan.bjxd.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ApiLoggerTest {
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private ApiLogger.Sink previousSink;
+
+    @Before
+    public void setUp() {
+        previousSink = ApiLogger.getSink();
+        ApiLogger.setSink((timeMillis, level, tag, message) -> lines.add(level + " " + message));
+    }
+
+    @After
+    public void tearDown() {
+        ApiLogger.setLevel(ApiLogger.Level.ERROR);
+        ApiLogger.setSampleRate("getSignInfo", 1);
+        ApiLogger.setMaxBodyChars(1024);
+        ApiLogger.setSink(previousSink);
+    }
+
+    @Test
+    public void redact_phoneAndToken() {
+        String text = ApiLogger.redact("{\"phone\":\"13812345634\",\"token\":\"abc.def\"} Bearer sk-123");
+
+        assertEquals("{\"phone\":\"138******34\",\"token\":\"***\"} Bearer ***", text);
+    }
+
+    @Test
+    public void level_filtersAndTruncatesBody() throws InterruptedException {
+        ApiLogger.setLevel(ApiLogger.Level.ERROR);
+        ApiLogger.debug("getScore", "hidden");
+        ApiLogger.error("getScore", "shown");
+
+        ApiLogger.setLevel(ApiLogger.Level.BODY);
+        ApiLogger.setMaxBodyChars(4);
+        ApiLogger.body("getScore", "0123456789");
+        assertTrue(ApiLogger.flush(5000));
+
+        assertEquals(2, lines.size());
+        assertEquals("ERROR shown", lines.get(0));
+        assertEquals("BODY 0123...(共 10 字符)", lines.get(1));
+    }
+
+    @Test
+    public void body_redactsBeforeTruncating() throws InterruptedException {
+        ApiLogger.setLevel(ApiLogger.Level.BODY);
+        // 截断点落在 token 值中间
+        ApiLogger.setMaxBodyChars(12);
+        ApiLogger.body("getScore", "{\"token\":\"abcdefghijklmnop\"}");
+        assertTrue(ApiLogger.flush(5000));
+
+        assertEquals(1, lines.size());
+        assertEquals("BODY {\"token\":\"**...(共 15 字符)", lines.get(0));
+    }
+
+    @Test
+    public void sample_oneInN() {
+        ApiLogger.setSampleRate("getSignInfo", 5);
+        int sampled = 0;
+        for (int i = 0; i < 20; i++) {
+            if (ApiLogger.sample("getSignInfo")) {
+                sampled++;
+            }
+        }
+
+        assertEquals(4, sampled);
+        assertTrue(ApiLogger.sample("getScore"));
+        assertFalse(ApiLogger.isLoggable(ApiLogger.Level.OFF));
+    }
+}
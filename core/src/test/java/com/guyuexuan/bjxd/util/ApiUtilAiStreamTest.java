@@ -0,0 +1,74 @@
+package com.guyuexuan.bjxd.util;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ApiUtilAiStreamTest {
+    private HttpServer server;
+    private String url;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/stream", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                write(out, "data: {\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}\n\n");
+                write(out, ": keep-alive\n\n");
+                write(out, "data: {\"choices\":[{\"delta\":{\"content\":\"答案是\"}}]}\n\n");
+                write(out, "data: {\"choices\":[{\"delta\":{\"content\":\"C\"}}]}\n\n");
+                // 模拟搜索增强模型在答案之后还要输出很久
+                Thread.sleep(3000);
+                write(out, "data: [DONE]\n\n");
+            } catch (InterruptedException | IOException ignored) {
+            }
+        });
+        server.createContext("/plain", exchange -> {
+            byte[] body = "{\"choices\":[{\"message\":{\"content\":\"B\"}}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private static void write(OutputStream out, String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    @Test
+    public void stream_stopsAtFirstOptionLetter() throws IOException {
+        long start = System.nanoTime();
+        String result = ApiUtil.askAIStream("key", url + "/stream", "model", "", "题目", text -> text.toString().matches("(?s).*[A-D].*"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("答案是C", result);
+        assertTrue("耗时 " + elapsedMillis + " ms", elapsedMillis < 2000);
+    }
+
+    @Test
+    public void stream_fallsBackToPlainResponse() throws IOException {
+        assertEquals("B", ApiUtil.askAIStream("key", url + "/plain", "model", "", "题目", text -> false));
+    }
+}
@@ -0,0 +1,111 @@
+package com.guyuexuan.bjxd.util;
+
+import com.guyuexuan.bjxd.mockserver.MockBluemembersServer;
+import com.guyuexuan.bjxd.model.AnswerResult;
+import com.guyuexuan.bjxd.model.ArticleList;
+import com.guyuexuan.bjxd.model.QuestionInfo;
+import com.guyuexuan.bjxd.model.ScoreInfo;
+import com.guyuexuan.bjxd.model.SignInfo;
+import com.guyuexuan.bjxd.model.TaskStatus;
+import com.guyuexuan.bjxd.model.User;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 对本地模拟服务器运行的接口测试，不需要网络和真实 token
+ */
+public class ApiUtilMockServerTest {
+    private static MockBluemembersServer server;
+    private static List<String> tokens;
+
+    @BeforeClass
+    public static void startServer() throws IOException {
+        server = new MockBluemembersServer.Builder().accounts(3).build();
+        tokens = server.getTokens();
+        ApiUtil.setBaseUrl(server.getBaseUrl());
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        ApiUtil.setBaseUrl(ApiUtil.DEFAULT_BASE_URL);
+        server.close();
+    }
+
+    @Test
+    public void userInfo_readsSyntheticAccount() throws IOException {
+        User user = ApiUtil.getUserInfo(tokens.get(0));
+        assertEquals(tokens.get(0), user.getToken());
+        assertEquals("13900000001", user.getPhone());
+        assertEquals(32, user.getHid().length());
+    }
+
+    @Test
+    public void dailyTasks_completeOnceAndShowInScore() throws IOException {
+        String token = tokens.get(1);
+        assertFalse(ApiUtil.getTaskStatus(token).isSignCompleted());
+
+        SignInfo sign = ApiUtil.getSignInfo(token);
+        assertTrue(sign.getCurrentScore() > 0);
+        ApiUtil.submitSign(token, sign.getHid(), sign.getRewardHash());
+        try {
+            ApiUtil.submitSign(token, sign.getHid(), sign.getRewardHash());
+            fail("重复签到应返回业务错误");
+        } catch (ApiException e) {
+            assertEquals(ApiException.Kind.BUSINESS, e.getKind());
+        }
+
+        ArticleList articles = ApiUtil.getArticleList(token);
+        for (String hid : articles.getHids().subList(0, 3)) {
+            ApiUtil.viewArticle(token, hid);
+        }
+        assertEquals(1, ApiUtil.submitArticleScore(token).getScore());
+
+        QuestionInfo question = ApiUtil.getQuestionInfo(token);
+        assertEquals(1, question.getState());
+        assertEquals(4, question.getOptions().size());
+        AnswerResult result = ApiUtil.submitQuestionAnswer(token, question.getQuestionsHid(), server.getCorrectOption(), null);
+        assertEquals(2, result.getState());
+        assertEquals(server.getCorrectOption(), ApiUtil.getQuestionInfo(token).getAnswerLetter());
+
+        TaskStatus status = ApiUtil.getTaskStatus(token);
+        assertTrue(status.isSignCompleted() && status.isViewCompleted() && status.isQuestionCompleted());
+        ScoreInfo score = ApiUtil.getScore(token);
+        assertEquals(3, score.getRecords().size());
+    }
+
+    @Test
+    public void wrongAnswer_helpedBySharedCorrectAnswer() throws IOException {
+        String wrong = server.getCorrectOption().equals("A") ? "B" : "A";
+        QuestionInfo question = ApiUtil.getQuestionInfo(tokens.get(2));
+        assertEquals(3, ApiUtil.submitQuestionAnswer(tokens.get(2), question.getQuestionsHid(), wrong, null).getState());
+
+        String sharerHid = ApiUtil.getUserInfo(tokens.get(2)).getHid();
+        ApiUtil.submitQuestionAnswer(tokens.get(0), question.getQuestionsHid(), server.getCorrectOption(), sharerHid);
+        assertEquals(4, ApiUtil.getQuestionInfo(tokens.get(2)).getState());
+    }
+
+    @Test
+    public void expiredToken_isAccountFatal() throws IOException {
+        try (MockBluemembersServer expired = new MockBluemembersServer.Builder().accounts(1).expiredRate(1).build()) {
+            ApiUtil.setBaseUrl(expired.getBaseUrl());
+            try {
+                ApiUtil.getTaskStatus(expired.getTokens().get(0));
+                fail("Token 过期应抛出异常");
+            } catch (ApiException e) {
+                assertTrue(e.isAccountFatal());
+            } finally {
+                ApiUtil.setBaseUrl(server.getBaseUrl());
+            }
+        }
+    }
+}
@@ -1,7 +1,8 @@
 
 package com.guyuexuan.bjxd.util;
 
-import com.google.gson.JsonObject;
+import com.guyuexuan.bjxd.model.QuestionInfo;
+import com.guyuexuan.bjxd.model.ScoreInfo;
 import com.guyuexuan.bjxd.model.TaskStatus;
 import com.guyuexuan.bjxd.model.User;
 
@@ -26,7 +27,7 @@ public class ApiUtilTest {
 
     @Test
     public void getScore_success() throws IOException {
-        JsonObject data = ApiUtil.getScore(token);
+        ScoreInfo data = ApiUtil.getScore(token);
 
         System.out.println(data);
 
@@ -44,7 +45,7 @@ public class ApiUtilTest {
 
     @Test
     public void getQuestionInfo_success() throws IOException {
-        JsonObject data = ApiUtil.getQuestionInfo(token);
+        QuestionInfo data = ApiUtil.getQuestionInfo(token);
 
         System.out.println(data);
 
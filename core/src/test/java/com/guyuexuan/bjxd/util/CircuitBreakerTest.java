@@ -0,0 +1,68 @@
+package com.guyuexuan.bjxd.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, 1000, 3000, now::get);
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    public void opensAfterConsecutiveFailures() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess(); // 中间成功一次，重新计数
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertTrue(breaker.allowRequest());
+
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(1000, breaker.getRemainingOpenMillis());
+    }
+
+    @Test
+    public void halfOpen_singleProbeClosesOnSuccess() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+        advanceMillis(1000);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest()); // 探测请求在途时拒绝其他请求
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getConsecutiveTrips());
+    }
+
+    @Test
+    public void halfOpen_failedProbeDoublesOpenTime() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+        advanceMillis(1000);
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+        assertEquals(2, breaker.getConsecutiveTrips());
+        assertEquals(2000, breaker.getRemainingOpenMillis());
+
+        advanceMillis(2000);
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+        // 打开时间不超过上限
+        assertEquals(3000, breaker.getRemainingOpenMillis());
+    }
+}
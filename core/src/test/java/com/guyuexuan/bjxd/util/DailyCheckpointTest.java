@@ -0,0 +1,59 @@
+package com.guyuexuan.bjxd.util;
+
+import com.guyuexuan.bjxd.model.JournalEntry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DailyCheckpointTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void markDone_survivesReopenWithoutClose() {
+        File file = new File(folder.getRoot(), "journal.bin");
+        RunJournal journal = new RunJournal(file, RunJournal.DEFAULT_MAX_FILE_BYTES);
+        DailyCheckpoint checkpoint = DailyCheckpoint.loadToday(journal, "r1");
+        checkpoint.markDone("1", JournalEntry.TASK_QUESTION);
+        checkpoint.markDone("1", JournalEntry.TASK_SIGN);
+        checkpoint.markDone("1", JournalEntry.TASK_VIEW);
+        checkpoint.markDone("2", JournalEntry.TASK_QUESTION);
+        journal.append(JournalEntry.score("r1", "1", 100, 8));
+        // 不调用 close，模拟进程被杀：检查点已落盘，缓冲区中的积分记录丢失
+
+        DailyCheckpoint resumed = DailyCheckpoint.loadToday(new RunJournal(file, RunJournal.DEFAULT_MAX_FILE_BYTES), "r2");
+        assertTrue(resumed.isAccountDone("1"));
+        assertFalse(resumed.isAccountDone("2"));
+        assertTrue(resumed.isDone("2", JournalEntry.TASK_QUESTION));
+        assertFalse(resumed.isDone("2", JournalEntry.TASK_SIGN));
+        assertNull(resumed.getScore("1"));
+    }
+
+    @Test
+    public void load_ignoresOtherDaysAndKeepsLatestScore() {
+        RunJournal journal = new RunJournal(new File(folder.getRoot(), "journal.bin"), RunJournal.DEFAULT_MAX_FILE_BYTES);
+        journal.append(JournalEntry.done("r1", "1", JournalEntry.TASK_SIGN));
+        journal.append(JournalEntry.score("r1", "1", 100, 5));
+        journal.append(JournalEntry.score("r1", "1", 110, 15));
+        long now = System.currentTimeMillis();
+
+        DailyCheckpoint yesterday = DailyCheckpoint.load(journal, "r2", now - 2 * 86_400_000L, now - 86_400_000L);
+        assertFalse(yesterday.isDone("1", JournalEntry.TASK_SIGN));
+
+        DailyCheckpoint today = DailyCheckpoint.loadToday(journal, "r2");
+        assertTrue(today.isDone("1", JournalEntry.TASK_SIGN));
+        JournalEntry score = today.getScore("1");
+        assertNotNull(score);
+        assertEquals(110, score.getTotal());
+        assertEquals(15, score.getPoints());
+    }
+}
@@ -0,0 +1,103 @@
+package com.guyuexuan.bjxd.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LogBufferTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void drain_batchesLinesAndEvictsOldest() {
+        LogBuffer buffer = new LogBuffer(3, null);
+
+        // 只有一帧内的第一条日志需要安排刷新
+        assertTrue(buffer.append("1"));
+        assertFalse(buffer.append("2"));
+        LogBuffer.Batch first = buffer.drain();
+        assertEquals(0, first.getRemoved());
+        assertEquals(2, first.getInserted());
+
+        assertTrue(buffer.append("3"));
+        buffer.append("4");
+        LogBuffer.Batch second = buffer.drain();
+        assertEquals(1, second.getRemoved());
+        assertEquals(2, second.getInserted());
+        assertEquals(Arrays.asList("2", "3", "4"), contents(buffer));
+
+        // 一帧内超过容量：旧日志全部移除，新日志只保留最后 3 条
+        for (int i = 5; i <= 9; i++) {
+            buffer.append(String.valueOf(i));
+        }
+        LogBuffer.Batch third = buffer.drain();
+        assertEquals(3, third.getRemoved());
+        assertEquals(3, third.getInserted());
+        assertEquals(Arrays.asList("7", "8", "9"), contents(buffer));
+        assertEquals(9, buffer.getTotalCount());
+
+        assertEquals(0, buffer.drain().getInserted());
+    }
+
+    @Test
+    public void append_withoutDrainKeepsOnlyLatestLines() {
+        LogBuffer buffer = new LogBuffer(3, null);
+
+        // 界面长时间不 drain 时待显示队列不会无限增长
+        assertTrue(buffer.append("0"));
+        for (int i = 1; i < 10_000; i++) {
+            assertFalse(buffer.append(String.valueOf(i)));
+        }
+        LogBuffer.Batch batch = buffer.drain();
+        assertEquals(0, batch.getRemoved());
+        assertEquals(3, batch.getInserted());
+        assertEquals(Arrays.asList("9997", "9998", "9999"), contents(buffer));
+        assertEquals(10_000, buffer.getTotalCount());
+    }
+
+    @Test
+    public void exportTo_writesEveryLineIncludingEvicted() throws IOException {
+        File spill = folder.newFile("spill.txt");
+        File target = new File(folder.getRoot(), "export.log");
+        try (LogBuffer buffer = new LogBuffer(2, spill)) {
+            for (int i = 1; i <= 5; i++) {
+                buffer.append("line " + i);
+                buffer.drain();
+            }
+            buffer.exportTo(target);
+        }
+        List<String> lines = Files.readAllLines(target.toPath(), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList("line 1", "line 2", "line 3", "line 4", "line 5"), lines);
+    }
+
+    @Test
+    public void exportTo_withoutSpillWritesRetainedLines() throws IOException {
+        File target = new File(folder.getRoot(), "export.log");
+        LogBuffer buffer = new LogBuffer(2, null);
+        buffer.append("a");
+        buffer.append("b");
+        buffer.drain();
+        buffer.append("c");
+        buffer.exportTo(target);
+        assertEquals(Arrays.asList("a", "b", "c"), Files.readAllLines(target.toPath(), StandardCharsets.UTF_8));
+    }
+
+    private static List<String> contents(LogBuffer buffer) {
+        String[] lines = new String[buffer.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = buffer.get(i);
+        }
+        return Arrays.asList(lines);
+    }
+}
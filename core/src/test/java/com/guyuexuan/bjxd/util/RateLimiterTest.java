@@ -0,0 +1,50 @@
+package com.guyuexuan.bjxd.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void reserve_burstThenQueued() {
+        AtomicLong now = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(2, 3, now::get);
+
+        // 桶内 3 个令牌立即可用
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        // 之后按 0.5 秒一个依次排队
+        assertEquals(SECOND / 2, limiter.reserve());
+        assertEquals(SECOND, limiter.reserve());
+    }
+
+    @Test
+    public void reserve_refillsOverTime() {
+        AtomicLong now = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(1, 2, now::get);
+        limiter.reserve();
+        limiter.reserve();
+
+        // 空闲 10 秒后最多恢复到桶容量
+        now.addAndGet(10 * SECOND);
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(SECOND, limiter.reserve());
+    }
+
+    @Test
+    public void setRate_appliesToNextReservation() {
+        AtomicLong now = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(1, 1, now::get);
+        limiter.reserve();
+
+        limiter.setRate(4, 1);
+        assertEquals(SECOND / 4, limiter.reserve());
+    }
+}
@@ -0,0 +1,57 @@
+package com.guyuexuan.bjxd.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void backoff_growsWithJitterAndCap() {
+        RetryPolicy policy = new RetryPolicy(5, 1000, 3000);
+        for (int i = 0; i < 100; i++) {
+            long first = policy.backoffMillis(1);
+            long second = policy.backoffMillis(2);
+            long capped = policy.backoffMillis(4);
+            assertTrue(first >= 500 && first <= 1000);
+            assertTrue(second >= 1000 && second <= 2000);
+            assertTrue(capped >= 1500 && capped <= 3000);
+        }
+    }
+
+    @Test
+    public void canRetry_countsFirstAttempt() {
+        RetryPolicy policy = new RetryPolicy(2, 1000, 1000);
+        assertTrue(policy.canRetry(1));
+        assertFalse(policy.canRetry(2));
+        assertFalse(RetryPolicy.NONE.canRetry(1));
+    }
+
+    @Test
+    public void shouldRetry_idempotentRetriesTransientErrors() {
+        RetryPolicy policy = new RetryPolicy(3, 1000, 1000);
+        assertTrue(policy.shouldRetry(ApiException.transport(new SocketTimeoutException("read timed out"))));
+        assertTrue(policy.shouldRetry(ApiException.transport(new IOException("unexpected end of stream"))));
+        assertTrue(policy.shouldRetry(ApiException.http(502)));
+        assertFalse(policy.shouldRetry(ApiException.http(404)));
+        assertFalse(policy.shouldRetry(ApiException.business(1, "今日已签到")));
+    }
+
+    @Test
+    public void shouldRetry_unsentOnlyRetriesConnectFailures() {
+        RetryPolicy policy = RetryPolicy.unsentOnly(2, 1000, 1000);
+        assertTrue(policy.shouldRetry(ApiException.transport(new ConnectException("Failed to connect"))));
+        assertTrue(policy.shouldRetry(ApiException.transport(new UnknownHostException("bm2-api.bluemembers.com.cn"))));
+        // 服务器可能已经处理了请求
+        assertFalse(policy.shouldRetry(ApiException.transport(new SocketTimeoutException("read timed out"))));
+        assertFalse(policy.shouldRetry(ApiException.transport(new IOException("unexpected end of stream"))));
+        assertFalse(policy.shouldRetry(ApiException.http(502)));
+        assertFalse(policy.shouldRetry(ApiException.business(1, "今日已签到")));
+    }
+}
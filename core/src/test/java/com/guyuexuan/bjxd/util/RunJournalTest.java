@@ -0,0 +1,99 @@
+package com.guyuexuan.bjxd.util;
+
+import com.guyuexuan.bjxd.model.JournalEntry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RunJournalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void reopen_dropsTornTailAndKeepsAppending() throws IOException {
+        File file = new File(folder.getRoot(), "journal.bin");
+        RunJournal journal = new RunJournal(file, RunJournal.DEFAULT_MAX_FILE_BYTES);
+        journal.append(JournalEntry.runStart("r1", 2));
+        journal.append(JournalEntry.task("r1", "13800000000", JournalEntry.TASK_SIGN, true, 5, null));
+        journal.checkpoint();
+        long validLength = file.length();
+        // 模拟写入中断：末尾残留半条记录
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[]{0, 0, 0, 100, 1, 2, 3});
+        }
+        // 没有 checkpoint 的记录不会出现在文件中
+        journal.append(JournalEntry.task("r1", "13800000000", JournalEntry.TASK_VIEW, true, 1, null));
+
+        RunJournal reopened = new RunJournal(file, RunJournal.DEFAULT_MAX_FILE_BYTES);
+        assertEquals(validLength, file.length());
+        reopened.append(JournalEntry.runEnd("r1", false));
+        reopened.close();
+
+        List<String> types = new ArrayList<>();
+        reopened.scan(entry -> types.add(entry.getType() + ":" + entry.getTask()));
+        assertEquals(List.of("run_start:null", "task:sign", "run_end:null"), types);
+    }
+
+    @Test
+    public void summarizeRuns_aggregatesLatestRuns() {
+        File file = new File(folder.getRoot(), "journal.bin");
+        RunJournal journal = new RunJournal(file, RunJournal.DEFAULT_MAX_FILE_BYTES);
+        for (int run = 1; run <= 3; run++) {
+            String id = "r" + run;
+            journal.append(JournalEntry.runStart(id, 1));
+            journal.append(JournalEntry.task(id, "1", JournalEntry.TASK_QUESTION, true, run, null));
+            journal.append(JournalEntry.task(id, "1", JournalEntry.TASK_SIGN, false, 0, "失败"));
+            journal.append(JournalEntry.error(id, "1", "Token 已过期"));
+            if (run < 3) {
+                journal.append(JournalEntry.runEnd(id, true));
+            }
+        }
+        // 未 checkpoint 的记录在遍历前写入文件
+        List<RunJournal.RunSummary> runs = journal.summarizeRuns(2);
+        assertEquals(2, runs.size());
+        assertEquals("r2", runs.get(0).getRun());
+        assertTrue(runs.get(0).isCompleted());
+
+        RunJournal.RunSummary last = runs.get(1);
+        assertEquals("r3", last.getRun());
+        assertFalse(last.isCompleted());
+        assertEquals(0, last.getEndTime());
+        assertEquals(1, last.getTasksDone());
+        assertEquals(1, last.getTasksFailed());
+        assertEquals(3, last.getPoints());
+        assertEquals(1, last.getErrors());
+        journal.close();
+    }
+
+    @Test
+    public void open_rotatesOversizedFileAndStillReadsIt() {
+        File file = new File(folder.getRoot(), "journal.bin");
+        RunJournal journal = new RunJournal(file, 64);
+        journal.append(JournalEntry.runStart("old", 1));
+        journal.append(JournalEntry.runEnd("old", true));
+        journal.close();
+        assertTrue(file.length() > 64);
+
+        RunJournal rotated = new RunJournal(file, 64);
+        assertTrue(new File(file.getPath() + ".1").exists());
+        assertEquals(0, file.length());
+        rotated.append(JournalEntry.runStart("new", 1));
+
+        List<RunJournal.RunSummary> runs = rotated.summarizeRuns(10);
+        assertEquals(2, runs.size());
+        assertEquals("old", runs.get(0).getRun());
+        assertEquals("new", runs.get(1).getRun());
+        rotated.close();
+    }
+}
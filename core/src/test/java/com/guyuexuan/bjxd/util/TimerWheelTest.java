@@ -0,0 +1,69 @@
+package com.guyuexuan.bjxd.util;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimerWheelTest {
+
+    @Test
+    public void schedule_runsInDeadlineOrderNotBeforeDelay() throws InterruptedException {
+        TimerWheel wheel = new TimerWheel("test", 10, 8);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        long[] firedAt = new long[3];
+        // 200 ms 超过一圈（8 x 10 ms），需要多转几圈
+        int[] delays = {200, 30, 90};
+        for (int i = 0; i < delays.length; i++) {
+            int index = i;
+            wheel.schedule(() -> {
+                firedAt[index] = System.nanoTime();
+                order.add(index);
+                done.countDown();
+            }, delays[i], TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 0), order);
+        for (int i = 0; i < delays.length; i++) {
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(firedAt[i] - start) >= delays[i]);
+        }
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    public void cancel_preventsExecution() throws InterruptedException {
+        TimerWheel wheel = new TimerWheel("test", 10, 8);
+        CountDownLatch fired = new CountDownLatch(1);
+        TimerWheel.Timeout timeout = wheel.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(timeout.cancel());
+        assertFalse(fired.await(150, TimeUnit.MILLISECONDS));
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    public void delay_cancelRemovesTimeout() throws Exception {
+        TimerWheel wheel = new TimerWheel("test", 10, 8);
+        CompletableFuture<Void> delay = wheel.delay(10, TimeUnit.SECONDS);
+        assertEquals(1, wheel.pendingCount());
+
+        delay.cancel(false);
+        assertEquals(0, wheel.pendingCount());
+
+        // 空闲一段时间后仍能按时执行
+        Thread.sleep(50);
+        wheel.delay(20, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,156 @@
+package com.guyuexuan.bjxd.util;
+
+import com.guyuexuan.bjxd.model.User;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class UserStoreTest {
+
+    private static User user(String phone) {
+        return new User("token-" + phone, "nick-" + phone, phone, "hid-" + phone, "01-01 00:00");
+    }
+
+    @Test
+    public void swaps_coalesceIntoOneWriteOfMovedRows() {
+        FakeBackend backend = new FakeBackend(user("1"), user("2"), user("3"), user("4"));
+        UserStore store = new UserStore(backend, Runnable::run, 60_000);
+
+        // 把第 1 个拖到第 3 个的位置：两次相邻交换
+        store.swap(user("1"), user("2"));
+        store.swap(user("1"), user("3"));
+        store.flush();
+
+        assertEquals(1, backend.writes);
+        assertTrue(backend.upserts.isEmpty());
+        // 只有被移动的账号取得 3、4 之间的新排序键
+        assertEquals(Collections.singletonMap("1", 2 * UserStore.POSITION_GAP + UserStore.POSITION_GAP / 2), backend.positions);
+        assertEquals(Arrays.asList("2", "3", "1", "4"), phones(store.getUsers()));
+
+        // 没有新的修改时不再写入
+        store.flush();
+        assertEquals(1, backend.writes);
+    }
+
+    @Test
+    public void saveAndRemove_writeOnlyTouchedRows() {
+        FakeBackend backend = new FakeBackend(user("1"), user("2"), user("3"));
+        UserStore store = new UserStore(backend, Runnable::run, 60_000);
+
+        assertEquals(-1, store.save(user("4")));
+        assertEquals(1, store.save(user("2")));
+        store.remove(user("1"));
+        store.flush();
+
+        assertEquals(Arrays.asList("2", "4"), phones(backend.upserts));
+        assertEquals(Collections.singletonList("1"), backend.deleted);
+        // 删除不改动其他账号，新账号追加在最后一个之后
+        assertEquals(Collections.singletonMap("4", 3 * UserStore.POSITION_GAP), backend.positions);
+    }
+
+    @Test
+    public void removeFirst_writesNoPositions() {
+        User[] users = new User[1000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = user(String.valueOf(i));
+        }
+        FakeBackend backend = new FakeBackend(users);
+        UserStore store = new UserStore(backend, Runnable::run, 60_000);
+
+        store.remove(user("0"));
+        store.flush();
+
+        assertEquals(Collections.singletonList("0"), backend.deleted);
+        assertTrue(backend.positions.isEmpty());
+        assertEquals(999, store.getUsers().size());
+    }
+
+    @Test
+    public void move_renumbersOnlyWhenGapRunsOut() {
+        // 旧数据的排序键连续，相邻账号之间没有空隙
+        FakeBackend backend = new FakeBackend(user("1"), user("2"), user("3"));
+        backend.initialPositions.put("1", 0L);
+        backend.initialPositions.put("2", 1L);
+        backend.initialPositions.put("3", 2L);
+        UserStore store = new UserStore(backend, Runnable::run, 60_000);
+
+        store.swap(user("2"), user("3"));
+        store.flush();
+
+        // 账号 1 的排序键本来就是 0，不需要写入
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("3", UserStore.POSITION_GAP);
+        expected.put("2", 2 * UserStore.POSITION_GAP);
+        assertEquals(expected, backend.positions);
+
+        // 重新编号后再移动，只写入被移动的账号
+        store.swap(user("1"), user("3"));
+        store.flush();
+        assertEquals(Collections.singletonMap("3", -UserStore.POSITION_GAP), backend.positions);
+        assertEquals(Arrays.asList("3", "1", "2"), phones(store.getUsers()));
+    }
+
+    @Test
+    public void flush_happensAfterQuietPeriod() throws InterruptedException {
+        FakeBackend backend = new FakeBackend(user("1"), user("2"));
+        UserStore store = new UserStore(backend, Runnable::run, 100);
+
+        for (int i = 0; i < 5; i++) {
+            store.swap(user("1"), user("2"));
+        }
+        assertTrue(backend.written.await(1, TimeUnit.SECONDS));
+        assertEquals(1, backend.writes);
+        assertEquals(Arrays.asList("2", "1"), phones(store.getUsers()));
+    }
+
+    private static List<String> phones(List<User> users) {
+        List<String> phones = new ArrayList<>();
+        for (User user : users) {
+            phones.add(user.getPhone());
+        }
+        return phones;
+    }
+
+    private static class FakeBackend implements UserStore.Backend {
+        final List<User> initial;
+        final Map<String, Long> initialPositions = new HashMap<>();
+        final CountDownLatch written = new CountDownLatch(1);
+        int writes = 0;
+        List<User> upserts;
+        List<String> deleted;
+        Map<String, Long> positions;
+
+        FakeBackend(User... users) {
+            initial = Arrays.asList(users);
+            for (int i = 0; i < users.length; i++) {
+                initialPositions.put(users[i].getPhone(), i * UserStore.POSITION_GAP);
+            }
+        }
+
+        @Override
+        public List<User> load(Map<String, Long> positions) {
+            positions.putAll(initialPositions);
+            return initial;
+        }
+
+        @Override
+        public void apply(List<User> upserts, List<String> deleted, Map<String, Long> positions) {
+            writes++;
+            this.upserts = upserts;
+            this.deleted = deleted;
+            this.positions = positions;
+            written.countDown();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.guyuexuan.bjxd.mockserver;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 模拟服务器中一个账号的状态，所有方法在账号对象上同步
+ * <p>
+ * 签到、浏览文章、答题的状态按天保存，日期变化时自动清空
+ * </p>
+ */
+final class MockAccount {
+    // 浏览多少篇文章后才能领取文章积分
+    static final int ARTICLES_REQUIRED = 3;
+
+    final String token;
+    final String nickname;
+    final String phone;
+    final String hid;
+    final boolean expired;
+
+    private int score;
+    private final List<String[]> records = new ArrayList<>(); // 最新的在前：created_at, desc, score_str
+    private String day = "";
+    private boolean signed;
+    private int articlesViewed;
+    private boolean viewRewarded;
+    private int questionState = 1; // 1=未答题 2=已答题且正确 3=答错且未有人帮忙答题 4=答错但有人帮忙答题
+
+    MockAccount(String token, String nickname, String phone, String hid, boolean expired, int score) {
+        this.token = token;
+        this.nickname = nickname;
+        this.phone = phone;
+        this.hid = hid;
+        this.expired = expired;
+        this.score = score;
+    }
+
+    /**
+     * 日期变化时清空每日任务状态
+     */
+    private void rollover(String today) {
+        if (!today.equals(day)) {
+            day = today;
+            signed = false;
+            articlesViewed = 0;
+            viewRewarded = false;
+            questionState = 1;
+        }
+    }
+
+    private void addScore(int points, String desc) {
+        score += points;
+        String createdAt = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault()).format(new Date());
+        records.add(0, new String[]{createdAt, desc, "+" + points});
+    }
+
+    synchronized JsonObject userInfo() {
+        JsonObject data = new JsonObject();
+        data.addProperty("nickname", nickname);
+        data.addProperty("phone", phone);
+        data.addProperty("hid", hid);
+        return data;
+    }
+
+    synchronized JsonObject myScore(int pageSize) {
+        JsonObject data = new JsonObject();
+        data.addProperty("score", score);
+        JsonArray list = new JsonArray();
+        for (int i = 0; i < Math.min(pageSize, records.size()); i++) {
+            String[] record = records.get(i);
+            JsonObject item = new JsonObject();
+            item.addProperty("created_at", record[0]);
+            item.addProperty("desc", record[1]);
+            item.addProperty("score_str", record[2]);
+            list.add(item);
+        }
+        JsonObject pointsRecord = new JsonObject();
+        pointsRecord.add("list", list);
+        data.add("points_record", pointsRecord);
+        return data;
+    }
+
+    synchronized JsonObject taskList(String today) {
+        rollover(today);
+        JsonObject data = new JsonObject();
+        data.add("action4", status(signed));
+        data.add("action12", status(viewRewarded));
+        data.add("action39", status(questionState != 1));
+        return data;
+    }
+
+    private static JsonObject status(boolean completed) {
+        JsonObject action = new JsonObject();
+        action.addProperty("status", completed ? 1 : 0);
+        return action;
+    }
+
+    /**
+     * 签到
+     *
+     * @return 错误信息，成功时为 null
+     */
+    synchronized String sign(String today, int points) {
+        rollover(today);
+        if (signed) {
+            return "今日已签到";
+        }
+        signed = true;
+        addScore(points, "签到");
+        return null;
+    }
+
+    synchronized void viewArticle(String today) {
+        rollover(today);
+        articlesViewed++;
+    }
+
+    /**
+     * 领取浏览文章积分
+     *
+     * @return 错误信息，成功时为 null
+     */
+    synchronized String rewardView(String today, int points) {
+        rollover(today);
+        if (viewRewarded) {
+            return "今日已领取";
+        }
+        if (articlesViewed < ARTICLES_REQUIRED) {
+            return "浏览文章数不足";
+        }
+        viewRewarded = true;
+        addScore(points, "浏览文章");
+        return null;
+    }
+
+    synchronized int questionState(String today) {
+        rollover(today);
+        return questionState;
+    }
+
+    /**
+     * 提交答案
+     *
+     * @return 答题后的状态，已答过题时为 -1
+     */
+    synchronized int answer(String today, boolean correct, int points) {
+        rollover(today);
+        if (questionState != 1) {
+            return -1;
+        }
+        questionState = correct ? 2 : 3;
+        if (correct) {
+            addScore(points, "每日答题");
+        }
+        return questionState;
+    }
+
+    /**
+     * 其他账号通过分享帮忙答对
+     */
+    synchronized void helped(String today) {
+        rollover(today);
+        if (questionState == 3) {
+            questionState = 4;
+        }
+    }
+}
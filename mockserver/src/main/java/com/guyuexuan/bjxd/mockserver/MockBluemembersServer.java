@@ -0,0 +1,604 @@
+package com.guyuexuan.bjxd.mockserver;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * bm2-api 的本地模拟服务器
+ * <p>
+ * 基于 JDK 自带的 HttpServer，模拟 ApiUtil 使用的所有接口（用户信息、积分、任务状态、签到、
+ * 文章列表和详情、文章积分、每日答题），响应格式与真实接口一致：{"code":0,"msg":"success","data":...}。
+ * 启动时生成指定数量的模拟账号，token 为 mock-token-00001 这样的格式，每个账号的任务状态按天保存在内存中。
+ * </p>
+ * <p>
+ * 可配置每个请求的延迟范围、返回 HTTP 500 的比例和 Token 过期（HTTP 403）账号的比例，
+ * 用于离线测试和在笔记本上压测多账号任务。
+ * </p>
+ */
+public class MockBluemembersServer implements AutoCloseable {
+    public static final String TOKEN_PREFIX = "mock-token-";
+
+    static final String API_USER_INFO = "/v1/app/account/users/info";
+    static final String API_MY_SCORE = "/v1/app/user/my_score";
+    static final String API_TASK_LIST = "/v1/app/user/task/list";
+    static final String API_SIGN_LIST = "/v1/app/user/reward_list";
+    static final String API_SIGN_SUBMIT = "/v1/app/user/reward_report";
+    static final String API_ARTICLE_LIST = "/v1/app/white/article/list2";
+    static final String API_ARTICLE_DETAIL_PREFIX = "/v1/app/white/article/detail_app/";
+    static final String API_ARTICLE_DETAIL = API_ARTICLE_DETAIL_PREFIX + "{hid}"; // 统计和路由时所有文章合并为一项
+    static final String API_TASK_SCORE = "/v1/app/score";
+    static final String API_QUESTION_INFO = "/v1/app/special/daily/ask_info";
+    static final String API_QUESTION_SUBMIT = "/v1/app/special/daily/ask_answer";
+
+    // 签到奖励选项及积分，每次获取签到信息时随机给出其中一个
+    private static final String[] REWARD_HIDS = {"reward-1", "reward-2", "reward-3", "reward-5"};
+    private static final int[] REWARD_SCORES = {1, 2, 3, 5};
+    private static final int VIEW_SCORE = 1;
+    private static final int QUESTION_SCORE = 5;
+    private static final String[] OPTION_LETTERS = {"A", "B", "C", "D"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long minLatencyMillis;
+    private final long maxLatencyMillis;
+    private final double slowRate;
+    private final long minSlowMillis;
+    private final long maxSlowMillis;
+    private final double errorRate;
+    private final long seed;
+    private final Map<String, MockAccount> accounts = new LinkedHashMap<>(); // token -> 账号，创建后只读
+    private final Map<String, MockAccount> accountsByHid = new ConcurrentHashMap<>();
+    private final List<String> articleHids = new ArrayList<>();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong totalRequests = new AtomicLong();
+
+    private MockBluemembersServer(Builder builder) throws IOException {
+        this.minLatencyMillis = builder.minLatencyMillis;
+        this.maxLatencyMillis = Math.max(builder.minLatencyMillis, builder.maxLatencyMillis);
+        this.slowRate = builder.slowRate;
+        this.minSlowMillis = builder.minSlowMillis;
+        this.maxSlowMillis = Math.max(builder.minSlowMillis, builder.maxSlowMillis);
+        this.errorRate = builder.errorRate;
+        this.seed = builder.seed;
+
+        Random random = new Random(builder.seed);
+        for (int i = 1; i <= builder.accounts; i++) {
+            String token = String.format(Locale.ROOT, "%s%05d", TOKEN_PREFIX, i);
+            MockAccount account = new MockAccount(token, "模拟用户" + i, String.format(Locale.ROOT, "139%08d", i),
+                    String.format(Locale.ROOT, "%032x", random.nextLong() & Long.MAX_VALUE), random.nextDouble() < builder.expiredRate, 1000 + random.nextInt(1000));
+            accounts.put(token, account);
+            accountsByHid.put(account.hid, account);
+        }
+        for (int i = 1; i <= builder.articles; i++) {
+            articleHids.add(String.format(Locale.ROOT, "article-%03d", i));
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "MockServer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port), 256);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * 接口地址，传给 ApiUtil.setBaseUrl
+     */
+    @NonNull
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * 所有模拟账号的 token，按账号序号排列（包括 Token 过期的账号）
+     */
+    @NonNull
+    public List<String> getTokens() {
+        return new ArrayList<>(accounts.keySet());
+    }
+
+    /**
+     * 已收到的请求总数（包括模拟失败的请求）
+     */
+    public long getRequestCount() {
+        return totalRequests.get();
+    }
+
+    /**
+     * 按接口统计的请求数，文章详情合并为一项
+     */
+    @NonNull
+    public Map<String, Long> getRequestCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, AtomicLong> entry : requestCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    /**
+     * 今天的正确答案，测试用
+     */
+    @NonNull
+    public String getCorrectOption() {
+        return question(today()).correct;
+    }
+
+    /**
+     * 把所有账号的 token 写入文件，每行一个，可直接作为命令行运行器的账号文件
+     */
+    public void writeTokens(File file) throws IOException {
+        Files.write(file.toPath(), getTokens(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String route = path.startsWith(API_ARTICLE_DETAIL_PREFIX) ? API_ARTICLE_DETAIL : path;
+            totalRequests.incrementAndGet();
+            requestCounts.computeIfAbsent(route, key -> new AtomicLong()).incrementAndGet();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (slowRate > 0 && random.nextDouble() < slowRate) {
+                Thread.sleep(between(random, minSlowMillis, maxSlowMillis));
+            } else if (maxLatencyMillis > 0) {
+                Thread.sleep(between(random, minLatencyMillis, maxLatencyMillis));
+            }
+            if (errorRate > 0 && random.nextDouble() < errorRate) {
+                send(exchange, 500, "Internal Server Error");
+                return;
+            }
+
+            String token = exchange.getRequestHeaders().getFirst("token");
+            MockAccount account = token != null ? accounts.get(token) : null;
+            if (account == null || account.expired) {
+                send(exchange, 403, "Forbidden");
+                return;
+            }
+
+            JsonObject body = "POST".equals(exchange.getRequestMethod()) ? readBody(exchange.getRequestBody()) : new JsonObject();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            send(exchange, 200, route(route, path, account, body, query).toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private JsonObject route(String route, String path, MockAccount account, JsonObject body, Map<String, String> query) {
+        String today = today();
+        switch (route) {
+            case API_USER_INFO:
+                return success(account.userInfo());
+            case API_MY_SCORE:
+                return success(account.myScore(parseInt(query.get("page_size"), 5)));
+            case API_TASK_LIST:
+                return success(account.taskList(today));
+            case API_SIGN_LIST:
+                return success(rewardList(account));
+            case API_SIGN_SUBMIT:
+                return rewardReport(account, body, today);
+            case API_ARTICLE_LIST:
+                return success(articleList());
+            case API_ARTICLE_DETAIL:
+                return articleDetail(account, path.substring(API_ARTICLE_DETAIL_PREFIX.length()), today);
+            case API_TASK_SCORE:
+                if (getInt(body, "action") != 12) {
+                    return failure(1, "不支持的任务");
+                }
+                String error = account.rewardView(today, VIEW_SCORE);
+                if (error != null) {
+                    return failure(1, error);
+                }
+                JsonObject data = new JsonObject();
+                data.addProperty("score", VIEW_SCORE);
+                return success(data);
+            case API_QUESTION_INFO:
+                return success(askInfo(account, query.getOrDefault("date", today)));
+            case API_QUESTION_SUBMIT:
+                return askAnswer(account, body, today);
+            default:
+                return failure(404, "接口不存在: " + path);
+        }
+    }
+
+    private JsonObject rewardList(MockAccount account) {
+        int current = ThreadLocalRandom.current().nextInt(REWARD_HIDS.length);
+        JsonObject data = new JsonObject();
+        data.addProperty("hid", REWARD_HIDS[current]);
+        data.addProperty("rewardHash", rewardHash(account, REWARD_HIDS[current]));
+        JsonArray list = new JsonArray();
+        for (int i = 0; i < REWARD_HIDS.length; i++) {
+            JsonObject reward = new JsonObject();
+            reward.addProperty("hid", REWARD_HIDS[i]);
+            reward.addProperty("score", REWARD_SCORES[i]);
+            list.add(reward);
+        }
+        data.add("list", list);
+        return data;
+    }
+
+    private static String rewardHash(MockAccount account, String rewardHid) {
+        return Integer.toHexString((account.token + "|" + rewardHid).hashCode());
+    }
+
+    private static JsonObject rewardReport(MockAccount account, JsonObject body, String today) {
+        String rewardHid = getString(body, "hid");
+        for (int i = 0; i < REWARD_HIDS.length; i++) {
+            if (REWARD_HIDS[i].equals(rewardHid)) {
+                if (!rewardHash(account, rewardHid).equals(getString(body, "hash"))) {
+                    return failure(1, "签到参数错误");
+                }
+                String error = account.sign(today, REWARD_SCORES[i]);
+                return error != null ? failure(1, error) : success(JsonNull.INSTANCE);
+            }
+        }
+        return failure(1, "签到参数错误");
+    }
+
+    private JsonObject articleList() {
+        JsonArray list = new JsonArray();
+        for (String articleHid : articleHids) {
+            JsonObject article = new JsonObject();
+            article.addProperty("hid", articleHid);
+            article.addProperty("title", "模拟文章 " + articleHid);
+            list.add(article);
+        }
+        JsonObject data = new JsonObject();
+        data.add("list", list);
+        return data;
+    }
+
+    private JsonObject articleDetail(MockAccount account, String articleHid, String today) {
+        if (!articleHids.contains(articleHid)) {
+            return failure(1, "文章不存在");
+        }
+        account.viewArticle(today);
+        JsonObject data = new JsonObject();
+        data.addProperty("hid", articleHid);
+        data.addProperty("title", "模拟文章 " + articleHid);
+        data.addProperty("content", "模拟文章内容");
+        return success(data);
+    }
+
+    private JsonObject askInfo(MockAccount account, String date) {
+        Question question = question(date);
+        int state = account.questionState(today());
+        JsonObject data = new JsonObject();
+        data.addProperty("state", state);
+        if (state == 2 || state == 4) {
+            data.addProperty("answer", question.correct + "." + question.options.get(question.correct));
+        }
+        JsonObject info = new JsonObject();
+        info.addProperty("questions_hid", question.hid);
+        info.addProperty("content", question.content);
+        JsonArray options = new JsonArray();
+        for (Map.Entry<String, String> entry : question.options.entrySet()) {
+            JsonObject option = new JsonObject();
+            option.addProperty("option", entry.getKey());
+            option.addProperty("option_content", entry.getValue());
+            options.add(option);
+        }
+        info.add("option", options);
+        data.add("question_info", info);
+        return data;
+    }
+
+    private JsonObject askAnswer(MockAccount account, JsonObject body, String today) {
+        Question question = question(today);
+        if (!question.hid.equals(getString(body, "questions_hid"))) {
+            return failure(1, "题目不存在");
+        }
+        boolean correct = question.correct.equals(getString(body, "answer"));
+        int state = account.answer(today, correct, QUESTION_SCORE);
+        if (state < 0) {
+            return failure(1, "今日已答题");
+        }
+        String shareUserHid = getString(body, "share_user_hid");
+        MockAccount sharer = shareUserHid != null ? accountsByHid.get(shareUserHid) : null;
+        if (correct && sharer != null && sharer != account) {
+            sharer.helped(today);
+        }
+        JsonObject data = new JsonObject();
+        data.addProperty("state", state);
+        data.addProperty("answer_score", correct ? QUESTION_SCORE : 0);
+        return success(data);
+    }
+
+    /**
+     * 某一天的题目，由种子和日期决定，同一天所有账号相同
+     */
+    private Question question(String date) {
+        Random random = new Random(seed * 31 + date.hashCode());
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String letter : OPTION_LETTERS) {
+            options.put(letter, (random.nextInt(20) + 1) + "个");
+        }
+        String correct = OPTION_LETTERS[random.nextInt(OPTION_LETTERS.length)];
+        return new Question(String.format(Locale.ROOT, "q%s%08x", date, random.nextInt()), "模拟题目（" + date + "）：以下哪个是正确答案？", options, correct);
+    }
+
+    private static String today() {
+        return new SimpleDateFormat("yyyyMMdd", Locale.getDefault()).format(new Date());
+    }
+
+    private static JsonObject success(JsonElement data) {
+        JsonObject response = new JsonObject();
+        response.addProperty("code", 0);
+        response.addProperty("msg", "success");
+        response.add("data", data);
+        return response;
+    }
+
+    private static JsonObject failure(int code, String msg) {
+        JsonObject response = new JsonObject();
+        response.addProperty("code", code);
+        response.addProperty("msg", msg);
+        response.add("data", JsonNull.INSTANCE);
+        return response;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", status == 200 ? "application/json; charset=utf-8" : "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static JsonObject readBody(InputStream in) throws IOException {
+        String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            JsonElement element = JsonParser.parseString(text);
+            return element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+        } catch (JsonParseException e) {
+            return new JsonObject();
+        }
+    }
+
+    private static Map<String, String> parseQuery(@Nullable String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new LinkedHashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int index = pair.indexOf('=');
+            String key = index >= 0 ? pair.substring(0, index) : pair;
+            String value = index >= 0 ? pair.substring(index + 1) : "";
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    @Nullable
+    private static String getString(JsonObject body, String name) {
+        JsonElement element = body.get(name);
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+    }
+
+    private static int getInt(JsonObject body, String name) {
+        return parseInt(getString(body, name), -1);
+    }
+
+    private static int parseInt(@Nullable String value, int defaultValue) {
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static long between(ThreadLocalRandom random, long min, long max) {
+        return min + (max > min ? random.nextLong(max - min + 1) : 0);
+    }
+
+    /**
+     * 命令行启动：MockBluemembersServer [--port 8080] [--accounts 100] [--latency 20-80] [--slow 0.01:500-2000]
+     * [--error-rate 0.01] [--expired-rate 0] [--seed 1] [--tokens-out tokens.txt]
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Builder builder = new Builder().port(8080);
+        File tokensOut = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--port":
+                    builder.port(Integer.parseInt(value));
+                    break;
+                case "--accounts":
+                    builder.accounts(Integer.parseInt(value));
+                    break;
+                case "--latency":
+                    String[] range = value.split("-");
+                    builder.latency(Long.parseLong(range[0]), Long.parseLong(range[range.length - 1]));
+                    break;
+                case "--slow":
+                    // 比例:最短-最长，例如 0.01:500-2000
+                    String[] slow = value.split(":");
+                    String[] slowRange = slow[slow.length - 1].split("-");
+                    builder.slowRequests(Double.parseDouble(slow[0]), Long.parseLong(slowRange[0]), Long.parseLong(slowRange[slowRange.length - 1]));
+                    break;
+                case "--error-rate":
+                    builder.errorRate(Double.parseDouble(value));
+                    break;
+                case "--expired-rate":
+                    builder.expiredRate(Double.parseDouble(value));
+                    break;
+                case "--seed":
+                    builder.seed(Long.parseLong(value));
+                    break;
+                case "--tokens-out":
+                    tokensOut = new File(value);
+                    break;
+                default:
+                    System.err.println("未知参数: " + args[i]);
+                    System.exit(2);
+            }
+        }
+        MockBluemembersServer server = builder.build();
+        if (tokensOut != null) {
+            server.writeTokens(tokensOut);
+            System.out.println("账号 token 已写入 " + tokensOut.getAbsolutePath());
+        }
+        System.out.println("模拟服务器已启动: " + server.getBaseUrl() + "，共 " + server.getTokens().size() + " 个账号，按 Ctrl+C 停止");
+        // 处理线程都是守护线程，主线程一直等待直到进程被终止
+        Thread.currentThread().join();
+    }
+
+    /**
+     * 一天的题目
+     */
+    private static final class Question {
+        final String hid;
+        final String content;
+        final Map<String, String> options; // 选项字母 -> 选项内容
+        final String correct;
+
+        Question(String hid, String content, Map<String, String> options, String correct) {
+            this.hid = hid;
+            this.content = content;
+            this.options = options;
+            this.correct = correct;
+        }
+    }
+
+    /**
+     * 模拟服务器配置
+     */
+    public static class Builder {
+        private int port = 0;
+        private int accounts = 10;
+        private int articles = 20;
+        private long minLatencyMillis = 0;
+        private long maxLatencyMillis = 0;
+        private double slowRate = 0;
+        private long minSlowMillis = 0;
+        private long maxSlowMillis = 0;
+        private double errorRate = 0;
+        private double expiredRate = 0;
+        private long seed = 1;
+
+        /**
+         * 监听端口，0（默认）表示随机选择空闲端口
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * 模拟账号数量
+         */
+        public Builder accounts(int accounts) {
+            this.accounts = accounts;
+            return this;
+        }
+
+        /**
+         * 文章列表中的文章数量
+         */
+        public Builder articles(int articles) {
+            this.articles = articles;
+            return this;
+        }
+
+        /**
+         * 每个请求的延迟，在 [minMillis, maxMillis] 内均匀分布
+         */
+        public Builder latency(long minMillis, long maxMillis) {
+            this.minLatencyMillis = Math.max(0, minMillis);
+            this.maxLatencyMillis = Math.max(0, maxMillis);
+            return this;
+        }
+
+        /**
+         * 慢请求：按 rate 的比例（0 ~ 1）改用 [minMillis, maxMillis] 内的延迟，模拟响应时间的长尾
+         */
+        public Builder slowRequests(double rate, long minMillis, long maxMillis) {
+            this.slowRate = rate;
+            this.minSlowMillis = Math.max(0, minMillis);
+            this.maxSlowMillis = Math.max(0, maxMillis);
+            return this;
+        }
+
+        /**
+         * 返回 HTTP 500 的请求比例，0 ~ 1
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Token 过期（所有请求返回 HTTP 403）的账号比例，0 ~ 1
+         */
+        public Builder expiredRate(double expiredRate) {
+            this.expiredRate = expiredRate;
+            return this;
+        }
+
+        /**
+         * 生成账号和题目使用的随机种子，相同种子得到相同的账号和题目
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * 创建并启动服务器
+         */
+        @NonNull
+        public MockBluemembersServer build() throws IOException {
+            return new MockBluemembersServer(this);
+        }
+    }
+}